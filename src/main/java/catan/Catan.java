@@ -1,34 +1,24 @@
 package catan;
 
 import java.awt.EventQueue;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.SplittableRandom;
 
 import javax.swing.JFrame;
 
-import catan.engine.Dice;
+import catan.engine.Game;
+import catan.engine.GameAdapter;
+import catan.engine.GamePhase;
+import catan.engine.GameScheduler;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
-import catan.engine.board.objects.BoardObjectNotInitializedException;
-import catan.engine.board.objects.InvalidLocationException;
-import catan.engine.board.objects.NoOwnerException;
-import catan.engine.board.objects.Productive;
-import catan.engine.board.objects.VertexObject;
-import catan.engine.board.objects.buildings.City;
-import catan.engine.board.objects.buildings.Road;
-import catan.engine.board.objects.buildings.Village;
-import catan.engine.board.tile.Edge;
-import catan.engine.board.tile.Tile;
-import catan.engine.board.tile.TileNotInitializedException;
-import catan.engine.board.tile.Vertex;
-import catan.engine.board.tile.VertexNotInitializedException;
+import catan.engine.board.objects.BoardObject;
 import catan.engine.player.Player;
-import catan.engine.player.PlayerColor;
 import catan.engine.player.PlayerCountOutOfBoundsException;
 import catan.engine.player.PlayerIndexOutOfBoundsException;
-import catan.engine.resources.ResourceMetric;
+import catan.engine.player.mcts.MCTSStrategy;
+import catan.engine.player.mcts.TranspositionTable;
 import catan.renderer.panel.BoardPanel;
+import catan.renderer.panel.PayoutAnimator;
 import catan.renderer.window.construction.ConstructionToolBox;
 import catan.renderer.window.construction.InitialConstructionToolBox;
 import catan.renderer.window.menu.GameOver;
@@ -85,28 +75,15 @@ import catan.renderer.window.menu.MainMenu;
  *
  */
 
-public class Catan {
-
-	public static final int MIN_PLAYERS = 2;
-	public static final int MAX_PLAYERS = 5;
-	public static final int NORMAL_PLAYERS = 4;
-
-	public static final int STARTING_RESOURCES = 7;
-
-	public static final int MAX_VICTORY_POINTS = 10;
+public class Catan extends Game {
 
 	public static final int GET_RESOURCE_TIME = 200;
+	public static final long AI_TURN_TIME = 250;
 
-	private Player[] m_players;
-	private Board m_board;
+	private Player m_player;
 	private BoardPanel m_boardPanel;
+	private PayoutAnimator m_payoutAnimator;
 	private JFrame m_toolBox;
-	private int m_playerIndex = -1;
-	private int m_turn = 0;
-
-	private boolean m_end = false;
-
-	private MainMenu m_menu;
 
 	/**
 	 * Creates a new game of {@link Catan} with the specified players
@@ -122,23 +99,41 @@ public class Catan {
 	 */
 	public Catan(int playerIndex, Player... players)
 			throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException {
-		if (players.length > MAX_PLAYERS) {
-			throw new PlayerCountOutOfBoundsException(players.length);
-		}
+		this(new SplittableRandom(), playerIndex, players);
+	}
+
+	/**
+	 * Creates a new game of {@link Catan} with the specified players, drawing
+	 * every random decision from the specified source
+	 * 
+	 * @param random
+	 *            the source of randomness for this game
+	 * @param playerIndex
+	 *            the index of the user's player
+	 * @param players
+	 *            the players
+	 * @throws PlayerCountOutOfBoundsException
+	 *             when the player count is not within engine constraints
+	 * @throws PlayerIndexOutOfBoundsException
+	 *             when the player index is invalid
+	 */
+	public Catan(SplittableRandom random, int playerIndex, Player... players)
+			throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException {
+		super(random, players);
 
 		if (playerIndex > players.length - 1 || playerIndex < 0) {
 			throw new PlayerIndexOutOfBoundsException(playerIndex, players.length);
 		}
 
-		m_players = players;
-		m_playerIndex = playerIndex;
-
-		// add starting resources
-		for (Player player : m_players) {
-			player.getResources().addRandom(STARTING_RESOURCES);
+		m_player = players[playerIndex];
+		// the AI players share what they learn about positions between turns
+		TranspositionTable table = new TranspositionTable();
+		for (Player player : players) {
+			if (player != m_player) {
+				player.setStrategy(new MCTSStrategy().setTimeBudget(AI_TURN_TIME).setThreads(MCTSStrategy.POOL_SIZE)
+						.setTranspositionTable(table));
+			}
 		}
-
-		determineTurnOrder();
 	}
 
 	/**
@@ -152,35 +147,37 @@ public class Catan {
 	 *             when player number is not within engine constraints
 	 */
 	public Catan(int playerNumber) throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException {
-		this(0, (Player[]) (new ArrayList<Player>() {
-			{
-				ArrayList<PlayerColor> colorList = new ArrayList<PlayerColor>(Arrays.asList(PlayerColor.values()));
-				Collections.shuffle(colorList);
-				for (int i = 0; i < playerNumber; i++) {
-					add(new Player(colorList.get(i)));
-				}
-			}
-		}).toArray(new Player[playerNumber]));
+		this(new SplittableRandom(), playerNumber);
 	}
 
 	/**
-	 * Creates a new game of {@link Catan} with the default number of players
+	 * Creates a game of {@link Catan} with the specified number of players,
+	 * drawing every random decision from the specified source
 	 * 
+	 * @param random
+	 *            the source of randomness for this game
+	 * @param playerNumber
+	 *            the number of players
 	 * @throws PlayerIndexOutOfBoundsException
-	 *             if default player number is 0
+	 *             if player number is not within engine constraints
 	 * @throws PlayerCountOutOfBoundsException
-	 *             if default player number is not within engine constraints
+	 *             when player number is not within engine constraints
 	 */
-	public Catan() throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException {
-		this(NORMAL_PLAYERS);
+	public Catan(SplittableRandom random, int playerNumber)
+			throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException {
+		this(random, 0, createPlayers(playerNumber, random));
 	}
 
 	/**
+	 * Creates a new game of {@link Catan} with the default number of players
 	 * 
-	 * @return array containing all players
+	 * @throws PlayerIndexOutOfBoundsException
+	 *             if default player number is 0
+	 * @throws PlayerCountOutOfBoundsException
+	 *             if default player number is not within engine constraints
 	 */
-	public Player[] getPlayers() {
-		return m_players;
+	public Catan() throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException {
+		this(NORMAL_PLAYERS);
 	}
 
 	/**
@@ -188,79 +185,7 @@ public class Catan {
 	 * @return the user's {@link Player}
 	 */
 	public Player getPlayer() {
-		return m_players[m_playerIndex];
-	}
-
-	/**
-	 * Sets up the players array, randomizes turn order according to simulated
-	 * dice rolls
-	 */
-	public void determineTurnOrder() {
-		// assign each player random dice roll
-		int[] rolls = new int[m_players.length];
-		for (int i = 0; i < rolls.length; i++) {
-			rolls[i] = Dice.singleRoll();
-		}
-
-		// sort rolls and players using simple insertion sort
-		for (int i = 1; i < rolls.length; i++) {
-			int temp = rolls[i];
-			Player tempPlayer = m_players[i];
-
-			int j = i;
-			while (j > 0 && rolls[j - 1] < temp) {
-				rolls[j] = rolls[j - 1];
-				if (m_players[j - 1] == getPlayer()) {
-					m_playerIndex = j;
-				}
-				m_players[j] = m_players[j - 1];
-				j--;
-			}
-			rolls[j] = temp;
-			if (tempPlayer == getPlayer()) {
-				m_playerIndex = j;
-			}
-			m_players[j] = tempPlayer;
-		}
-	}
-
-	/**
-	 * Ends the current {@link Player}'s turn
-	 */
-	public void nextTurn() {
-		m_turn += 1;
-		if (m_turn >= m_players.length) {
-			m_turn = 0;
-		}
-	}
-
-	/**
-	 * Ends the current {@link Player}'s turn, resumes game loop
-	 */
-	public synchronized void syncNextTurn() {
-		nextTurn();
-		notify();
-	}
-
-	/**
-	 * 
-	 * @return the {@link Player} whose turn it currently is
-	 */
-	public Player getActivePlayer() {
-		return m_players[m_turn];
-	}
-
-	/**
-	 * 
-	 * @return the {@link Board} for this game
-	 * @throws BoardNotInitializedException
-	 *             if the board has not been initialized
-	 */
-	public Board getBoard() throws BoardNotInitializedException {
-		if (m_board == null) {
-			throw new BoardNotInitializedException();
-		}
-		return m_board;
+		return m_player;
 	}
 
 	/**
@@ -279,16 +204,16 @@ public class Catan {
 	 */
 	public void setBoardPanel(BoardPanel panel) {
 		m_boardPanel = panel;
+		m_payoutAnimator = new PayoutAnimator(panel, GET_RESOURCE_TIME);
 	}
 
 	/**
-	 * Sets the {@link Board} for this game
 	 * 
-	 * @param board
-	 *            the {@link Board} to assign
+	 * @return the {@link PayoutAnimator} playing this game's payouts on its
+	 *         {@link BoardPanel}
 	 */
-	public void setBoard(Board board) {
-		m_board = board;
+	public PayoutAnimator getPayoutAnimator() {
+		return m_payoutAnimator;
 	}
 
 	/**
@@ -309,177 +234,84 @@ public class Catan {
 	}
 
 	/**
-	 * Distributes the produced resources for this turn
+	 * Waits for the user, showing them the toolbox for the current
+	 * {@link GamePhase}
 	 * 
-	 * @throws BoardNotInitializedException
-	 *             if the {@link Board} has not been initialized
+	 * @param player
+	 *            the {@link Player} due to act
+	 * @return true if the {@link Player} is the user
 	 */
-	public void distributeTurnResources() throws BoardNotInitializedException {
-		int frequency = Dice.doubleRoll();
-		getBoardPanel().showMessage("Rolled " + frequency + ", Getting Resources");
-		getBoardPanel().setSelectObject(true);
-		getBoard().forAllObjects((object) -> {
-			if (object instanceof Productive) {
-				try {
-					if (((Productive) object).giveResourcesToOwner(frequency)) {
-						getBoardPanel().setSelectedObject(object);
-						Thread.sleep(GET_RESOURCE_TIME);
-					}
-				} catch (TileNotInitializedException | BoardNotInitializedException | VertexNotInitializedException
-						| BoardObjectNotInitializedException | NoOwnerException | InterruptedException e) {
-					e.printStackTrace();
-					System.exit(0);
-				}
+	@Override
+	protected boolean awaitInput(Player player) {
+		if (player != getPlayer()) {
+			return false;
+		}
+		if (m_payoutAnimator != null) {
+			// payouts still playing would land on top of the user's input
+			m_payoutAnimator.flush();
+		}
+		// called on the game thread, so the toolbox is made on the event dispatch thread
+		boolean setup = getPhase() == GamePhase.SETUP;
+		EventQueue.invokeLater(() -> {
+			if (setup) {
+				m_toolBox = new InitialConstructionToolBox(this);
+			} else {
+				createToolBox();
 			}
 		});
-		getBoardPanel().hideMessage();
+		return true;
 	}
 
 	/**
-	 * Runs the main loop for this {@link Catan}
+	 * Hides the user's toolbox once they have finished
 	 * 
-	 * @throws InvalidLocationException
-	 *             if an {@link InvalidLocationException} is thrown within the
-	 *             game loop
-	 * @throws BoardNotInitializedException
-	 *             if the {@link Board} is not initialized
+	 * @param player
+	 *            the {@link Player} that finished
 	 */
-	public synchronized void gameLoop() throws BoardNotInitializedException, InvalidLocationException {
-		while (!m_end) {
-			if (m_turn == 0) {
-				// only run once per turn
-				distributeTurnResources();
-			}
-			if (getActivePlayer() == getPlayer()) {
-				createToolBox();
-				while (getActivePlayer() == getPlayer() && !m_end) {
-					try {
-						// wait until notified user is done
-						wait();
-					} catch (InterruptedException e) {
-					}
-				}
-				destroyToolBox();
-				if (getPlayer().getVictoryPoints(getBoard()) >= MAX_VICTORY_POINTS) {
-					m_end = true;
-					new GameOver(this, getPlayer());
-				}
-			} else {
-				getActivePlayer().takeTurn(this);
-				if (getActivePlayer().getVictoryPoints(getBoard()) >= MAX_VICTORY_POINTS) {
-					m_end = true;
-					new GameOver(this, getActivePlayer());
-				}
-				nextTurn();
-			}
-		}
-	}
-
-	/**
-	 * exits the game
-	 */
-	public synchronized void breakGameLoop() {
-		notifyGame();
-		m_end = true;
-	}
-
-	/**
-	 * Notifies the game thread
-	 */
-	public synchronized void notifyGame() {
-		notify();
+	@Override
+	protected void releaseInput(Player player) {
+		EventQueue.invokeLater(() -> destroyToolBox());
 	}
 
 	/**
-	 * Sets up this game
+	 * Shows the progress of this game on its {@link BoardPanel}, payouts are
+	 * queued on the {@link PayoutAnimator} so the game never waits for them
 	 * 
-	 * @throws BoardNotInitializedException
-	 *             if the {@link Board} hasn't been initialized
-	 * @throws VertexNotInitializedException
-	 *             if any {@link Vertex} can't be initialized
-	 * @throws TileNotInitializedException
-	 *             if any {@link Tile} has not been initialized
-	 * @throws InvalidLocationException
-	 *             if anything is created in an invalid location
+	 * @param frame
+	 *            the {@link JFrame} showing the game, disposed when it is over
 	 */
-	public synchronized void setUp() throws BoardNotInitializedException, TileNotInitializedException,
-			VertexNotInitializedException, InvalidLocationException {
-		for (Player player : getPlayers()) {
-			if (player == getPlayer()) {
-				m_toolBox = new InitialConstructionToolBox(this);
-				while (getBoard().getAllObjectsMatching(
-						(object) -> object instanceof Village && object.getOwner() == getPlayer()).length < 2
-						&& !m_end) {
-					try {
-						// wait until notified user is done
-						wait();
-					} catch (InterruptedException e) {
-					}
-				}
-				destroyToolBox();
-			} else {
-				for (int i = 0; i < 2; i++) {
-					Vertex highest = null;
-					int highScore = 0;
-					Vertex secondHighest = null;
-					int secondHighScore = 0;
-					ResourceMetric production = player.getProductionMetric(getBoard());
-					int gameStage = getBoard().getHighestVictoryPoints();
-					for (int row = 0; row < getBoard().getVertexDimensions()[0]; row++) {
-						for (int col = 0; col < getBoard().getVertexDimensions()[1]; col++) {
-							Vertex vertex = getBoard().getVertex(row, col);
-							int val = vertex.getVertexValue(gameStage, production);
-							if (getBoard().getAllObjectsMatching((object) -> {
-								try {
-									return (object instanceof Village || object instanceof City)
-											&& (((VertexObject) object).getPosition().equals(vertex)
-													|| ((VertexObject) object).getPosition().isAdjacent(vertex));
-								} catch (BoardObjectNotInitializedException | VertexNotInitializedException e) {
-									e.printStackTrace();
-									System.exit(0);
-									return false;
-								}
-							}).length > 0) {
-								continue;
-							}
-							if (highest == null || secondHighest == null) {
-								highest = vertex;
-								secondHighest = vertex;
-								highScore = val;
-								secondHighest = vertex;
-							} else if (val > highScore) {
-								secondHighest = highest;
-								secondHighScore = highScore;
-								highest = vertex;
-								highScore = val;
-							} else if (val > secondHighScore) {
-								secondHighest = vertex;
-								secondHighScore = val;
-							}
-						}
-					}
+	private void observeOnPanel(JFrame frame) {
+		setGameListener(new GameAdapter() {
+			@Override
+			public void onRoll(Game game, int frequency) {
+				getPayoutAnimator().roll(frequency);
+			}
 
-					int[] direction = new int[2];
-					int[] delta = highest.getDistanceFrom(secondHighest);
-					if (Math.abs(delta[0]) > Math.abs(delta[1])) {
-						direction[1] = Integer.signum(delta[0]) * 1;
-					} else {
-						direction[0] = Integer.signum(delta[1]) * 1;
-					}
-					int[] secondPosition = new int[] { highest.getPosition()[0] + direction[0],
-							highest.getPosition()[1] + direction[1] };
+			@Override
+			public void onProduce(Game game, BoardObject object) {
+				getPayoutAnimator().produce(object);
+			}
 
-					Edge edge = new Edge(highest.getPosition(), secondPosition, getBoard());
+			@Override
+			public void onProductionFinished(Game game) {
+				getPayoutAnimator().productionFinished();
+			}
 
-					getBoard().addObject(new Road(player, edge, true));
-					getBoard().addObject(new Village(player, highest));
-				}
+			@Override
+			public void onGameOver(Game game, Player winner) {
+				EventQueue.invokeLater(() -> {
+					if (winner != null) {
+						new GameOver(Catan.this, winner);
+					}
+					frame.dispose();
+				});
 			}
-		}
+		});
 	}
 
 	/**
-	 * Starts a new game of {@link Catan}
+	 * Starts a new game of {@link Catan} on its {@link GameScheduler}, returning
+	 * once the game is shown
 	 * 
 	 * @param playerCount
 	 *            the number of players
@@ -493,17 +325,9 @@ public class Catan {
 	 *             if an invalid playerCount is supplied
 	 * @throws BoardNotInitializedException
 	 *             if the {@link Board} is not initialized
-	 * @throws InvalidLocationException
-	 *             if an {@link InvalidLocationException} is thrown within the
-	 *             game
-	 * @throws VertexNotInitializedException
-	 *             if any uninitialized {@link Vertex} (vertices) are accessed
-	 * @throws TileNotInitializedException
-	 *             if any uninitialized {@link Tile}s are accessed
 	 */
 	public static void startCatan(int playerCount, Board board, MainMenu menu)
-			throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException, BoardNotInitializedException,
-			TileNotInitializedException, VertexNotInitializedException, InvalidLocationException {
+			throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException, BoardNotInitializedException {
 		Catan catan;
 		if (playerCount > 0) {
 			catan = new Catan(playerCount);
@@ -518,12 +342,13 @@ public class Catan {
 			public void dispose() {
 				super.dispose();
 				catan.destroyToolBox();
-				catan.breakGameLoop();
+				catan.stop();
 				menu.setVisible(true);
 			}
 		};
 
 		catan.setBoardPanel(new BoardPanel(catan.getBoard()));
+		catan.observeOnPanel(frame);
 
 		frame.getContentPane().add(catan.getBoardPanel());
 
@@ -537,13 +362,7 @@ public class Catan {
 
 		frame.setVisible(true);
 
-		catan.setUp();
-
-		catan.gameLoop();
-
-		frame.dispose();
-
-		menu.setVisible(true);
+		catan.start();
 	}
 
 	/**
@@ -557,17 +376,9 @@ public class Catan {
 	 *             if an invalid playerCount is supplied
 	 * @throws BoardNotInitializedException
 	 *             if the {@link Board} is not initialized
-	 * @throws InvalidLocationException
-	 *             if an {@link InvalidLocationException} is thrown within the
-	 *             game
-	 * @throws VertexNotInitializedException
-	 *             if any uninitialized {@link Vertex} (vertices) are accessed
-	 * @throws TileNotInitializedException
-	 *             if any uninitialized {@link Tile}s are accessed
 	 */
 	public static void startCatan(MainMenu menu)
-			throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException, BoardNotInitializedException,
-			TileNotInitializedException, VertexNotInitializedException, InvalidLocationException {
+			throws PlayerCountOutOfBoundsException, PlayerIndexOutOfBoundsException, BoardNotInitializedException {
 		startCatan(-1, null, menu);
 	}
 
@@ -1,5 +1,7 @@
 package catan.engine;
 
+import java.util.SplittableRandom;
+
 /**
  * Class representing an arbitrary number of dice
  * 
@@ -15,9 +17,18 @@ public class Dice {
 	 * @param i the number of dice to roll
 	 */
 	public static int roll(int i) {
+		return roll(i, new SplittableRandom());
+	}
+	
+	/**
+	 * Simulates rolling i dice
+	 * @param i the number of dice to roll
+	 * @param random the source of randomness to roll with
+	 */
+	public static int roll(int i, SplittableRandom random) {
 		int sum = 0;
 		for (int j = 0; j < i; j++) {
-			sum += (int) (Math.random() * DICE_SIDES) + 1;
+			sum += random.nextInt(DICE_SIDES) + 1;
 		}
 		return sum;
 	}
@@ -30,6 +41,15 @@ public class Dice {
 		return roll(1);
 	}
 	
+	/**
+	 * 
+	 * @param random the source of randomness to roll with
+	 * @return result from rolling a single die
+	 */
+	public static int singleRoll(SplittableRandom random) {
+		return roll(1, random);
+	}
+	
 	/**
 	 * 
 	 * @return result from rolling two dice
@@ -38,4 +58,13 @@ public class Dice {
 		return roll(2);
 	}
 	
+	/**
+	 * 
+	 * @param random the source of randomness to roll with
+	 * @return result from rolling two dice
+	 */
+	public static int doubleRoll(SplittableRandom random) {
+		return roll(2, random);
+	}
+	
 }
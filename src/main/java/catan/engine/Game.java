@@ -0,0 +1,739 @@
+package catan.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import catan.engine.board.Board;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.ProductionIndex;
+import catan.engine.board.ZobristKeys;
+import catan.engine.board.objects.InvalidLocationException;
+import catan.engine.board.objects.buildings.Road;
+import catan.engine.board.objects.buildings.Village;
+import catan.engine.board.tile.Edge;
+import catan.engine.board.tile.Tile;
+import catan.engine.board.tile.TileNotInitializedException;
+import catan.engine.board.tile.Vertex;
+import catan.engine.board.tile.VertexNotInitializedException;
+import catan.engine.commands.GameCommand;
+import catan.engine.player.Player;
+import catan.engine.player.PlayerColor;
+import catan.engine.player.PlayerCountOutOfBoundsException;
+import catan.engine.resources.ResourceMetric;
+
+/**
+ * Represents a game of catan independent of any user interface. A
+ * {@link Game} can be played to completion on its own, with every
+ * {@link Player} taking their turn automatically, or observed through a
+ * {@link GameListener}
+ * 
+ * @author Jacob
+ * 
+ */
+public class Game {
+
+	public static final int MIN_PLAYERS = 2;
+	public static final int MAX_PLAYERS = 5;
+	public static final int NORMAL_PLAYERS = 4;
+
+	public static final int STARTING_RESOURCES = 7;
+	public static final int STARTING_VILLAGES = 2;
+
+	public static final int MAX_VICTORY_POINTS = 10;
+
+	private Player[] m_players;
+	private SplittableRandom m_random;
+	private Board m_board;
+	private GameListener m_listener;
+	private int m_turn = 0;
+	private int m_round = 0;
+	private int m_turns = 0;
+	private int m_roundLimit = 0;
+
+	private Player m_winner;
+	private volatile boolean m_end = false;
+
+	private volatile GamePhase m_phase = GamePhase.SETUP;
+	private int m_setUpIndex = 0;
+	private volatile Player m_awaiting;
+	private GameScheduler m_scheduler;
+
+	/**
+	 * Creates a new {@link Game} with the specified players
+	 * 
+	 * @param players
+	 *            the players
+	 * @throws PlayerCountOutOfBoundsException
+	 *             when the player count is not within engine constraints
+	 */
+	public Game(Player... players) throws PlayerCountOutOfBoundsException {
+		this(new SplittableRandom(), players);
+	}
+
+	/**
+	 * Creates a new {@link Game} with the specified players, drawing every
+	 * random decision from the specified source so that the {@link Game} can
+	 * be replayed from the same seed
+	 * 
+	 * @param random
+	 *            the source of randomness for this {@link Game}
+	 * @param players
+	 *            the players
+	 * @throws PlayerCountOutOfBoundsException
+	 *             when the player count is not within engine constraints
+	 */
+	public Game(SplittableRandom random, Player... players) throws PlayerCountOutOfBoundsException {
+		if (players.length > MAX_PLAYERS) {
+			throw new PlayerCountOutOfBoundsException(players.length);
+		}
+
+		m_random = random;
+		m_players = Arrays.copyOf(players, players.length);
+
+		// add starting resources
+		for (Player player : m_players) {
+			player.getResources().addRandom(STARTING_RESOURCES, m_random);
+		}
+
+		determineTurnOrder();
+	}
+
+	/**
+	 * Creates a new {@link Game} with the specified players on the specified
+	 * {@link Board}
+	 * 
+	 * @param board
+	 *            the {@link Board} to play on
+	 * @param players
+	 *            the players
+	 * @throws PlayerCountOutOfBoundsException
+	 *             when the player count is not within engine constraints
+	 */
+	public Game(Board board, Player... players) throws PlayerCountOutOfBoundsException {
+		this(players);
+		setBoard(board);
+	}
+
+	/**
+	 * Creates a new {@link Game} with the specified players on the specified
+	 * {@link Board}, drawing every random decision from the specified source
+	 * 
+	 * @param random
+	 *            the source of randomness for this {@link Game}
+	 * @param board
+	 *            the {@link Board} to play on
+	 * @param players
+	 *            the players
+	 * @throws PlayerCountOutOfBoundsException
+	 *             when the player count is not within engine constraints
+	 */
+	public Game(SplittableRandom random, Board board, Player... players) throws PlayerCountOutOfBoundsException {
+		this(random, players);
+		setBoard(board);
+	}
+
+	/**
+	 * Creates the specified number of {@link Player}s, each with a different
+	 * random {@link PlayerColor}
+	 * 
+	 * @param playerNumber
+	 *            the number of players
+	 * @return array containing the new {@link Player}s
+	 */
+	public static Player[] createPlayers(int playerNumber) {
+		return createPlayers(playerNumber, new SplittableRandom());
+	}
+
+	/**
+	 * Creates the specified number of {@link Player}s, each with a different
+	 * random {@link PlayerColor}
+	 * 
+	 * @param playerNumber
+	 *            the number of players
+	 * @param random
+	 *            the source of randomness to pick colors with
+	 * @return array containing the new {@link Player}s
+	 */
+	public static Player[] createPlayers(int playerNumber, SplittableRandom random) {
+		ArrayList<PlayerColor> colorList = new ArrayList<PlayerColor>(Arrays.asList(PlayerColor.values()));
+		RandomUtils.shuffle(colorList, random);
+		Player[] players = new Player[playerNumber];
+		for (int i = 0; i < playerNumber; i++) {
+			players[i] = new Player(colorList.get(i));
+		}
+		return players;
+	}
+
+	/**
+	 * 
+	 * @return array containing all players in turn order
+	 */
+	public Player[] getPlayers() {
+		return m_players;
+	}
+
+	/**
+	 * 
+	 * @return the source of randomness every random decision in this game is
+	 *         drawn from
+	 */
+	public SplittableRandom getRandom() {
+		return m_random;
+	}
+
+	/**
+	 * Randomizes turn order according to simulated dice rolls
+	 */
+	public void determineTurnOrder() {
+		// assign each player random dice roll
+		int[] rolls = new int[m_players.length];
+		for (int i = 0; i < rolls.length; i++) {
+			rolls[i] = Dice.singleRoll(m_random);
+		}
+
+		// sort rolls and players using simple insertion sort
+		for (int i = 1; i < rolls.length; i++) {
+			int temp = rolls[i];
+			Player tempPlayer = m_players[i];
+
+			int j = i;
+			while (j > 0 && rolls[j - 1] < temp) {
+				rolls[j] = rolls[j - 1];
+				m_players[j] = m_players[j - 1];
+				j--;
+			}
+			rolls[j] = temp;
+			m_players[j] = tempPlayer;
+		}
+	}
+
+	/**
+	 * Ends the current {@link Player}'s turn
+	 */
+	public void nextTurn() {
+		m_turns += 1;
+		m_turn += 1;
+		if (m_turn >= m_players.length) {
+			m_turn = 0;
+			m_round += 1;
+		}
+	}
+
+	/**
+	 * 
+	 * @return the {@link Player} whose turn it currently is
+	 */
+	public Player getActivePlayer() {
+		return m_players[m_turn];
+	}
+
+	/**
+	 * 
+	 * @return the number of completed rounds, a round being one turn for
+	 *         every {@link Player}
+	 */
+	public int getRound() {
+		return m_round;
+	}
+
+	/**
+	 * 
+	 * @return the total number of turns taken by all {@link Player}s
+	 */
+	public int getTurns() {
+		return m_turns;
+	}
+
+	/**
+	 * Sets the number of rounds after which this {@link Game} ends without a
+	 * winner
+	 * 
+	 * @param limit
+	 *            the round limit, 0 for no limit
+	 */
+	public void setRoundLimit(int limit) {
+		m_roundLimit = limit;
+	}
+
+	/**
+	 * 
+	 * @return the {@link Board} for this game
+	 * @throws BoardNotInitializedException
+	 *             if the board has not been initialized
+	 */
+	public Board getBoard() throws BoardNotInitializedException {
+		if (m_board == null) {
+			throw new BoardNotInitializedException();
+		}
+		return m_board;
+	}
+
+	/**
+	 * Sets the {@link Board} for this game, registering every {@link Player}
+	 * with the {@link Board} in turn order
+	 * 
+	 * @param board
+	 *            the {@link Board} to assign
+	 */
+	public void setBoard(Board board) {
+		m_board = board;
+		if (board != null) {
+			for (Player player : m_players) {
+				board.getPlayerId(player);
+			}
+		}
+	}
+
+	/**
+	 * Sets the {@link GameListener} observing this game
+	 * 
+	 * @param listener
+	 *            the {@link GameListener} to assign, null for none
+	 */
+	public void setGameListener(GameListener listener) {
+		m_listener = listener;
+	}
+
+	/**
+	 * 
+	 * @return true if this game has ended
+	 */
+	public boolean isOver() {
+		return m_end;
+	}
+
+	/**
+	 * 
+	 * @return the {@link Player} that won this game, null if there is no
+	 *         winner yet
+	 */
+	public Player getWinner() {
+		return m_winner;
+	}
+
+	/**
+	 * Ends this game
+	 * 
+	 * @param winner
+	 *            the {@link Player} that won, null if there is no winner
+	 */
+	public void end(Player winner) {
+		if (m_end) {
+			return;
+		}
+		m_winner = winner;
+		m_end = true;
+		m_phase = GamePhase.FINISHED;
+		if (m_listener != null) {
+			m_listener.onGameOver(this, winner);
+		}
+	}
+
+	/**
+	 * Stops this game without a winner
+	 */
+	public void stop() {
+		m_end = true;
+		m_phase = GamePhase.FINISHED;
+	}
+
+	/**
+	 * 
+	 * @return the {@link GamePhase} this game is in
+	 */
+	public GamePhase getPhase() {
+		return m_phase;
+	}
+
+	/**
+	 * 
+	 * @return the hash of the state of this game, the {@link Board}, every
+	 *         {@link Player}'s resources, the turn and whether the dice are
+	 *         waiting to be rolled
+	 */
+	public long getHash() {
+		long hash = (m_board == null ? 0 : m_board.getHash()) ^ ZobristKeys.getTurnKey(m_turn);
+		return m_phase == GamePhase.ROLL && m_turn == 0 ? hash ^ ZobristKeys.ROLL_KEY : hash;
+	}
+
+	/**
+	 * 
+	 * @return the {@link Player} this game is waiting for a
+	 *         {@link GameCommand} from, null if it is not waiting
+	 */
+	public Player getAwaitedPlayer() {
+		return m_awaiting;
+	}
+
+	/**
+	 * 
+	 * @return the {@link GameScheduler} this game's work is run on
+	 */
+	public synchronized GameScheduler getScheduler() {
+		if (m_scheduler == null) {
+			m_scheduler = new GameScheduler();
+		}
+		return m_scheduler;
+	}
+
+	/**
+	 * Sets the {@link GameScheduler} this game's work is run on, must be
+	 * called before the game is started
+	 * 
+	 * @param scheduler
+	 *            the {@link GameScheduler} to assign
+	 */
+	public synchronized void setScheduler(GameScheduler scheduler) {
+		m_scheduler = scheduler;
+	}
+
+	/**
+	 * Ends this game if the specified {@link Player} has enough victory points
+	 * to win
+	 * 
+	 * @param player
+	 *            the {@link Player} to check
+	 * @return true if the {@link Player} won
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	public boolean checkVictory(Player player) throws BoardNotInitializedException {
+		if (player.getVictoryPoints(getBoard()) >= MAX_VICTORY_POINTS) {
+			end(player);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Distributes the produced resources for this turn
+	 * 
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} has not been initialized
+	 */
+	public void distributeTurnResources() throws BoardNotInitializedException {
+		int frequency = Dice.doubleRoll(m_random);
+		if (m_listener != null) {
+			m_listener.onRoll(this, frequency);
+		}
+		// payouts of a single building are stored together, so each building
+		// is reported once after all of its resources have been given
+		ProductionIndex production = getBoard().getProductionIndex();
+		int count = production.getPayoutCount(frequency);
+		for (int i = 0; i < count; i++) {
+			int payout = production.getPayout(frequency, i);
+			getBoard().getPlayer(ProductionIndex.getOwner(payout)).getResources()
+					.add(ProductionIndex.getResource(payout), ProductionIndex.getAmount(payout));
+			if (m_listener != null && (i + 1 == count
+					|| ProductionIndex.getVertex(production.getPayout(frequency, i + 1)) != ProductionIndex
+							.getVertex(payout))) {
+				m_listener.onProduce(this, getBoard().getBuilding(ProductionIndex.getVertex(payout)));
+			}
+		}
+		if (m_listener != null) {
+			m_listener.onProductionFinished(this);
+		}
+	}
+
+	/**
+	 * Plays this game from set up until a {@link Player} wins, or the round
+	 * limit is reached, on the calling thread
+	 * 
+	 * @return the {@link Player} that won, null if there was no winner, or if
+	 *         the game is waiting for a {@link GameCommand}
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 * @throws VertexNotInitializedException
+	 *             if any {@link Vertex} can't be initialized
+	 * @throws TileNotInitializedException
+	 *             if any {@link Tile} has not been initialized
+	 * @throws InvalidLocationException
+	 *             if anything is created in an invalid location
+	 */
+	public Player play() throws BoardNotInitializedException, TileNotInitializedException,
+			VertexNotInitializedException, InvalidLocationException {
+		advance();
+		return m_winner;
+	}
+
+	/**
+	 * Starts playing this game on its {@link GameScheduler}, returning
+	 * immediately
+	 */
+	public void start() {
+		getScheduler().execute(this::scheduledAdvance);
+	}
+
+	/**
+	 * Submits a {@link GameCommand} to be run on this game's
+	 * {@link GameScheduler}, after which the game carries on until it is
+	 * waiting again. The {@link GameCommand} is ignored if this game is not in
+	 * its {@link GamePhase}, or not waiting on its {@link Player}
+	 * 
+	 * @param command
+	 *            the {@link GameCommand} to run
+	 */
+	public void submit(GameCommand command) {
+		getScheduler().execute(() -> {
+			try {
+				if (command.getPhase() == m_phase && command.getPlayer() == m_awaiting && command.execute(this)) {
+					advance();
+				}
+			} catch (BoardNotInitializedException | TileNotInitializedException | VertexNotInitializedException
+					| InvalidLocationException e) {
+				e.printStackTrace();
+				System.exit(0);
+			}
+		});
+	}
+
+	/**
+	 * Runs {@link #advance()} from this game's {@link GameScheduler}
+	 */
+	private void scheduledAdvance() {
+		try {
+			advance();
+		} catch (BoardNotInitializedException | TileNotInitializedException | VertexNotInitializedException
+				| InvalidLocationException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * Moves this game through its {@link GamePhase}s until it is over, or is
+	 * waiting for a {@link GameCommand} from a {@link Player} that does not
+	 * take their turns automatically
+	 * 
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 * @throws VertexNotInitializedException
+	 *             if any {@link Vertex} can't be initialized
+	 * @throws TileNotInitializedException
+	 *             if any {@link Tile} has not been initialized
+	 * @throws InvalidLocationException
+	 *             if anything is created in an invalid location
+	 */
+	public void advance() throws BoardNotInitializedException, TileNotInitializedException,
+			VertexNotInitializedException, InvalidLocationException {
+		while (!m_end) {
+			switch (m_phase) {
+			case SETUP:
+				if (m_setUpIndex >= m_players.length) {
+					m_phase = GamePhase.ROLL;
+				} else if (await(m_players[m_setUpIndex])) {
+					return;
+				} else {
+					setUpPlayer(m_players[m_setUpIndex]);
+					finishSetUp();
+				}
+				break;
+			case ROLL:
+				if (m_roundLimit > 0 && m_round >= m_roundLimit) {
+					end(null);
+					break;
+				}
+				if (m_turn == 0) {
+					// only run once per turn
+					distributeTurnResources();
+				}
+				m_phase = GamePhase.ACTION;
+				break;
+			case ACTION:
+				if (await(getActivePlayer())) {
+					return;
+				}
+				getActivePlayer().takeTurn(this);
+				finishTurn();
+				break;
+			default:
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Determines whether to wait for a {@link Player}, rather than acting for
+	 * them
+	 * 
+	 * @param player
+	 *            the {@link Player} due to act
+	 * @return true if this game should wait for a {@link GameCommand}
+	 */
+	private boolean await(Player player) {
+		if (m_awaiting == player) {
+			return true;
+		}
+		if (awaitInput(player)) {
+			m_awaiting = player;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Called when a {@link Player} is due to set up or take their turn, to
+	 * decide whether this game should wait for them to submit a
+	 * {@link GameCommand}. By default every {@link Player} acts automatically
+	 * 
+	 * @param player
+	 *            the {@link Player} due to act
+	 * @return true if this game should wait for the {@link Player}
+	 */
+	protected boolean awaitInput(Player player) {
+		return false;
+	}
+
+	/**
+	 * Called once a {@link Player} this game waited for has finished setting
+	 * up or taking their turn
+	 * 
+	 * @param player
+	 *            the {@link Player} that finished
+	 */
+	protected void releaseInput(Player player) {
+	}
+
+	/**
+	 * Finishes the current {@link Player}'s set up, moving on to the next
+	 * {@link Player}
+	 */
+	public void finishSetUp() {
+		Player player = m_players[m_setUpIndex];
+		m_setUpIndex++;
+		release(player);
+	}
+
+	/**
+	 * Finishes the active {@link Player}'s turn, checking whether they won
+	 * and passing the turn on
+	 * 
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	public void finishTurn() throws BoardNotInitializedException {
+		Player player = getActivePlayer();
+		release(player);
+		checkVictory(player);
+		nextTurn();
+		if (!m_end) {
+			m_phase = GamePhase.ROLL;
+		}
+	}
+
+	/**
+	 * Stops waiting for a {@link Player}, if this game was waiting for them
+	 * 
+	 * @param player
+	 *            the {@link Player} that finished
+	 */
+	private void release(Player player) {
+		if (m_awaiting == player) {
+			m_awaiting = null;
+			releaseInput(player);
+		}
+	}
+
+	/**
+	 * Gives a single {@link Player} their starting buildings
+	 * 
+	 * @param player
+	 *            the {@link Player} to set up
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} hasn't been initialized
+	 * @throws VertexNotInitializedException
+	 *             if any {@link Vertex} can't be initialized
+	 * @throws TileNotInitializedException
+	 *             if any {@link Tile} has not been initialized
+	 * @throws InvalidLocationException
+	 *             if anything is created in an invalid location
+	 */
+	protected void setUpPlayer(Player player) throws BoardNotInitializedException, TileNotInitializedException,
+			VertexNotInitializedException, InvalidLocationException {
+		for (int i = 0; i < STARTING_VILLAGES; i++) {
+			placeStartingBuildings(player);
+		}
+	}
+
+	/**
+	 * Places a single starting {@link Village} and {@link Road} for the
+	 * specified {@link Player} on the most valuable free {@link Vertex}
+	 * 
+	 * @param player
+	 *            the {@link Player} to place for
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} hasn't been initialized
+	 * @throws VertexNotInitializedException
+	 *             if any {@link Vertex} can't be initialized
+	 * @throws TileNotInitializedException
+	 *             if any {@link Tile} has not been initialized
+	 * @throws InvalidLocationException
+	 *             if anything is created in an invalid location
+	 */
+	public void placeStartingBuildings(Player player) throws BoardNotInitializedException,
+			TileNotInitializedException, VertexNotInitializedException, InvalidLocationException {
+		Vertex highest = null;
+		int highScore = 0;
+		Vertex secondHighest = null;
+		int secondHighScore = 0;
+		ResourceMetric production = player.getProductionMetric(getBoard());
+		int gameStage = getBoard().getHighestVictoryPoints();
+		for (int row = 0; row < getBoard().getVertexDimensions()[0]; row++) {
+			for (int col = 0; col < getBoard().getVertexDimensions()[1]; col++) {
+				Vertex vertex = getBoard().getVertex(row, col);
+				int val = vertex.getVertexValue(gameStage, production);
+				if (getBoard().getOccupancy().isBlocked(row, col)) {
+					continue;
+				}
+				if (highest == null || secondHighest == null) {
+					highest = vertex;
+					secondHighest = vertex;
+					highScore = val;
+					secondHighScore = val;
+				} else if (val > highScore) {
+					secondHighest = highest;
+					secondHighScore = highScore;
+					highest = vertex;
+					highScore = val;
+				} else if (val > secondHighScore) {
+					secondHighest = vertex;
+					secondHighScore = val;
+				}
+			}
+		}
+
+		if (highest == null) {
+			// no room left on the board
+			return;
+		}
+
+		int[] direction = new int[2];
+		int[] delta = highest.getDistanceFrom(secondHighest);
+		if (Math.abs(delta[0]) > Math.abs(delta[1])) {
+			direction[1] = Integer.signum(delta[0]) * 1;
+		} else {
+			direction[0] = Integer.signum(delta[1]) * 1;
+		}
+		int[] secondPosition = new int[] { highest.getPosition()[0] + direction[0],
+				highest.getPosition()[1] + direction[1] };
+
+		if ((direction[0] == 0 && direction[1] == 0) || secondPosition[0] < 0 || secondPosition[1] < 0
+				|| secondPosition[0] >= getBoard().getVertexDimensions()[0]
+				|| secondPosition[1] >= getBoard().getVertexDimensions()[1]) {
+			// road would leave the board, lead it to any neighbour instead
+			secondPosition = highest.getAdjacentVertices()[0].getPosition();
+		}
+
+		Edge edge = getBoard().getEdge(highest.getPosition(), secondPosition);
+
+		getBoard().addObject(new Road(player, edge, true));
+		getBoard().addObject(new Village(player, highest));
+	}
+
+	@Override
+	public String toString() {
+		return "Game: (Players: (" + m_players.length + "), Round: (" + m_round + "))";
+	}
+
+}
@@ -0,0 +1,31 @@
+package catan.engine;
+
+import catan.engine.board.objects.BoardObject;
+import catan.engine.player.Player;
+
+/**
+ * Empty implementation of {@link GameListener}, extend and override only the
+ * events of interest
+ * 
+ * @author Jacob
+ * 
+ */
+public class GameAdapter implements GameListener {
+
+	@Override
+	public void onRoll(Game game, int frequency) {
+	}
+
+	@Override
+	public void onProduce(Game game, BoardObject object) {
+	}
+
+	@Override
+	public void onProductionFinished(Game game) {
+	}
+
+	@Override
+	public void onGameOver(Game game, Player winner) {
+	}
+
+}
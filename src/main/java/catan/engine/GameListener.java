@@ -0,0 +1,54 @@
+package catan.engine;
+
+import catan.engine.board.objects.BoardObject;
+import catan.engine.player.Player;
+
+/**
+ * Interface for observing the progress of a {@link Game}, allows a user
+ * interface to follow a {@link Game} without the {@link Game} depending on it
+ * 
+ * @author Jacob
+ * 
+ */
+public interface GameListener {
+
+	/**
+	 * Runs when the dice are rolled at the start of a round
+	 * 
+	 * @param game
+	 *            the {@link Game} the dice were rolled in
+	 * @param frequency
+	 *            the frequency that was rolled
+	 */
+	public void onRoll(Game game, int frequency);
+
+	/**
+	 * Runs when a {@link BoardObject} produces resources for its owner
+	 * 
+	 * @param game
+	 *            the {@link Game} the resources were produced in
+	 * @param object
+	 *            the {@link BoardObject} that produced resources
+	 */
+	public void onProduce(Game game, BoardObject object);
+
+	/**
+	 * Runs when all resources for a roll have been distributed
+	 * 
+	 * @param game
+	 *            the {@link Game} the resources were distributed in
+	 */
+	public void onProductionFinished(Game game);
+
+	/**
+	 * Runs when a {@link Game} ends
+	 * 
+	 * @param game
+	 *            the {@link Game} that ended
+	 * @param winner
+	 *            the {@link Player} that won, null if the {@link Game} ended
+	 *            without a winner
+	 */
+	public void onGameOver(Game game, Player winner);
+
+}
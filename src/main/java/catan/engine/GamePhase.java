@@ -0,0 +1,31 @@
+package catan.engine;
+
+import catan.engine.commands.GameCommand;
+import catan.engine.player.Player;
+
+/**
+ * The phases a {@link Game} moves through. A {@link Game} only waits in
+ * {@link #SETUP} or {@link #ACTION}, for a {@link GameCommand} from a
+ * {@link Player} that does not take their turns automatically
+ *
+ * @author Jacob
+ *
+ */
+public enum GamePhase {
+	/**
+	 * {@link Player}s are placing their starting buildings
+	 */
+	SETUP,
+	/**
+	 * The dice are about to be rolled for the active {@link Player}'s turn
+	 */
+	ROLL,
+	/**
+	 * The active {@link Player} is building
+	 */
+	ACTION,
+	/**
+	 * The {@link Game} is over
+	 */
+	FINISHED
+}
@@ -0,0 +1,94 @@
+package catan.engine;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import catan.engine.player.Player;
+
+/**
+ * Runs the work of a single {@link Game} one task at a time, in the order it
+ * was submitted, on a pool of threads shared by every {@link Game}. A
+ * {@link Game} waiting for a {@link Player} has no task queued and holds no
+ * thread, so one process can host many {@link Game}s at once
+ *
+ * @author Jacob
+ *
+ */
+public class GameScheduler implements Executor {
+
+	public static final int POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	private static final ExecutorService SHARED_POOL = Executors.newFixedThreadPool(POOL_SIZE, (runnable) -> {
+		Thread thread = new Thread(runnable, "Game Scheduler");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private Executor m_pool;
+	private ConcurrentLinkedQueue<Runnable> m_tasks = new ConcurrentLinkedQueue<Runnable>();
+	private AtomicBoolean m_running = new AtomicBoolean(false);
+
+	/**
+	 * Creates a new {@link GameScheduler} on the shared pool
+	 */
+	public GameScheduler() {
+		this(SHARED_POOL);
+	}
+
+	/**
+	 * Creates a new {@link GameScheduler}
+	 *
+	 * @param pool
+	 *            the {@link Executor} to run tasks on
+	 */
+	public GameScheduler(Executor pool) {
+		m_pool = pool;
+	}
+
+	/**
+	 * Queues a task, to run after every task already queued
+	 *
+	 * @param task
+	 *            the task to run
+	 */
+	@Override
+	public void execute(Runnable task) {
+		m_tasks.add(task);
+		schedule();
+	}
+
+	/**
+	 * Starts running the queued tasks on the pool, unless they are already
+	 * being run
+	 */
+	private void schedule() {
+		if (!m_tasks.isEmpty() && m_running.compareAndSet(false, true)) {
+			m_pool.execute(this::drain);
+		}
+	}
+
+	/**
+	 * Runs queued tasks until there are none left
+	 */
+	private void drain() {
+		try {
+			Runnable task;
+			while ((task = m_tasks.poll()) != null) {
+				task.run();
+			}
+		} finally {
+			m_running.set(false);
+			// a task may have been queued after the queue was found empty
+			schedule();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Game Scheduler: (Queued: (" + m_tasks.size() + "))";
+	}
+
+}
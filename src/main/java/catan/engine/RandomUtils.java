@@ -0,0 +1,32 @@
+package catan.engine;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Helper methods for drawing from a {@link SplittableRandom}, so that every
+ * random decision in a {@link Game} can come from a single seeded source
+ * 
+ * @author Jacob
+ * 
+ */
+public class RandomUtils {
+
+	/**
+	 * Randomly permutes the specified {@link List} using the specified source
+	 * of randomness, equivalent to
+	 * {@link java.util.Collections#shuffle(List, java.util.Random)}
+	 * 
+	 * @param list
+	 *            the {@link List} to shuffle
+	 * @param random
+	 *            the source of randomness
+	 */
+	public static <T> void shuffle(List<T> list, SplittableRandom random) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			list.set(i, list.set(j, list.get(i)));
+		}
+	}
+
+}
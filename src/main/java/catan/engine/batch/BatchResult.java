@@ -0,0 +1,181 @@
+package catan.engine.batch;
+
+import catan.engine.Game;
+import catan.engine.player.Player;
+import catan.engine.player.PlayerColor;
+import catan.engine.player.mcts.MCTSStrategy;
+
+/**
+ * Aggregate outcome of every {@link Game} played by a {@link SelfPlayBatch}
+ * 
+ * @author Jacob
+ * 
+ */
+public class BatchResult {
+
+	private GameResult[] m_results;
+	private long m_elapsedNanos;
+
+	/**
+	 * Creates a new {@link BatchResult}
+	 * 
+	 * @param results
+	 *            the {@link GameResult} of every {@link Game} in the batch
+	 * @param elapsedNanos
+	 *            the wall clock time the batch took, in nanoseconds
+	 */
+	public BatchResult(GameResult[] results, long elapsedNanos) {
+		m_results = results;
+		m_elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * 
+	 * @return the {@link GameResult} of every {@link Game} in the batch
+	 */
+	public GameResult[] getResults() {
+		return m_results;
+	}
+
+	/**
+	 * 
+	 * @return the number of games played
+	 */
+	public int getGames() {
+		return m_results.length;
+	}
+
+	/**
+	 * 
+	 * @return the wall clock time the batch took, in seconds
+	 */
+	public double getElapsedSeconds() {
+		return m_elapsedNanos / 1e9;
+	}
+
+	/**
+	 * 
+	 * @return the number of games completed per second of wall clock time
+	 */
+	public double getGamesPerSecond() {
+		return m_elapsedNanos == 0 ? 0 : m_results.length / getElapsedSeconds();
+	}
+
+	/**
+	 * 
+	 * @param color
+	 *            the {@link PlayerColor} to count wins for
+	 * @return the number of games won by the specified {@link PlayerColor}
+	 */
+	public int getWins(PlayerColor color) {
+		int wins = 0;
+		for (GameResult result : m_results) {
+			if (result.getWinner() == color) {
+				wins++;
+			}
+		}
+		return wins;
+	}
+
+	/**
+	 * 
+	 * @return the number of games that ended without a winner
+	 */
+	public int getDraws() {
+		return getWins(null);
+	}
+
+	/**
+	 * 
+	 * @return the mean number of turns per game
+	 */
+	public double getMeanTurns() {
+		if (m_results.length == 0) {
+			return 0;
+		}
+		long sum = 0;
+		for (GameResult result : m_results) {
+			sum += result.getTurns();
+		}
+		return (double) sum / m_results.length;
+	}
+
+	/**
+	 * 
+	 * @return the mean final victory point spread per game
+	 */
+	public double getMeanVictoryPointSpread() {
+		if (m_results.length == 0) {
+			return 0;
+		}
+		long sum = 0;
+		for (GameResult result : m_results) {
+			sum += result.getVictoryPointSpread();
+		}
+		return (double) sum / m_results.length;
+	}
+
+	/**
+	 * 
+	 * @return the number of games with a {@link Player} picking moves with an
+	 *         {@link MCTSStrategy}
+	 */
+	public int getSearchGames() {
+		int games = 0;
+		for (GameResult result : m_results) {
+			if (result.getSearchColor() != null) {
+				games++;
+			}
+		}
+		return games;
+	}
+
+	/**
+	 * 
+	 * @return the number of games won by the {@link Player} picking moves with
+	 *         an {@link MCTSStrategy}
+	 */
+	public int getSearchWins() {
+		int wins = 0;
+		for (GameResult result : m_results) {
+			if (result.getSearchColor() != null && result.getSearchColor() == result.getWinner()) {
+				wins++;
+			}
+		}
+		return wins;
+	}
+
+	/**
+	 * 
+	 * @return the states visited per second of searching over every
+	 *         {@link MCTSStrategy} in the batch
+	 */
+	public double getSearchNodesPerSecond() {
+		long nodes = 0;
+		long time = 0;
+		for (GameResult result : m_results) {
+			nodes += result.getSearchNodes();
+			time += result.getSearchTime();
+		}
+		return time == 0 ? 0 : nodes * 1e9 / time;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("Games: %d in %.2fs (%.1f games/sec)%n", getGames(), getElapsedSeconds(),
+				getGamesPerSecond()));
+		for (PlayerColor color : PlayerColor.values()) {
+			builder.append(String.format("  %-7s %d wins%n", color, getWins(color)));
+		}
+		builder.append(String.format("  %-7s %d%n", "DRAWS", getDraws()));
+		builder.append(String.format("Mean turns: %.1f, Mean VP spread: %.2f", getMeanTurns(),
+				getMeanVictoryPointSpread()));
+		if (getSearchGames() > 0) {
+			builder.append(String.format("%nSearch: %d wins in %d games, %.0f nodes/sec", getSearchWins(),
+					getSearchGames(), getSearchNodesPerSecond()));
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,156 @@
+package catan.engine.batch;
+
+import catan.engine.Game;
+import catan.engine.player.Player;
+import catan.engine.player.PlayerColor;
+import catan.engine.player.mcts.MCTSStrategy;
+
+/**
+ * The outcome of a single {@link Game} played by a {@link SelfPlayBatch}
+ * 
+ * @author Jacob
+ * 
+ */
+public class GameResult {
+
+	private long m_seed;
+	private PlayerColor m_winner;
+	private int m_turns;
+	private int m_rounds;
+	private int m_victoryPointSpread;
+	private PlayerColor m_searchColor;
+	private long m_searchNodes;
+	private long m_searchTime;
+
+	/**
+	 * Creates a new {@link GameResult}
+	 * 
+	 * @param seed
+	 *            the seed the {@link Game} was played from
+	 * @param winner
+	 *            the {@link PlayerColor} of the winner, null if the
+	 *            {@link Game} ended without a winner
+	 * @param turns
+	 *            the total number of turns taken
+	 * @param rounds
+	 *            the number of completed rounds
+	 * @param victoryPointSpread
+	 *            the difference between the highest and lowest final victory
+	 *            points
+	 */
+	public GameResult(long seed, PlayerColor winner, int turns, int rounds, int victoryPointSpread) {
+		this(seed, winner, turns, rounds, victoryPointSpread, null, 0, 0);
+	}
+
+	/**
+	 * Creates a new {@link GameResult} for a {@link Game} with a searching
+	 * {@link Player}
+	 * 
+	 * @param seed
+	 *            the seed the {@link Game} was played from
+	 * @param winner
+	 *            the {@link PlayerColor} of the winner, null if the
+	 *            {@link Game} ended without a winner
+	 * @param turns
+	 *            the total number of turns taken
+	 * @param rounds
+	 *            the number of completed rounds
+	 * @param victoryPointSpread
+	 *            the difference between the highest and lowest final victory
+	 *            points
+	 * @param searchColor
+	 *            the {@link PlayerColor} of the {@link Player} picking moves
+	 *            with an {@link MCTSStrategy}, null if there was none
+	 * @param searchNodes
+	 *            the number of states the {@link MCTSStrategy} visited
+	 * @param searchTime
+	 *            the time the {@link MCTSStrategy} spent searching in
+	 *            nanoseconds
+	 */
+	public GameResult(long seed, PlayerColor winner, int turns, int rounds, int victoryPointSpread,
+			PlayerColor searchColor, long searchNodes, long searchTime) {
+		m_seed = seed;
+		m_winner = winner;
+		m_turns = turns;
+		m_rounds = rounds;
+		m_victoryPointSpread = victoryPointSpread;
+		m_searchColor = searchColor;
+		m_searchNodes = searchNodes;
+		m_searchTime = searchTime;
+	}
+
+	/**
+	 * 
+	 * @return the seed the {@link Game} was played from, playing the same seed
+	 *         again reproduces the {@link Game} exactly
+	 */
+	public long getSeed() {
+		return m_seed;
+	}
+
+	/**
+	 * 
+	 * @return the {@link PlayerColor} of the winner, null if there was no
+	 *         winner
+	 */
+	public PlayerColor getWinner() {
+		return m_winner;
+	}
+
+	/**
+	 * 
+	 * @return the total number of turns taken
+	 */
+	public int getTurns() {
+		return m_turns;
+	}
+
+	/**
+	 * 
+	 * @return the number of completed rounds
+	 */
+	public int getRounds() {
+		return m_rounds;
+	}
+
+	/**
+	 * 
+	 * @return the difference between the highest and lowest final victory
+	 *         points
+	 */
+	public int getVictoryPointSpread() {
+		return m_victoryPointSpread;
+	}
+
+	/**
+	 * 
+	 * @return the {@link PlayerColor} of the {@link Player} picking moves with
+	 *         an {@link MCTSStrategy}, null if there was none
+	 */
+	public PlayerColor getSearchColor() {
+		return m_searchColor;
+	}
+
+	/**
+	 * 
+	 * @return the number of states the {@link MCTSStrategy} visited
+	 */
+	public long getSearchNodes() {
+		return m_searchNodes;
+	}
+
+	/**
+	 * 
+	 * @return the time the {@link MCTSStrategy} spent searching in nanoseconds
+	 */
+	public long getSearchTime() {
+		return m_searchTime;
+	}
+
+	@Override
+	public String toString() {
+		return "GameResult: (Seed: (" + m_seed + "), Winner: (" + m_winner + "), Turns: (" + m_turns + "), Spread: (" + m_victoryPointSpread
+				+ "))";
+	}
+
+}
@@ -0,0 +1,359 @@
+package catan.engine.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import catan.engine.Game;
+import catan.engine.board.Board;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.IO;
+import catan.engine.board.objects.InvalidLocationException;
+import catan.engine.board.tile.TileNotInitializedException;
+import catan.engine.board.tile.VertexNotInitializedException;
+import catan.engine.moves.GameState;
+import catan.engine.player.Player;
+import catan.engine.player.PlayerCountOutOfBoundsException;
+import catan.engine.player.mcts.MCTSStrategy;
+import catan.engine.player.mcts.SearchState;
+import catan.engine.player.mcts.TranspositionTable;
+
+/**
+ * Plays many independent AI versus AI {@link Game}s at once across every
+ * available core, without any user interface. Each {@link Game} gets its own
+ * {@link Board}, either randomly generated or read from a layout
+ * {@link File}, so no state is shared between games. Every game is seeded
+ * from a single master seed, so any game can be replayed exactly from the
+ * seed recorded in its {@link GameResult}
+ * 
+ * <p>
+ * One {@link Player} in each game, a different seat from game to game, can be
+ * given an {@link MCTSStrategy} with a fixed iteration budget to measure its
+ * strength and speed against the rest, optionally keeping a
+ * {@link TranspositionTable} across its moves. Every finished game is also checked to
+ * copy back unchanged through a {@link GameState} snapshot
+ * 
+ * @author Jacob
+ * 
+ */
+public class SelfPlayBatch {
+
+	public static final int DEFAULT_GAMES = 1000;
+	public static final int DEFAULT_ROUND_LIMIT = 1000;
+
+	/**
+	 * Number of games below which a range of games is played on a single
+	 * thread instead of being split further
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 4;
+
+	private int m_games = DEFAULT_GAMES;
+	private int m_players = Game.NORMAL_PLAYERS;
+	private int m_roundLimit = DEFAULT_ROUND_LIMIT;
+	private int[] m_dimensions = Board.DEFAULT_BOARD_DIMENSIONS;
+	private File m_layout;
+	private long m_seed = System.nanoTime();
+	private int m_parallelism = Runtime.getRuntime().availableProcessors();
+	private int m_searchIterations = 0;
+	private boolean m_transpositions = false;
+
+	/**
+	 * Sets the number of games to play
+	 * 
+	 * @param games
+	 *            the number of games
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setGames(int games) {
+		m_games = games;
+		return this;
+	}
+
+	/**
+	 * Sets the number of {@link Player}s in each game
+	 * 
+	 * @param players
+	 *            the number of {@link Player}s
+	 * @return this {@link SelfPlayBatch}
+	 * @throws PlayerCountOutOfBoundsException
+	 *             when the player count is not within engine constraints
+	 */
+	public SelfPlayBatch setPlayers(int players) throws PlayerCountOutOfBoundsException {
+		if (players < Game.MIN_PLAYERS || players > Game.MAX_PLAYERS) {
+			throw new PlayerCountOutOfBoundsException(players);
+		}
+		m_players = players;
+		return this;
+	}
+
+	/**
+	 * Sets the number of rounds after which a game ends without a winner
+	 * 
+	 * @param limit
+	 *            the round limit
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setRoundLimit(int limit) {
+		m_roundLimit = limit;
+		return this;
+	}
+
+	/**
+	 * Sets the dimensions of the random {@link Board} generated for each game,
+	 * ignored if a layout has been set
+	 * 
+	 * @param dimensions
+	 *            the {@link Board} dimensions
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setDimensions(int[] dimensions) {
+		m_dimensions = dimensions;
+		return this;
+	}
+
+	/**
+	 * Sets the layout {@link File} every game's {@link Board} is read from
+	 * 
+	 * @param layout
+	 *            the layout {@link File}, null to generate random
+	 *            {@link Board}s
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setLayout(File layout) {
+		m_layout = layout;
+		return this;
+	}
+
+	/**
+	 * Sets the master seed every game's seed is derived from
+	 * 
+	 * @param seed
+	 *            the master seed
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setSeed(long seed) {
+		m_seed = seed;
+		return this;
+	}
+
+	/**
+	 * Sets the number of threads used to play games
+	 * 
+	 * @param parallelism
+	 *            the number of threads
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setParallelism(int parallelism) {
+		m_parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * Sets the iteration budget of the {@link MCTSStrategy} given to one
+	 * {@link Player} in each game. Each search runs on a single thread, as the
+	 * games are already played in parallel, so the same seed always produces
+	 * the same game
+	 * 
+	 * @param iterations
+	 *            the iterations per move, 0 for every {@link Player} to keep
+	 *            their default strategy
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setSearchIterations(int iterations) {
+		m_searchIterations = iterations;
+		return this;
+	}
+
+	/**
+	 * Sets whether the {@link MCTSStrategy} given to one {@link Player} in
+	 * each game keeps a {@link TranspositionTable} over the whole game
+	 * 
+	 * @param transpositions
+	 *            true to search with a {@link TranspositionTable}
+	 * @return this {@link SelfPlayBatch}
+	 */
+	public SelfPlayBatch setTranspositions(boolean transpositions) {
+		m_transpositions = transpositions;
+		return this;
+	}
+
+	/**
+	 * Plays every game in this batch, blocking until all have finished
+	 * 
+	 * @return the {@link BatchResult} for this batch
+	 */
+	public BatchResult run() {
+		GameResult[] results = new GameResult[m_games];
+
+		// derive seeds up front so each game's seed is independent of thread
+		// scheduling
+		SplittableRandom master = new SplittableRandom(m_seed);
+		long[] seeds = new long[m_games];
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = master.nextLong();
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(m_parallelism);
+		long start = System.nanoTime();
+		try {
+			pool.invoke(new PlayRange(seeds, results, 0, m_games));
+		} finally {
+			pool.shutdown();
+		}
+		return new BatchResult(results, System.nanoTime() - start);
+	}
+
+	/**
+	 * Plays a single game to completion, the same seed always producing the
+	 * same game
+	 * 
+	 * @param seed
+	 *            the seed for the game
+	 * @return the {@link GameResult} of the game
+	 */
+	public GameResult playGame(long seed) {
+		try {
+			SplittableRandom random = new SplittableRandom(seed);
+			Board board = m_layout == null ? Board.randomLandBoard(m_dimensions, random) : IO.readBoard(m_layout);
+			Player[] players = Game.createPlayers(m_players, random);
+			MCTSStrategy search = null;
+			Player searcher = null;
+			if (m_searchIterations > 0) {
+				search = new MCTSStrategy().setIterationBudget(m_searchIterations).setTimeBudget(0)
+						.setTranspositionTable(m_transpositions ? new TranspositionTable() : null);
+				searcher = players[(int) Math.floorMod(seed, (long) players.length)];
+				searcher.setStrategy(search);
+			}
+			Game game = new Game(random, board, players);
+			game.setRoundLimit(m_roundLimit);
+			Player winner = game.play();
+			checkSnapshot(game, seed);
+
+			int highest = Integer.MIN_VALUE;
+			int lowest = Integer.MAX_VALUE;
+			for (Player player : game.getPlayers()) {
+				int points = player.getVictoryPoints(board);
+				highest = Math.max(highest, points);
+				lowest = Math.min(lowest, points);
+			}
+
+			if (search == null) {
+				return new GameResult(seed, winner == null ? null : winner.getColor(), game.getTurns(),
+						game.getRound(), highest - lowest);
+			}
+			return new GameResult(seed, winner == null ? null : winner.getColor(), game.getTurns(), game.getRound(),
+					highest - lowest, searcher.getColor(), search.getTotalNodes(), search.getTotalTime());
+		} catch (IOException | PlayerCountOutOfBoundsException | BoardNotInitializedException
+				| TileNotInitializedException | VertexNotInitializedException | InvalidLocationException e) {
+			e.printStackTrace();
+			System.exit(0);
+			return null;
+		}
+	}
+
+	/**
+	 * Checks that a {@link Game} copies back to the same {@link SearchState}
+	 * through a {@link GameState} snapshot as it does directly
+	 * 
+	 * @param game
+	 *            the {@link Game} to check
+	 * @param seed
+	 *            the seed the {@link Game} was played from, for the error
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	private static void checkSnapshot(Game game, long seed) throws BoardNotInitializedException {
+		if (!new SearchState(game).equals(new SearchState(GameState.of(game)))) {
+			throw new IllegalStateException("GameState snapshot of game " + seed + " does not copy back");
+		}
+	}
+
+	/**
+	 * {@link RecursiveAction} that plays a contiguous range of games,
+	 * splitting the range in half until it is small enough to play directly
+	 * 
+	 * @author Jacob
+	 * 
+	 */
+	private class PlayRange extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private long[] m_seeds;
+		private GameResult[] m_results;
+		private int m_from;
+		private int m_to;
+
+		/**
+		 * Creates a new {@link PlayRange}
+		 * 
+		 * @param seeds
+		 *            the seed for each game
+		 * @param results
+		 *            the array to store each {@link GameResult} in
+		 * @param from
+		 *            the first game index, inclusive
+		 * @param to
+		 *            the last game index, exclusive
+		 */
+		public PlayRange(long[] seeds, GameResult[] results, int from, int to) {
+			m_seeds = seeds;
+			m_results = results;
+			m_from = from;
+			m_to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (m_to - m_from <= SEQUENTIAL_THRESHOLD) {
+				for (int i = m_from; i < m_to; i++) {
+					m_results[i] = playGame(m_seeds[i]);
+				}
+				return;
+			}
+			int middle = (m_from + m_to) >>> 1;
+			invokeAll(new PlayRange(m_seeds, m_results, m_from, middle),
+					new PlayRange(m_seeds, m_results, middle, m_to));
+		}
+
+	}
+
+	/**
+	 * Runs a batch from the command line
+	 * 
+	 * @param args
+	 *            [games] [players] [seed] [layout file, - for random boards]
+	 *            [search iterations] [true to search with transpositions]
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		SelfPlayBatch batch = new SelfPlayBatch();
+		try {
+			if (args.length > 0) {
+				batch.setGames(Integer.parseInt(args[0]));
+			}
+			if (args.length > 1) {
+				batch.setPlayers(Integer.parseInt(args[1]));
+			}
+			if (args.length > 2) {
+				batch.setSeed(Long.parseLong(args[2]));
+			}
+		} catch (PlayerCountOutOfBoundsException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+		if (args.length > 3 && !args[3].equals("-")) {
+			batch.setLayout(new File(args[3]));
+		}
+		if (args.length > 4) {
+			batch.setSearchIterations(Integer.parseInt(args[4]));
+		}
+		if (args.length > 5) {
+			batch.setTranspositions(Boolean.parseBoolean(args[5]));
+		}
+		System.out.println(batch.run());
+	}
+
+}
@@ -0,0 +1,147 @@
+package catan.engine.board;
+
+import catan.engine.board.tile.Vertex;
+
+/**
+ * Operations on sets of {@link Vertex} (vertices) stored one bit per
+ * {@link Vertex} in longs, indexed the same as in {@link Occupancy}, so a
+ * whole row of the {@link Board} is tested or moved at once. Several sets of
+ * the same size can share one array, each taking a slot of a fixed number of
+ * words
+ *
+ * <p>
+ * Moving every bit of a set by one column or one row is a shift of the whole
+ * set by 1 or by the number of columns. A shift by one column carries the
+ * bit at the end of each row onto the start of the next, so the result is
+ * masked to drop the columns that wrapped
+ *
+ * @author Jacob
+ *
+ */
+public class Bitboard {
+
+	/**
+	 *
+	 * @param bits
+	 *            the number of bits in a set
+	 * @return the number of words a set takes
+	 */
+	public static int getWords(int bits) {
+		return (bits + 63) >>> 6;
+	}
+
+	/**
+	 *
+	 * @param bits
+	 *            the array of sets
+	 * @param index
+	 *            the index of the bit, counting every slot before it
+	 * @return true if the bit is set
+	 */
+	public static boolean get(long[] bits, int index) {
+		return (bits[index >>> 6] & 1L << index) != 0;
+	}
+
+	/**
+	 * Sets or clears a bit
+	 *
+	 * @param bits
+	 *            the array of sets
+	 * @param index
+	 *            the index of the bit, counting every slot before it
+	 * @param value
+	 *            true to set the bit, false to clear it
+	 */
+	public static void set(long[] bits, int index, boolean value) {
+		if (value) {
+			bits[index >>> 6] |= 1L << index;
+		} else {
+			bits[index >>> 6] &= ~(1L << index);
+		}
+	}
+
+	/**
+	 * Reads one word of a set as if the whole set had been shifted, bits
+	 * shifted in from outside the set being 0
+	 *
+	 * @param bits
+	 *            the array of sets
+	 * @param offset
+	 *            the first word of the set
+	 * @param words
+	 *            the number of words in the set
+	 * @param word
+	 *            the word to read, from 0
+	 * @param shift
+	 *            the number of bits to shift by, positive towards higher
+	 *            indices and negative towards lower ones
+	 * @return the word of the shifted set
+	 */
+	public static long getShifted(long[] bits, int offset, int words, int word, int shift) {
+		if (shift >= 0) {
+			int source = word - (shift >>> 6);
+			int remainder = shift & 63;
+			long low = source >= 0 && source < words ? bits[offset + source] : 0;
+			if (remainder == 0) {
+				return low;
+			}
+			long carry = source > 0 && source <= words ? bits[offset + source - 1] : 0;
+			return low << remainder | carry >>> (64 - remainder);
+		}
+		int source = word + (-shift >>> 6);
+		int remainder = -shift & 63;
+		long high = source >= 0 && source < words ? bits[offset + source] : 0;
+		if (remainder == 0) {
+			return high;
+		}
+		long carry = source + 1 < words ? bits[offset + source + 1] : 0;
+		return high >>> remainder | carry << (64 - remainder);
+	}
+
+	/**
+	 *
+	 * @param bits
+	 *            the array of sets
+	 * @param offset
+	 *            the first word of the set
+	 * @param words
+	 *            the number of words in the set
+	 * @param from
+	 *            the first bit of the set to look at, from 0
+	 * @return the first set bit of the set at or after from, -1 if there is
+	 *         none
+	 */
+	public static int nextSetBit(long[] bits, int offset, int words, int from) {
+		int word = from >>> 6;
+		if (word >= words) {
+			return -1;
+		}
+		long remaining = bits[offset + word] & -1L << from;
+		while (remaining == 0) {
+			if (++word == words) {
+				return -1;
+			}
+			remaining = bits[offset + word];
+		}
+		return (word << 6) + Long.numberOfTrailingZeros(remaining);
+	}
+
+	/**
+	 *
+	 * @param bits
+	 *            the array of sets
+	 * @param offset
+	 *            the first word of the set
+	 * @param words
+	 *            the number of words in the set
+	 * @return the number of set bits in the set
+	 */
+	public static int count(long[] bits, int offset, int words) {
+		int count = 0;
+		for (int word = 0; word < words; word++) {
+			count += Long.bitCount(bits[offset + word]);
+		}
+		return count;
+	}
+
+}
@@ -1,30 +1,36 @@
 package catan.engine.board;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 import catan.Catan;
 import catan.engine.board.objects.BoardObject;
 import catan.engine.board.objects.BoardObjectConsumer;
 import catan.engine.board.objects.BoardObjectMatcher;
+import catan.engine.board.objects.BoardObjectNotInitializedException;
 import catan.engine.board.objects.InvalidLocationException;
+import catan.engine.board.objects.Productive;
+import catan.engine.board.objects.VertexObject;
 import catan.engine.board.objects.buildings.City;
 import catan.engine.board.objects.buildings.Road;
 import catan.engine.board.objects.buildings.Village;
-import catan.engine.board.objects.buildings.construction.ConstructRoad;
-import catan.engine.board.objects.buildings.construction.ConstructVillage;
-import catan.engine.board.objects.buildings.construction.UpgradeVillage;
 import catan.engine.board.tile.Edge;
 import catan.engine.board.tile.Tile;
 import catan.engine.board.tile.TileNotInitializedException;
 import catan.engine.board.tile.TileType;
 import catan.engine.board.tile.Vertex;
+import catan.engine.board.tile.VertexNotInitializedException;
+import catan.engine.moves.CandidateMove;
 import catan.engine.moves.Move;
-import catan.engine.moves.PurchaseMove;
+import catan.engine.moves.UndoStack;
 import catan.engine.player.Player;
+import catan.engine.resources.PackedResources;
 import catan.engine.resources.PurchaseCosts;
 import catan.engine.resources.ResourceBundle;
 import catan.engine.resources.ResourceMetric;
 import catan.engine.resources.trading.TradeExchange;
+import catan.engine.resources.trading.TradeTable;
 
 /**
  * Class representing the board for a game of {@link Catan} Tile positions are
@@ -40,8 +46,19 @@ public class Board {
 	public static final int[] MAXIMUM_BOARD_DIMENSIONS = new int[] { 255, 255 };
 
 	protected Tile[][] m_tileMap;
-	protected ArrayList<BoardObject> m_objects = new ArrayList<BoardObject>();
+	private volatile ObjectSnapshot m_objects = ObjectSnapshot.EMPTY;
+	private Object m_writeLock = new Object();
+	private Occupancy m_occupancy;
+	private BoardTopology m_topology;
+	private ProductionIndex m_production;
+	private VertexObject[] m_buildings;
+	private Vertex[] m_vertices;
+	private Edge[] m_edges;
+	private ArrayList<Player> m_players = new ArrayList<Player>();
 	private BoardObjectConsumer m_objectAddedListener;
+	private BoardObjectConsumer m_objectRemovedListener;
+	private Runnable m_layoutChangedListener;
+	private volatile int m_layoutVersion = 0;
 
 	/**
 	 * 
@@ -59,9 +76,22 @@ public class Board {
 	 * @return a random, landlocked {@link Board}
 	 */
 	public static Board randomLandBoard(int[] dimensions) {
+		return randomLandBoard(dimensions, new SplittableRandom());
+	}
+
+	/**
+	 * 
+	 * @param dimensions
+	 *            an int array containing the dimensions of the board you would
+	 *            like to generate {row, col}
+	 * @param random
+	 *            the source of randomness to generate the board from
+	 * @return a random, landlocked {@link Board}
+	 */
+	public static Board randomLandBoard(int[] dimensions, SplittableRandom random) {
 		int tileNum = dimensions[0] * dimensions[1];
-		int[] frequencies = Tile.getFrequencies(tileNum);
-		TileType[] types = TileType.getTileTypes(tileNum, TileType.COAST, TileType.OCEAN);
+		int[] frequencies = Tile.getFrequencies(tileNum, random);
+		TileType[] types = TileType.getTileTypes(tileNum, random, TileType.COAST, TileType.OCEAN);
 		Tile[][] map = new Tile[dimensions[0]][dimensions[1]];
 		for (int row = 0; row < dimensions[0]; row++) {
 			for (int col = 0; col < dimensions[1]; col++) {
@@ -80,6 +110,66 @@ public class Board {
 	 */
 	public Board(Tile[][] map) {
 		m_tileMap = map;
+		initialize();
+	}
+
+	/**
+	 * Builds the canonical {@link Vertex} and {@link Edge} instances, the
+	 * {@link BoardTopology} and an empty {@link Occupancy} for the current
+	 * dimensions of this {@link Board}
+	 */
+	protected void initialize() {
+		layoutChanged();
+		int rows = m_tileMap.length + 1;
+		int columns = m_tileMap.length == 0 ? 1 : m_tileMap[0].length + 1;
+		m_occupancy = new Occupancy(rows, columns);
+		m_topology = BoardTopology.get(rows - 1, columns - 1);
+		m_production = new ProductionIndex();
+		m_buildings = new VertexObject[rows * columns];
+
+		m_vertices = new Vertex[rows * columns];
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < columns; col++) {
+				int id = m_occupancy.vertexIndex(row, col);
+				m_vertices[id] = new Vertex(row, col, this, id);
+			}
+		}
+
+		// slots for the horizontal edge off the last column and the vertical
+		// edge off the last row are left empty
+		m_edges = new Edge[2 * rows * columns];
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < columns; col++) {
+				if (col + 1 < columns) {
+					int id = m_occupancy.edgeIndex(row, col, row, col + 1);
+					m_edges[id] = new Edge(getVertex(row, col), getVertex(row, col + 1), id);
+				}
+				if (row + 1 < rows) {
+					int id = m_occupancy.edgeIndex(row, col, row + 1, col);
+					m_edges[id] = new Edge(getVertex(row, col), getVertex(row + 1, col), id);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Records that the {@link Tile}s or dimensions of this {@link Board} have
+	 * changed, so anything drawn from them must be redrawn
+	 */
+	protected void layoutChanged() {
+		m_layoutVersion++;
+		if (m_layoutChangedListener != null) {
+			m_layoutChangedListener.run();
+		}
+	}
+
+	/**
+	 * 
+	 * @return a number that changes every time the {@link Tile}s or dimensions
+	 *         of this {@link Board} change
+	 */
+	public int getLayoutVersion() {
+		return m_layoutVersion;
 	}
 
 	/**
@@ -158,24 +248,37 @@ public class Board {
 	 *             if a {@link Tile} has not been initialized
 	 */
 	public Tile[] getAdjacentTiles(int row, int col) throws TileNotInitializedException {
-		ArrayList<Tile> tiles = new ArrayList<Tile>();
-		for (int i = -1; i <= 1; i++) {
-			for (int j = -1; j <= 1; j++) {
-				try {
-					Tile tile = m_tileMap[row + i][col + j];
-					if (tile == null) {
-						throw new TileNotInitializedException(row, col);
-					}
-					tiles.add(tile);
-				} catch (ArrayIndexOutOfBoundsException e) {
-				}
-			}
+		int id = row * m_topology.getTileColumns() + col;
+		int start = m_topology.getTileTileOffsets()[id];
+		Tile[] output = new Tile[m_topology.getTileTileOffsets()[id + 1] - start];
+		for (int i = 0; i < output.length; i++) {
+			output[i] = getTile(m_topology.getTileTiles()[start + i]);
 		}
-		Tile[] output = new Tile[tiles.size()];
-		output = tiles.toArray(output);
 		return output;
 	}
 
+	/**
+	 * Gets the {@link Tile} with the specified id
+	 * 
+	 * @param id
+	 *            the id of the {@link Tile}, row * columns + column
+	 * @return the {@link Tile}
+	 * @throws TileNotInitializedException
+	 *             if the tile has not been initialized
+	 */
+	public Tile getTile(int id) throws TileNotInitializedException {
+		return getTileAt(id / m_topology.getTileColumns(), id % m_topology.getTileColumns());
+	}
+
+	/**
+	 * 
+	 * @return the {@link BoardTopology} holding the neighbour tables for this
+	 *         {@link Board}
+	 */
+	public BoardTopology getTopology() {
+		return m_topology;
+	}
+
 	/**
 	 * Gets all {@link Tile}s on this {@link Board} of the specified
 	 * {@link TileType}
@@ -234,7 +337,10 @@ public class Board {
 	 *            the {@link BoardObject} to add
 	 */
 	public void addObject(BoardObject object) {
-		m_objects.add(object);
+		synchronized (m_writeLock) {
+			updateIndices(object, true);
+			m_objects = m_objects.with(object);
+		}
 		if (m_objectAddedListener != null) {
 			m_objectAddedListener.consume(object);
 		}
@@ -247,7 +353,162 @@ public class Board {
 	 *            the {@link BoardObject} to remove
 	 */
 	public void removeObject(BoardObject object) {
-		m_objects.remove(object);
+		synchronized (m_writeLock) {
+			ObjectSnapshot objects = m_objects.without(object);
+			if (objects == m_objects) {
+				return;
+			}
+			updateIndices(object, false);
+			m_objects = objects;
+		}
+		if (m_objectRemovedListener != null) {
+			m_objectRemovedListener.consume(object);
+		}
+	}
+
+	/**
+	 * Replaces a {@link BoardObject} on the {@link Board} with another in a
+	 * single change, so no reader ever sees neither or both of them
+	 * 
+	 * @param object
+	 *            the {@link BoardObject} to remove
+	 * @param replacement
+	 *            the {@link BoardObject} to add in its place
+	 */
+	public void replaceObject(BoardObject object, BoardObject replacement) {
+		synchronized (m_writeLock) {
+			ObjectSnapshot objects = m_objects.replace(object, replacement);
+			if (objects == m_objects) {
+				return;
+			}
+			updateIndices(object, false);
+			updateIndices(replacement, true);
+			m_objects = objects;
+		}
+		if (m_objectRemovedListener != null) {
+			m_objectRemovedListener.consume(object);
+		}
+		if (m_objectAddedListener != null) {
+			m_objectAddedListener.consume(replacement);
+		}
+	}
+
+	/**
+	 * Records the addition or removal of a {@link BoardObject} in the
+	 * {@link Occupancy} and {@link ProductionIndex} of this {@link Board}
+	 * 
+	 * @param object
+	 *            the {@link BoardObject} added or removed
+	 * @param added
+	 *            true if the {@link BoardObject} was added, false if it was
+	 *            removed
+	 */
+	private void updateIndices(BoardObject object, boolean added) {
+		try {
+			if (object instanceof Village || object instanceof City) {
+				Vertex position = ((VertexObject) object).getPosition();
+				byte building = !added ? Occupancy.EMPTY : object instanceof City ? Occupancy.CITY : Occupancy.VILLAGE;
+				m_occupancy.setBuilding(position.getRow(), position.getColumn(), building,
+						added ? getPlayerId(object.getOwner()) : 0);
+				if (position.getId() != -1) {
+					m_buildings[position.getId()] = added ? (VertexObject) object : null;
+				}
+			} else if (object instanceof Road) {
+				Edge position = ((Road) object).getPosition();
+				m_occupancy.setRoad(position.getVertex1().getRow(), position.getVertex1().getColumn(),
+						position.getVertex2().getRow(), position.getVertex2().getColumn(),
+						added ? getPlayerId(object.getOwner()) : 0);
+			}
+
+			if (object instanceof Productive) {
+				m_occupancy.addMetric(getPlayerId(object.getOwner()),
+						((Productive) object).getMetric().getRawMetric(), added ? 1 : -1);
+			}
+
+			if (object instanceof Productive && ((VertexObject) object).getPosition().getId() != -1) {
+				int vertex = ((VertexObject) object).getPosition().getId();
+				if (!added) {
+					m_production.remove(vertex);
+					return;
+				}
+				int owner = getPlayerId(object.getOwner());
+				int amount = ((Productive) object).getProductivity();
+				int[] offsets = m_topology.getVertexTileOffsets();
+				for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+					Tile tile = getTile(m_topology.getVertexTiles()[i]);
+					int resource = tile.getTileType().getResource();
+					if (resource != ResourceBundle.NULL && tile.getFrequency() >= Tile.FREQUENCY_MIN
+							&& tile.getFrequency() <= Tile.FREQUENCY_MAX) {
+						m_production.add(tile.getFrequency(), ProductionIndex.pack(vertex, owner, resource, amount));
+					}
+				}
+			}
+		} catch (BoardObjectNotInitializedException | TileNotInitializedException | BoardNotInitializedException
+				| VertexNotInitializedException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * 
+	 * @return the {@link ProductionIndex} of every payout on this
+	 *         {@link Board}
+	 */
+	public ProductionIndex getProductionIndex() {
+		return m_production;
+	}
+
+	/**
+	 * 
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 * @return the {@link Village} or {@link City} on the specified
+	 *         {@link Vertex}, null if there is none
+	 */
+	public VertexObject getBuilding(int vertex) {
+		return m_buildings[vertex];
+	}
+
+	/**
+	 * 
+	 * @return the {@link Occupancy} of every {@link Vertex} and {@link Edge}
+	 *         on this {@link Board}
+	 */
+	public Occupancy getOccupancy() {
+		return m_occupancy;
+	}
+
+	/**
+	 * Gets the id used to identify the specified {@link Player} in the
+	 * {@link Occupancy} of this {@link Board}, assigning the next free id if
+	 * the {@link Player} has none yet
+	 * 
+	 * @param player
+	 *            the {@link Player}
+	 * @return the id of the {@link Player}, 0 if the {@link Player} is null
+	 */
+	public int getPlayerId(Player player) {
+		if (player == null) {
+			return 0;
+		}
+		int index = m_players.indexOf(player);
+		if (index == -1) {
+			index = m_players.size();
+			m_players.add(player);
+		}
+		return index + 1;
+	}
+
+	/**
+	 * 
+	 * @param id
+	 *            the id of the {@link Player}
+	 * @return the {@link Player} with the specified id, null if no
+	 *         {@link Player} has that id
+	 */
+	public Player getPlayer(int id) {
+		return id < 1 || id > m_players.size() ? null : m_players.get(id - 1);
 	}
 
 	/**
@@ -255,9 +516,16 @@ public class Board {
 	 * @return an array containing all {@link BoardObject}s on the board
 	 */
 	public BoardObject[] getObjects() {
-		BoardObject[] output = new BoardObject[m_objects.size()];
-		output = m_objects.toArray(output);
-		return output;
+		return m_objects.toArray();
+	}
+
+	/**
+	 * 
+	 * @return the current {@link ObjectSnapshot} of every {@link BoardObject}
+	 *         on the board, which can be iterated without locking
+	 */
+	public ObjectSnapshot getObjectSnapshot() {
+		return m_objects;
 	}
 
 	/**
@@ -266,11 +534,45 @@ public class Board {
 	 *            the row the {@link Vertex} is on
 	 * @param column
 	 *            the column the {@link Vertex} is on
-	 * @return a {@link Vertex} with the specified row and column for this
-	 *         {@link Board}
+	 * @return the canonical {@link Vertex} with the specified row and column
+	 *         for this {@link Board}, or a new {@link Vertex} if the position
+	 *         is not on this {@link Board}
 	 */
 	public Vertex getVertex(int row, int column) {
-		return new Vertex(row, column, this);
+		int id = getVertexId(row, column);
+		return id == -1 ? new Vertex(row, column, this, -1) : m_vertices[id];
+	}
+
+	/**
+	 * 
+	 * @param id
+	 *            the id of the {@link Vertex}
+	 * @return the canonical {@link Vertex} with the specified id
+	 */
+	public Vertex getVertex(int id) {
+		return m_vertices[id];
+	}
+
+	/**
+	 * 
+	 * @param row
+	 *            the row the {@link Vertex} is on
+	 * @param column
+	 *            the column the {@link Vertex} is on
+	 * @return the id of the {@link Vertex} at the specified position, -1 if it
+	 *         is not on this {@link Board}
+	 */
+	public int getVertexId(int row, int column) {
+		return m_occupancy.contains(row, column) ? m_occupancy.vertexIndex(row, column) : -1;
+	}
+
+	/**
+	 * 
+	 * @return the number of {@link Vertex} (vertices) on this {@link Board},
+	 *         every {@link Vertex} id is less than this
+	 */
+	public int getVertexCount() {
+		return m_vertices.length;
 	}
 
 	/**
@@ -279,10 +581,65 @@ public class Board {
 	 *            the first point the {@link Edge} is on {row, col}
 	 * @param point2
 	 *            the second point the {@link Edge} is on {row, col}
-	 * @return a {@link Edge} between these two points on this {@link Board}
+	 * @return the canonical {@link Edge} between these two points on this
+	 *         {@link Board}, or a new {@link Edge} if the points are not
+	 *         adjacent {@link Vertex} (vertices) on this {@link Board}
 	 */
 	public Edge getEdge(int[] point1, int[] point2) {
-		return new Edge(point1, point2, this);
+		return getEdge(getVertex(point1[0], point1[1]), getVertex(point2[0], point2[1]));
+	}
+
+	/**
+	 * 
+	 * @param vertex1
+	 *            the first {@link Vertex} the {@link Edge} is on
+	 * @param vertex2
+	 *            the second {@link Vertex} the {@link Edge} is on
+	 * @return the canonical {@link Edge} between these two {@link Vertex}
+	 *         (vertices) on this {@link Board}, or a new {@link Edge} if they
+	 *         are not adjacent {@link Vertex} (vertices) on this {@link Board}
+	 */
+	public Edge getEdge(Vertex vertex1, Vertex vertex2) {
+		int id = getEdgeId(vertex1.getRow(), vertex1.getColumn(), vertex2.getRow(), vertex2.getColumn());
+		return id == -1 ? new Edge(vertex1, vertex2, -1) : m_edges[id];
+	}
+
+	/**
+	 * 
+	 * @param id
+	 *            the id of the {@link Edge}
+	 * @return the canonical {@link Edge} with the specified id, null if no
+	 *         {@link Edge} has that id
+	 */
+	public Edge getEdge(int id) {
+		return m_edges[id];
+	}
+
+	/**
+	 * 
+	 * @param row1
+	 *            the row of the first {@link Vertex}
+	 * @param col1
+	 *            the column of the first {@link Vertex}
+	 * @param row2
+	 *            the row of the second {@link Vertex}
+	 * @param col2
+	 *            the column of the second {@link Vertex}
+	 * @return the id of the {@link Edge} between both {@link Vertex}
+	 *         (vertices), -1 if they are not adjacent on this {@link Board}
+	 */
+	public int getEdgeId(int row1, int col1, int row2, int col2) {
+		return m_occupancy.edgeIndex(row1, col1, row2, col2);
+	}
+
+	/**
+	 * 
+	 * @return the size of the {@link Edge} id space of this {@link Board},
+	 *         every {@link Edge} id is less than this, though not every id
+	 *         below it belongs to an {@link Edge}
+	 */
+	public int getEdgeCount() {
+		return m_edges.length;
 	}
 
 	/**
@@ -326,6 +683,27 @@ public class Board {
 		m_objectAddedListener = listener;
 	}
 
+	/**
+	 * Sets the code to run when an object is removed from this {@link Board}
+	 * 
+	 * @param listener
+	 *            the {@link ObjectConsumer} to run
+	 */
+	public void setObjectRemovedListener(BoardObjectConsumer listener) {
+		m_objectRemovedListener = listener;
+	}
+
+	/**
+	 * Sets the code to run when the {@link Tile}s or dimensions of this
+	 * {@link Board} change
+	 * 
+	 * @param listener
+	 *            {@link Runnable} containing the code to run
+	 */
+	public void setLayoutChangedListener(Runnable listener) {
+		m_layoutChangedListener = listener;
+	}
+
 	/**
 	 * Gets all moves available to a single {@link Player}
 	 * 
@@ -338,33 +716,261 @@ public class Board {
 	 *             if location supplied to any {@link Move} is invalid
 	 */
 	public Move[] getMovesForPlayer(Player player) throws BoardNotInitializedException, InvalidLocationException {
-		ArrayList<Move> moves = new ArrayList<Move>();
-		if (player.getResources().greaterOrEqualTo(PurchaseCosts.VILLAGE_COST)
-				|| TradeExchange.getTradeStats(player.getResources(), PurchaseCosts.VILLAGE_COST).m_tradeAffordable) {
-			for (Vertex vertex : Village.getValidLocations(this, player)) {
-				moves.add(new PurchaseMove(new ConstructVillage(new Village(player, vertex)), player));
+		int[] codes = getMoveCodes(player);
+		Move[] output = new Move[codes.length];
+		for (int i = 0; i < codes.length; i++) {
+			output[i] = new CandidateMove(codes[i], this);
+		}
+		return output;
+	}
+
+	/**
+	 * Gets all moves available to a single {@link Player}, encoded as by
+	 * {@link CandidateMove#encode(int, int, int)}. Only the {@link Occupancy}
+	 * is read, a {@link Bitboard} word at a time, no {@link BoardObject}s are
+	 * created
+	 * 
+	 * @param player
+	 *            the {@link Player}
+	 * @return array containing the encoded moves
+	 * @throws BoardNotInitializedException
+	 *             if this {@link Board} has not been initialized
+	 */
+	public int[] getMoveCodes(Player player) throws BoardNotInitializedException {
+		if (m_occupancy == null) {
+			throw new BoardNotInitializedException();
+		}
+
+		int id = getPlayerId(player);
+		int[] codes = new int[16];
+		int size = 0;
+		int words = m_occupancy.getWords();
+		long[] locations = new long[words];
+		long[] vertical = new long[words];
+
+		if (TradeTable.VILLAGE.isAffordable(player.getResources())) {
+			m_occupancy.getVillageLocations(id, locations);
+			for (int vertex = Bitboard.nextSetBit(locations, 0, words, 0); vertex != -1; vertex = Bitboard
+					.nextSetBit(locations, 0, words, vertex + 1)) {
+				if (size == codes.length) {
+					codes = Arrays.copyOf(codes, 2 * size);
+				}
+				codes[size++] = CandidateMove.encode(CandidateMove.VILLAGE, id, vertex);
 			}
 		}
 
-		if (player.getResources().greaterOrEqualTo(PurchaseCosts.CITY_COST)
-				|| TradeExchange.getTradeStats(player.getResources(), PurchaseCosts.CITY_COST).m_tradeAffordable) {
-			for (BoardObject village : getAllObjectsMatching((object) -> {
-				return object instanceof Village && ((Village) object).getOwner() == player;
-			})) {
-				moves.add(new PurchaseMove(new UpgradeVillage((Village) village), player));
+		if (TradeTable.CITY.isAffordable(player.getResources())) {
+			m_occupancy.getCityLocations(id, locations);
+			for (int vertex = Bitboard.nextSetBit(locations, 0, words, 0); vertex != -1; vertex = Bitboard
+					.nextSetBit(locations, 0, words, vertex + 1)) {
+				if (size == codes.length) {
+					codes = Arrays.copyOf(codes, 2 * size);
+				}
+				codes[size++] = CandidateMove.encode(CandidateMove.CITY, id, vertex);
 			}
 		}
 
-		if (player.getResources().greaterOrEqualTo(PurchaseCosts.ROAD_COST)
-				|| TradeExchange.getTradeStats(player.getResources(), PurchaseCosts.ROAD_COST).m_tradeAffordable) {
-			for (Edge edge : Road.getValidLocations(this, player)) {
-				moves.add(new PurchaseMove(new ConstructRoad(new Road(player, edge)), player));
+		if (TradeTable.ROAD.isAffordable(player.getResources())) {
+			m_occupancy.getRoadLocations(id, locations, vertical);
+			for (int vertex = Bitboard.nextSetBit(locations, 0, words, 0); vertex != -1; vertex = Bitboard
+					.nextSetBit(locations, 0, words, vertex + 1)) {
+				if (size == codes.length) {
+					codes = Arrays.copyOf(codes, 2 * size);
+				}
+				codes[size++] = CandidateMove.encode(CandidateMove.ROAD, id, vertex);
+			}
+			// vertical edges are numbered after every horizontal edge
+			int vertices = m_occupancy.getRows() * m_occupancy.getColumns();
+			for (int vertex = Bitboard.nextSetBit(vertical, 0, words, 0); vertex != -1; vertex = Bitboard
+					.nextSetBit(vertical, 0, words, vertex + 1)) {
+				if (size == codes.length) {
+					codes = Arrays.copyOf(codes, 2 * size);
+				}
+				codes[size++] = CandidateMove.encode(CandidateMove.ROAD, id, vertices + vertex);
 			}
 		}
 
-		Move[] output = new Move[moves.size()];
-		output = moves.toArray(output);
-		return output;
+		return Arrays.copyOf(codes, size);
+	}
+
+	/**
+	 * Makes a move on the {@link Occupancy} and {@link ProductionIndex} of this
+	 * {@link Board} and on the resources of the moving {@link Player}, pushing
+	 * everything changed onto an {@link UndoStack} so {@link #unmake(UndoStack)}
+	 * can take it back. No {@link BoardObject} is created, no listener is told
+	 * and the move is not checked, so it must be one found by
+	 * {@link #getMoveCodes(Player)}. The {@link Player} pays as
+	 * {@link TradeExchange#getTradeStats(ResourceBundle, ResourceBundle)} would
+	 * have them. Every move made must be unmade before this {@link Board} is
+	 * played on normally again
+	 * 
+	 * @param move
+	 *            the encoded move
+	 * @param undo
+	 *            the {@link UndoStack} to record the changes on
+	 */
+	public void make(int move, UndoStack undo) {
+		int player = CandidateMove.getPlayer(move);
+		int location = CandidateMove.getLocation(move);
+		undo.begin();
+		pay(player, CandidateMove.getCost(move), undo);
+
+		switch (CandidateMove.getType(move)) {
+		case CandidateMove.VILLAGE:
+		case CandidateMove.CITY:
+			undo.push(UndoStack.building(location, m_occupancy.getBuilding(location),
+					m_occupancy.getVertexOwner(location)));
+			placeBuilding(location,
+					CandidateMove.getType(move) == CandidateMove.VILLAGE ? Occupancy.VILLAGE : Occupancy.CITY, player);
+			break;
+		default:
+			undo.push(UndoStack.road(location, m_occupancy.getEdgeOwner(location)));
+			m_occupancy.setRoad(location, player);
+		}
+	}
+
+	/**
+	 * Takes back the last move made with {@link #make(int, UndoStack)}
+	 * 
+	 * @param undo
+	 *            the {@link UndoStack} the move was recorded on
+	 */
+	public void unmake(UndoStack undo) {
+		while (undo.hasRecords()) {
+			long record = undo.pop();
+			switch (UndoStack.getKind(record)) {
+			case UndoStack.RESOURCE:
+				getPlayer(UndoStack.getOwner(record)).getResources().adjust(UndoStack.getDetail(record),
+						-UndoStack.getValue(record));
+				break;
+			case UndoStack.BUILDING:
+				placeBuilding(UndoStack.getValue(record), (byte) UndoStack.getDetail(record),
+						UndoStack.getOwner(record));
+				break;
+			default:
+				m_occupancy.setRoad(UndoStack.getValue(record), UndoStack.getOwner(record));
+			}
+		}
+		undo.end();
+	}
+
+	/**
+	 * Charges a {@link Player} for a cost, first trading surplus resources with
+	 * the bank for any that are missing. Resources are traded away as planned
+	 * by {@link TradeTable#getTradePlan(long, long)}, the same trades
+	 * {@link TradeExchange#getTradeStats(ResourceBundle, ResourceBundle)} finds
+	 * 
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @param cost
+	 *            the cost
+	 * @param undo
+	 *            the {@link UndoStack} to record the changes on
+	 */
+	private void pay(int player, ResourceBundle cost, UndoStack undo) {
+		ResourceBundle resources = getPlayer(player).getResources();
+		long trades = TradeTable.getTradePlan(resources.getPacked(), cost.getPacked());
+		for (int i = 0; i < ResourceBundle.RESOURCE_NUMBER; i++) {
+			adjust(player, i, -PackedResources.get(trades, i) * PurchaseCosts.TRADEEXCHANGE_COST, undo);
+		}
+
+		for (int i = 0; i < ResourceBundle.RESOURCE_NUMBER; i++) {
+			int deficit = Math.max(0, cost.get(i) - resources.get(i));
+			adjust(player, i, deficit * PurchaseCosts.TRADEEXCHANGE_YIELD - cost.get(i), undo);
+		}
+	}
+
+	/**
+	 * Adds to a resource of a {@link Player} without running its change
+	 * listener, recording the change
+	 * 
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @param resource
+	 *            the resource
+	 * @param amount
+	 *            the amount to add, negative to remove
+	 * @param undo
+	 *            the {@link UndoStack} to record the change on
+	 */
+	private void adjust(int player, int resource, int amount, UndoStack undo) {
+		if (amount != 0) {
+			getPlayer(player).getResources().adjust(resource, amount);
+			undo.push(UndoStack.resource(player, resource, amount));
+		}
+	}
+
+	/**
+	 * Replaces whatever building is on a {@link Vertex} in the
+	 * {@link Occupancy}, moving its production metric and payouts over to the
+	 * new building
+	 * 
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 * @param building
+	 *            the new building, as in {@link Occupancy}
+	 * @param owner
+	 *            the id of the owner of the new building
+	 */
+	private void placeBuilding(int vertex, byte building, int owner) {
+		byte previous = m_occupancy.getBuilding(vertex);
+		if (previous != Occupancy.EMPTY) {
+			addProduction(vertex, m_occupancy.getVertexOwner(vertex), getProductivity(previous), -1);
+			m_production.remove(vertex);
+		}
+		int columns = m_occupancy.getColumns();
+		m_occupancy.setBuilding(vertex / columns, vertex % columns, building, owner);
+		if (building != Occupancy.EMPTY) {
+			addProduction(vertex, owner, getProductivity(building), 1);
+		}
+	}
+
+	/**
+	 * Adds or removes the production metric of a building, and adds its
+	 * payouts to the {@link ProductionIndex}, the same as
+	 * {@link #updateIndices(BoardObject, boolean)} does for the
+	 * {@link BoardObject}
+	 * 
+	 * @param vertex
+	 *            the id of the {@link Vertex} the building is on
+	 * @param owner
+	 *            the id of the owner
+	 * @param amount
+	 *            the amount produced per resource
+	 * @param sign
+	 *            1 to add, -1 to remove the metric only
+	 */
+	private void addProduction(int vertex, int owner, int amount, int sign) {
+		try {
+			int[] offsets = m_topology.getVertexTileOffsets();
+			for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+				Tile tile = getTile(m_topology.getVertexTiles()[i]);
+				int resource = tile.getTileType().getResource();
+				if (resource == ResourceBundle.NULL) {
+					continue;
+				}
+				m_occupancy.addMetric(owner, resource,
+						sign * amount * Tile.getFrequencyProbability(tile.getFrequency()));
+				if (sign > 0 && tile.getFrequency() >= Tile.FREQUENCY_MIN
+						&& tile.getFrequency() <= Tile.FREQUENCY_MAX) {
+					m_production.add(tile.getFrequency(), ProductionIndex.pack(vertex, owner, resource, amount));
+				}
+			}
+		} catch (TileNotInitializedException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * 
+	 * @param building
+	 *            the building, {@link Occupancy#VILLAGE} or
+	 *            {@link Occupancy#CITY}
+	 * @return the amount the building produces per resource
+	 */
+	private static int getProductivity(byte building) {
+		return building == Occupancy.CITY ? City.PRODUCTIVITY : Village.PRODUCTIVITY;
 	}
 
 	/**
@@ -437,42 +1043,27 @@ public class Board {
 		return getTileValue(getHighestVictoryPoints(), row, col, metric);
 	}
 
+	/**
+	 * 
+	 * @return the hash of the buildings and {@link Road}s on this
+	 *         {@link Board} and the resources of every {@link Player} on it,
+	 *         see {@link ZobristKeys}
+	 */
+	public long getHash() {
+		long hash = m_occupancy.getHash();
+		for (int i = 0; i < m_players.size(); i++) {
+			hash ^= ZobristKeys.getPlayerKey(m_players.get(i).getResources().getHash(), i + 1);
+		}
+		return hash;
+	}
+
 	/**
 	 * 
 	 * @return the highest number of victory points possessed by any
 	 *         {@link Player} on this {@link Board}
 	 */
 	public int getHighestVictoryPoints() {
-		ArrayList<Player> players = new ArrayList<Player>();
-		ArrayList<Integer> points = new ArrayList<Integer>();
-
-		for (BoardObject object : getObjects()) {
-			if (object.getOwner() != null) {
-				int index = -1;
-				if (!players.contains(object)) {
-					index = players.size();
-					players.add(object.getOwner());
-					points.add(0);
-				}
-				if (object instanceof Village) {
-					if (index == -1) {
-						index = players.indexOf(object.getOwner());
-					}
-					points.set(index, points.get(index) + Village.VICTORY_POINTS);
-				} else if (object instanceof City) {
-					if (index == -1) {
-						index = players.indexOf(object.getOwner());
-					}
-					points.set(index, points.get(index) + City.VICTORY_POINTS);
-				}
-			}
-		}
-
-		int max = 0;
-		for (Integer i : points) {
-			max = Math.max(max, i);
-		}
-		return max;
+		return m_occupancy.getHighestVictoryPoints();
 	}
 
 	@Override
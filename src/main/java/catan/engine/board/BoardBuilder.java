@@ -46,6 +46,7 @@ public class BoardBuilder extends Board {
 	public void setTileAt(int row, int col, int frequency, TileType tileType) throws TileNotInitializedException {
 		getTileAt(row, col).setTileType(tileType);
 		getTileAt(row, col).setFrequency(frequency);
+		layoutChanged();
 		if (tileType == TileType.OCEAN) {
 			return;
 		}
@@ -54,6 +55,7 @@ public class BoardBuilder extends Board {
 				tile.setTileType(TileType.COAST);
 			}
 		}
+		layoutChanged();
 	}
 
 	/**
@@ -67,6 +69,7 @@ public class BoardBuilder extends Board {
 	 */
 	public void setDimensions(int rows, int columns) {
 		m_tileMap = new Tile[rows][columns];
+		initialize();
 
 		int[] frequencies = Tile.getFrequencies(m_tileMap.length * m_tileMap[0].length);
 
@@ -75,6 +78,7 @@ public class BoardBuilder extends Board {
 				m_tileMap[row][col] = new Tile(frequencies[row * m_tileMap[0].length + col], TileType.OCEAN);
 			}
 		}
+		layoutChanged();
 	}
 
 	/**
@@ -0,0 +1,334 @@
+package catan.engine.board;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import catan.engine.board.tile.Edge;
+import catan.engine.board.tile.Tile;
+import catan.engine.board.tile.Vertex;
+
+/**
+ * Immutable neighbour tables for every {@link Tile}, {@link Vertex} and
+ * {@link Edge} of a {@link Board} of a given size, stored in compressed sparse
+ * row form. The neighbours of element i are the entries from offsets[i] up
+ * to, but not including, offsets[i + 1] of the matching neighbour array. The
+ * tables depend only on the dimensions of a {@link Board}, so a single
+ * instance is shared by every {@link Board} of the same size
+ *
+ * <p>
+ * {@link Tile} and {@link Vertex} ids are row * columns + column. {@link Edge}
+ * ids follow {@link Occupancy#edgeIndex(int, int, int, int)}
+ *
+ * @author Jacob
+ *
+ */
+public class BoardTopology {
+
+	private static final ConcurrentHashMap<Long, BoardTopology> TOPOLOGIES = new ConcurrentHashMap<Long, BoardTopology>();
+
+	private int m_tileRows;
+	private int m_tileColumns;
+	private int m_vertexRows;
+	private int m_vertexColumns;
+
+	private int[] m_vertexTileOffsets;
+	private int[] m_vertexTiles;
+	private int[] m_vertexVertexOffsets;
+	private int[] m_vertexVertices;
+	private int[] m_edgeEdgeOffsets;
+	private int[] m_edgeEdges;
+	private int[] m_tileVertexOffsets;
+	private int[] m_tileVertices;
+	private int[] m_tileTileOffsets;
+	private int[] m_tileTiles;
+
+	/**
+	 * Gets the shared {@link BoardTopology} for a {@link Board} of the
+	 * specified size, building it the first time it is needed
+	 *
+	 * @param rows
+	 *            the number of rows of {@link Tile}s
+	 * @param columns
+	 *            the number of columns of {@link Tile}s
+	 * @return the {@link BoardTopology}
+	 */
+	public static BoardTopology get(int rows, int columns) {
+		return TOPOLOGIES.computeIfAbsent(((long) rows << 32) | columns,
+				(key) -> new BoardTopology(rows, columns));
+	}
+
+	/**
+	 * Builds the {@link BoardTopology} for a {@link Board} of the specified
+	 * size
+	 *
+	 * @param rows
+	 *            the number of rows of {@link Tile}s
+	 * @param columns
+	 *            the number of columns of {@link Tile}s
+	 */
+	private BoardTopology(int rows, int columns) {
+		m_tileRows = rows;
+		m_tileColumns = columns;
+		m_vertexRows = rows + 1;
+		m_vertexColumns = columns + 1;
+
+		int vertices = m_vertexRows * m_vertexColumns;
+		int tiles = m_tileRows * m_tileColumns;
+
+		// vertex to tiles, in the same order as Vertex.getAdjacentTiles
+		m_vertexTileOffsets = new int[vertices + 1];
+		m_vertexTiles = new int[4 * vertices];
+		int size = 0;
+		for (int row = 0; row < m_vertexRows; row++) {
+			for (int col = 0; col < m_vertexColumns; col++) {
+				m_vertexTileOffsets[row * m_vertexColumns + col] = size;
+				int[][] offsets = { { 0, 0 }, { -1, 0 }, { 0, -1 }, { -1, -1 } };
+				for (int[] offset : offsets) {
+					if (isTile(row + offset[0], col + offset[1])) {
+						m_vertexTiles[size++] = (row + offset[0]) * m_tileColumns + col + offset[1];
+					}
+				}
+			}
+		}
+		m_vertexTileOffsets[vertices] = size;
+
+		// vertex to vertices, in the same order as Vertex.getAdjacentVertices
+		m_vertexVertexOffsets = new int[vertices + 1];
+		m_vertexVertices = new int[4 * vertices];
+		size = 0;
+		for (int row = 0; row < m_vertexRows; row++) {
+			for (int col = 0; col < m_vertexColumns; col++) {
+				m_vertexVertexOffsets[row * m_vertexColumns + col] = size;
+				int[][] offsets = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+				for (int[] offset : offsets) {
+					if (isVertex(row + offset[0], col + offset[1])) {
+						m_vertexVertices[size++] = (row + offset[0]) * m_vertexColumns + col + offset[1];
+					}
+				}
+			}
+		}
+		m_vertexVertexOffsets[vertices] = size;
+
+		// edge to edges, every other edge sharing an end point
+		m_edgeEdgeOffsets = new int[2 * vertices + 1];
+		m_edgeEdges = new int[6 * 2 * vertices];
+		size = 0;
+		for (int edge = 0; edge < 2 * vertices; edge++) {
+			m_edgeEdgeOffsets[edge] = size;
+			int vertex1 = edge % vertices;
+			int vertex2 = edge < vertices ? vertex1 + 1 : vertex1 + m_vertexColumns;
+			if (edge < vertices ? vertex1 % m_vertexColumns + 1 >= m_vertexColumns
+					: vertex1 / m_vertexColumns + 1 >= m_vertexRows) {
+				// empty slot, no edge leaves the board
+				continue;
+			}
+			for (int vertex : new int[] { vertex1, vertex2 }) {
+				for (int i = m_vertexVertexOffsets[vertex]; i < m_vertexVertexOffsets[vertex + 1]; i++) {
+					int adjacent = edgeId(vertex, m_vertexVertices[i]);
+					if (adjacent != edge) {
+						m_edgeEdges[size++] = adjacent;
+					}
+				}
+			}
+		}
+		m_edgeEdgeOffsets[2 * vertices] = size;
+
+		// tile to vertices, its four corners
+		m_tileVertexOffsets = new int[tiles + 1];
+		m_tileVertices = new int[4 * tiles];
+		size = 0;
+		for (int row = 0; row < m_tileRows; row++) {
+			for (int col = 0; col < m_tileColumns; col++) {
+				m_tileVertexOffsets[row * m_tileColumns + col] = size;
+				m_tileVertices[size++] = row * m_vertexColumns + col;
+				m_tileVertices[size++] = row * m_vertexColumns + col + 1;
+				m_tileVertices[size++] = (row + 1) * m_vertexColumns + col;
+				m_tileVertices[size++] = (row + 1) * m_vertexColumns + col + 1;
+			}
+		}
+		m_tileVertexOffsets[tiles] = size;
+
+		// tile to tiles, the surrounding block including itself, in the same
+		// order as Board.getAdjacentTiles
+		m_tileTileOffsets = new int[tiles + 1];
+		m_tileTiles = new int[9 * tiles];
+		size = 0;
+		for (int row = 0; row < m_tileRows; row++) {
+			for (int col = 0; col < m_tileColumns; col++) {
+				m_tileTileOffsets[row * m_tileColumns + col] = size;
+				for (int i = -1; i <= 1; i++) {
+					for (int j = -1; j <= 1; j++) {
+						if (isTile(row + i, col + j)) {
+							m_tileTiles[size++] = (row + i) * m_tileColumns + col + j;
+						}
+					}
+				}
+			}
+		}
+		m_tileTileOffsets[tiles] = size;
+	}
+
+	/**
+	 *
+	 * @param row
+	 *            the row
+	 * @param col
+	 *            the column
+	 * @return true if a {@link Tile} exists at the position
+	 */
+	private boolean isTile(int row, int col) {
+		return row >= 0 && row < m_tileRows && col >= 0 && col < m_tileColumns;
+	}
+
+	/**
+	 *
+	 * @param row
+	 *            the row
+	 * @param col
+	 *            the column
+	 * @return true if a {@link Vertex} exists at the position
+	 */
+	private boolean isVertex(int row, int col) {
+		return row >= 0 && row < m_vertexRows && col >= 0 && col < m_vertexColumns;
+	}
+
+	/**
+	 *
+	 * @param vertex1
+	 *            the id of the first {@link Vertex}
+	 * @param vertex2
+	 *            the id of an adjacent {@link Vertex}
+	 * @return the id of the {@link Edge} between them
+	 */
+	private int edgeId(int vertex1, int vertex2) {
+		int low = Math.min(vertex1, vertex2);
+		return Math.abs(vertex1 - vertex2) == 1 ? low : m_vertexRows * m_vertexColumns + low;
+	}
+
+	/**
+	 *
+	 * @return the number of rows of {@link Tile}s
+	 */
+	public int getTileRows() {
+		return m_tileRows;
+	}
+
+	/**
+	 *
+	 * @return the number of columns of {@link Tile}s
+	 */
+	public int getTileColumns() {
+		return m_tileColumns;
+	}
+
+	/**
+	 *
+	 * @return the number of rows of {@link Vertex} (vertices)
+	 */
+	public int getVertexRows() {
+		return m_vertexRows;
+	}
+
+	/**
+	 *
+	 * @return the number of columns of {@link Vertex} (vertices)
+	 */
+	public int getVertexColumns() {
+		return m_vertexColumns;
+	}
+
+	/**
+	 *
+	 * @return offsets into {@link #getVertexTiles()} for each {@link Vertex}
+	 *         id, must not be modified
+	 */
+	public int[] getVertexTileOffsets() {
+		return m_vertexTileOffsets;
+	}
+
+	/**
+	 *
+	 * @return the ids of the {@link Tile}s touching each {@link Vertex}, must
+	 *         not be modified
+	 */
+	public int[] getVertexTiles() {
+		return m_vertexTiles;
+	}
+
+	/**
+	 *
+	 * @return offsets into {@link #getVertexVertices()} for each
+	 *         {@link Vertex} id, must not be modified
+	 */
+	public int[] getVertexVertexOffsets() {
+		return m_vertexVertexOffsets;
+	}
+
+	/**
+	 *
+	 * @return the ids of the {@link Vertex} (vertices) adjacent to each
+	 *         {@link Vertex}, must not be modified
+	 */
+	public int[] getVertexVertices() {
+		return m_vertexVertices;
+	}
+
+	/**
+	 *
+	 * @return offsets into {@link #getEdgeEdges()} for each {@link Edge} id,
+	 *         must not be modified
+	 */
+	public int[] getEdgeEdgeOffsets() {
+		return m_edgeEdgeOffsets;
+	}
+
+	/**
+	 *
+	 * @return the ids of the {@link Edge}s sharing an end point with each
+	 *         {@link Edge}, must not be modified
+	 */
+	public int[] getEdgeEdges() {
+		return m_edgeEdges;
+	}
+
+	/**
+	 *
+	 * @return offsets into {@link #getTileVertices()} for each {@link Tile}
+	 *         id, must not be modified
+	 */
+	public int[] getTileVertexOffsets() {
+		return m_tileVertexOffsets;
+	}
+
+	/**
+	 *
+	 * @return the ids of the corner {@link Vertex} (vertices) of each
+	 *         {@link Tile}, must not be modified
+	 */
+	public int[] getTileVertices() {
+		return m_tileVertices;
+	}
+
+	/**
+	 *
+	 * @return offsets into {@link #getTileTiles()} for each {@link Tile} id,
+	 *         must not be modified
+	 */
+	public int[] getTileTileOffsets() {
+		return m_tileTileOffsets;
+	}
+
+	/**
+	 *
+	 * @return the ids of the {@link Tile}s surrounding each {@link Tile},
+	 *         including itself, must not be modified
+	 */
+	public int[] getTileTiles() {
+		return m_tileTiles;
+	}
+
+	@Override
+	public String toString() {
+		return "Board Topology: (" + m_tileRows + ", " + m_tileColumns + ")";
+	}
+
+}
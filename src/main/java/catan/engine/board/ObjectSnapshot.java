@@ -0,0 +1,153 @@
+package catan.engine.board;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import catan.engine.board.objects.BoardObject;
+
+/**
+ * Immutable, versioned list of the {@link BoardObject}s on a {@link Board}.
+ * Every change to the {@link Board} publishes a new {@link ObjectSnapshot}
+ * with a higher version, so a reader can iterate one without locking while
+ * the game keeps building, and can skip work entirely if the version has not
+ * changed since it last looked
+ *
+ * @author Jacob
+ *
+ */
+public class ObjectSnapshot implements Iterable<BoardObject> {
+
+	public static final ObjectSnapshot EMPTY = new ObjectSnapshot(new BoardObject[0], 0);
+
+	private final BoardObject[] m_objects;
+	private final long m_version;
+
+	/**
+	 * Creates a new {@link ObjectSnapshot}
+	 *
+	 * @param objects
+	 *            the {@link BoardObject}s, which must not be modified
+	 *            afterwards
+	 * @param version
+	 *            the version of this {@link ObjectSnapshot}
+	 */
+	private ObjectSnapshot(BoardObject[] objects, long version) {
+		m_objects = objects;
+		m_version = version;
+	}
+
+	/**
+	 *
+	 * @return the version of this {@link ObjectSnapshot}, higher for every
+	 *         change made to the {@link Board}
+	 */
+	public long getVersion() {
+		return m_version;
+	}
+
+	/**
+	 *
+	 * @return the number of {@link BoardObject}s
+	 */
+	public int size() {
+		return m_objects.length;
+	}
+
+	/**
+	 *
+	 * @param i
+	 *            the index of the {@link BoardObject}
+	 * @return the {@link BoardObject}, in the order they were added
+	 */
+	public BoardObject get(int i) {
+		return m_objects[i];
+	}
+
+	/**
+	 *
+	 * @return a new array containing every {@link BoardObject}
+	 */
+	public BoardObject[] toArray() {
+		return Arrays.copyOf(m_objects, m_objects.length);
+	}
+
+	/**
+	 *
+	 * @param object
+	 *            the {@link BoardObject} to add
+	 * @return the next {@link ObjectSnapshot}, with the {@link BoardObject}
+	 *         added last
+	 */
+	public ObjectSnapshot with(BoardObject object) {
+		BoardObject[] objects = Arrays.copyOf(m_objects, m_objects.length + 1);
+		objects[m_objects.length] = object;
+		return new ObjectSnapshot(objects, m_version + 1);
+	}
+
+	/**
+	 *
+	 * @param object
+	 *            the {@link BoardObject} to remove
+	 * @return the next {@link ObjectSnapshot}, without the
+	 *         {@link BoardObject}, or this {@link ObjectSnapshot} if it does
+	 *         not contain the {@link BoardObject}
+	 */
+	public ObjectSnapshot without(BoardObject object) {
+		int index = indexOf(object);
+		if (index == -1) {
+			return this;
+		}
+		BoardObject[] objects = new BoardObject[m_objects.length - 1];
+		System.arraycopy(m_objects, 0, objects, 0, index);
+		System.arraycopy(m_objects, index + 1, objects, index, objects.length - index);
+		return new ObjectSnapshot(objects, m_version + 1);
+	}
+
+	/**
+	 *
+	 * @param object
+	 *            the {@link BoardObject} to replace
+	 * @param replacement
+	 *            the {@link BoardObject} to put in its place
+	 * @return the next {@link ObjectSnapshot}, with the replacement in the
+	 *         same position, or this {@link ObjectSnapshot} if it does not
+	 *         contain the {@link BoardObject}
+	 */
+	public ObjectSnapshot replace(BoardObject object, BoardObject replacement) {
+		int index = indexOf(object);
+		if (index == -1) {
+			return this;
+		}
+		BoardObject[] objects = Arrays.copyOf(m_objects, m_objects.length);
+		objects[index] = replacement;
+		return new ObjectSnapshot(objects, m_version + 1);
+	}
+
+	/**
+	 *
+	 * @param object
+	 *            the {@link BoardObject} to find
+	 * @return the index of the {@link BoardObject}, or -1 if it is not in
+	 *         this {@link ObjectSnapshot}
+	 */
+	private int indexOf(BoardObject object) {
+		for (int i = 0; i < m_objects.length; i++) {
+			if (m_objects[i].equals(object)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public Iterator<BoardObject> iterator() {
+		return Collections.unmodifiableList(Arrays.asList(m_objects)).iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "Object Snapshot: (Version: (" + m_version + "), Objects: (" + m_objects.length + "))";
+	}
+
+}
@@ -0,0 +1,749 @@
+package catan.engine.board;
+
+import java.util.Arrays;
+
+import catan.engine.board.objects.buildings.City;
+import catan.engine.board.objects.buildings.Road;
+import catan.engine.board.objects.buildings.Village;
+import catan.engine.board.tile.Edge;
+import catan.engine.board.tile.Vertex;
+import catan.engine.player.Player;
+import catan.engine.resources.ResourceBundle;
+
+/**
+ * Primitive index of what occupies every {@link Vertex} and {@link Edge} on a
+ * {@link Board}, kept up to date by the {@link Board} as objects are added and
+ * removed. Placement checks become constant time lookups instead of scans
+ * over every object on the {@link Board}. Owners are stored as the id the
+ * {@link Board} assigned to each {@link Player}, 0 meaning no owner
+ *
+ * <p>
+ * {@link Vertex} (vertices) are indexed row by row. {@link Edge}s are indexed
+ * by their top left {@link Vertex}, horizontal {@link Edge}s first and then
+ * vertical {@link Edge}s
+ *
+ * <p>
+ * Victory point and production totals for each owner are kept alongside, so
+ * they never need to be recounted from the objects on the {@link Board}, as
+ * is a hash of every building and {@link Road} built from
+ * {@link ZobristKeys}
+ *
+ * <p>
+ * Every building, {@link Village} and {@link Road} is also kept in
+ * {@link Bitboard} sets, one slot per owner, with slot 0 holding those of
+ * every owner. A {@link Road} is kept in the set of its top left
+ * {@link Vertex}, horizontal and vertical {@link Road}s in separate sets. The
+ * {@link Vertex} (vertices) blocked by a building are kept in one more set,
+ * so every location an owner can build on is found a word at a time with
+ * shifts and masks
+ *
+ * @author Jacob
+ *
+ */
+public class Occupancy {
+
+	public static final byte EMPTY = 0;
+	public static final byte VILLAGE = 1;
+	public static final byte CITY = 2;
+
+	private int m_rows;
+	private int m_columns;
+	private byte[] m_buildings;
+	private byte[] m_vertexOwners;
+	private byte[] m_edgeOwners;
+	private int[] m_victoryPoints = new int[0];
+	private int[][] m_metrics = new int[0][];
+	private long m_hash = 0;
+
+	// shared between copies, never modified
+	private long[] m_vertexMask;
+	private long[] m_notFirstColumnMask;
+	private long[] m_notLastColumnMask;
+	private long[] m_notLastRowMask;
+
+	private int m_words;
+	private long[] m_occupiedBits;
+	private long[] m_blockedBits;
+	private long[] m_villageBits;
+	private long[] m_horizontalBits;
+	private long[] m_verticalBits;
+
+	/**
+	 * Creates a new, empty {@link Occupancy}
+	 *
+	 * @param rows
+	 *            the number of rows of {@link Vertex} (vertices)
+	 * @param columns
+	 *            the number of columns of {@link Vertex} (vertices)
+	 */
+	public Occupancy(int rows, int columns) {
+		m_rows = rows;
+		m_columns = columns;
+		m_buildings = new byte[rows * columns];
+		m_vertexOwners = new byte[rows * columns];
+		m_edgeOwners = new byte[2 * rows * columns];
+
+		m_words = Bitboard.getWords(rows * columns);
+		m_vertexMask = new long[m_words];
+		m_notFirstColumnMask = new long[m_words];
+		m_notLastColumnMask = new long[m_words];
+		m_notLastRowMask = new long[m_words];
+		for (int row = 0; row < rows; row++) {
+			for (int col = 0; col < columns; col++) {
+				int index = vertexIndex(row, col);
+				Bitboard.set(m_vertexMask, index, true);
+				Bitboard.set(m_notFirstColumnMask, index, col > 0);
+				Bitboard.set(m_notLastColumnMask, index, col + 1 < columns);
+				Bitboard.set(m_notLastRowMask, index, row + 1 < rows);
+			}
+		}
+
+		m_occupiedBits = new long[m_words];
+		m_blockedBits = new long[m_words];
+		m_villageBits = new long[m_words];
+		m_horizontalBits = new long[m_words];
+		m_verticalBits = new long[m_words];
+	}
+
+	/**
+	 * Creates a copy of the specified {@link Occupancy}
+	 *
+	 * @param occupancy
+	 *            the {@link Occupancy} to copy
+	 */
+	public Occupancy(Occupancy occupancy) {
+		m_rows = occupancy.m_rows;
+		m_columns = occupancy.m_columns;
+		m_buildings = Arrays.copyOf(occupancy.m_buildings, occupancy.m_buildings.length);
+		m_vertexOwners = Arrays.copyOf(occupancy.m_vertexOwners, occupancy.m_vertexOwners.length);
+		m_edgeOwners = Arrays.copyOf(occupancy.m_edgeOwners, occupancy.m_edgeOwners.length);
+		m_victoryPoints = Arrays.copyOf(occupancy.m_victoryPoints, occupancy.m_victoryPoints.length);
+		m_hash = occupancy.m_hash;
+		m_metrics = new int[occupancy.m_metrics.length][];
+		for (int i = 0; i < m_metrics.length; i++) {
+			m_metrics[i] = Arrays.copyOf(occupancy.m_metrics[i], occupancy.m_metrics[i].length);
+		}
+
+		m_vertexMask = occupancy.m_vertexMask;
+		m_notFirstColumnMask = occupancy.m_notFirstColumnMask;
+		m_notLastColumnMask = occupancy.m_notLastColumnMask;
+		m_notLastRowMask = occupancy.m_notLastRowMask;
+
+		m_words = occupancy.m_words;
+		m_occupiedBits = Arrays.copyOf(occupancy.m_occupiedBits, occupancy.m_occupiedBits.length);
+		m_blockedBits = Arrays.copyOf(occupancy.m_blockedBits, occupancy.m_blockedBits.length);
+		m_villageBits = Arrays.copyOf(occupancy.m_villageBits, occupancy.m_villageBits.length);
+		m_horizontalBits = Arrays.copyOf(occupancy.m_horizontalBits, occupancy.m_horizontalBits.length);
+		m_verticalBits = Arrays.copyOf(occupancy.m_verticalBits, occupancy.m_verticalBits.length);
+	}
+
+	/**
+	 *
+	 * @return the number of rows of {@link Vertex} (vertices)
+	 */
+	public int getRows() {
+		return m_rows;
+	}
+
+	/**
+	 *
+	 * @return the number of columns of {@link Vertex} (vertices)
+	 */
+	public int getColumns() {
+		return m_columns;
+	}
+
+	/**
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @return true if the {@link Vertex} is on the {@link Board}
+	 */
+	public boolean contains(int row, int col) {
+		return row >= 0 && row < m_rows && col >= 0 && col < m_columns;
+	}
+
+	/**
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @return the index of the {@link Vertex}
+	 */
+	public int vertexIndex(int row, int col) {
+		return row * m_columns + col;
+	}
+
+	/**
+	 *
+	 * @param row1
+	 *            the row of the first {@link Vertex}
+	 * @param col1
+	 *            the column of the first {@link Vertex}
+	 * @param row2
+	 *            the row of the second {@link Vertex}
+	 * @param col2
+	 *            the column of the second {@link Vertex}
+	 * @return the index of the {@link Edge} between both {@link Vertex}
+	 *         (vertices), -1 if they are not adjacent or not on the
+	 *         {@link Board}
+	 */
+	public int edgeIndex(int row1, int col1, int row2, int col2) {
+		if (!contains(row1, col1) || !contains(row2, col2)) {
+			return -1;
+		}
+		if (row1 == row2 && Math.abs(col1 - col2) == 1) {
+			return vertexIndex(row1, Math.min(col1, col2));
+		}
+		if (col1 == col2 && Math.abs(row1 - row2) == 1) {
+			return m_rows * m_columns + vertexIndex(Math.min(row1, row2), col1);
+		}
+		return -1;
+	}
+
+	/**
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @return the building on the {@link Vertex}, {@link #EMPTY},
+	 *         {@link #VILLAGE} or {@link #CITY}
+	 */
+	public byte getBuilding(int row, int col) {
+		return contains(row, col) ? m_buildings[vertexIndex(row, col)] : EMPTY;
+	}
+
+	/**
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @return the id of the owner of the building on the {@link Vertex}, 0 if
+	 *         there is none
+	 */
+	public int getVertexOwner(int row, int col) {
+		return contains(row, col) ? m_vertexOwners[vertexIndex(row, col)] : 0;
+	}
+
+	/**
+	 *
+	 * @param row1
+	 *            the row of the first {@link Vertex}
+	 * @param col1
+	 *            the column of the first {@link Vertex}
+	 * @param row2
+	 *            the row of the second {@link Vertex}
+	 * @param col2
+	 *            the column of the second {@link Vertex}
+	 * @return the id of the owner of the {@link Road} on the {@link Edge}, 0 if
+	 *         there is none
+	 */
+	public int getEdgeOwner(int row1, int col1, int row2, int col2) {
+		int index = edgeIndex(row1, col1, row2, col2);
+		return index == -1 ? 0 : m_edgeOwners[index];
+	}
+
+	/**
+	 *
+	 * @param vertex
+	 *            the index of the {@link Vertex}
+	 * @return the building on the {@link Vertex}, {@link #EMPTY},
+	 *         {@link #VILLAGE} or {@link #CITY}
+	 */
+	public byte getBuilding(int vertex) {
+		return m_buildings[vertex];
+	}
+
+	/**
+	 *
+	 * @param vertex
+	 *            the index of the {@link Vertex}
+	 * @return the id of the owner of the building on the {@link Vertex}, 0 if
+	 *         there is none
+	 */
+	public int getVertexOwner(int vertex) {
+		return m_vertexOwners[vertex];
+	}
+
+	/**
+	 *
+	 * @param edge
+	 *            the index of the {@link Edge}
+	 * @return the id of the owner of the {@link Road} on the {@link Edge}, 0 if
+	 *         there is none
+	 */
+	public int getEdgeOwner(int edge) {
+		return m_edgeOwners[edge];
+	}
+
+	/**
+	 * Places a {@link Road} on the specified {@link Edge}
+	 *
+	 * @param edge
+	 *            the index of the {@link Edge}
+	 * @param owner
+	 *            the id of the owner of the {@link Road}, 0 to clear the
+	 *            {@link Edge}
+	 */
+	public void setRoad(int edge, int owner) {
+		m_hash ^= ZobristKeys.getRoadKey(edge, m_edgeOwners[edge]) ^ ZobristKeys.getRoadKey(edge, owner);
+		boolean vertical = edge >= m_rows * m_columns;
+		long[] bits = vertical ? m_verticalBits : m_horizontalBits;
+		int vertex = vertical ? edge - m_rows * m_columns : edge;
+		Bitboard.set(bits, getBit(m_edgeOwners[edge], vertex), false);
+		m_edgeOwners[edge] = (byte) owner;
+
+		ensureBits(owner);
+		bits = vertical ? m_verticalBits : m_horizontalBits;
+		if (owner != 0) {
+			Bitboard.set(bits, getBit(owner, vertex), true);
+		}
+		Bitboard.set(bits, vertex, owner != 0);
+	}
+
+	/**
+	 * Places a building on the specified {@link Vertex}
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @param building
+	 *            the building, {@link #VILLAGE} or {@link #CITY}
+	 * @param owner
+	 *            the id of the owner of the building
+	 */
+	public void setBuilding(int row, int col, byte building, int owner) {
+		if (contains(row, col)) {
+			int index = vertexIndex(row, col);
+			if (m_vertexOwners[index] != 0) {
+				addVictoryPoints(m_vertexOwners[index], -getBuildingVictoryPoints(m_buildings[index]));
+			}
+			m_hash ^= ZobristKeys.getBuildingKey(index, m_buildings[index], m_vertexOwners[index])
+					^ ZobristKeys.getBuildingKey(index, building, owner);
+			Bitboard.set(m_villageBits, getBit(m_vertexOwners[index], index), false);
+			m_buildings[index] = building;
+			m_vertexOwners[index] = (byte) owner;
+			if (owner != 0) {
+				addVictoryPoints(owner, getBuildingVictoryPoints(building));
+			}
+
+			ensureBits(owner);
+			if (owner != 0) {
+				Bitboard.set(m_villageBits, getBit(owner, index), building == VILLAGE);
+			}
+			Bitboard.set(m_villageBits, index, building == VILLAGE);
+			Bitboard.set(m_occupiedBits, index, building != EMPTY);
+			updateBlocked(index);
+		}
+	}
+
+	/**
+	 *
+	 * @param owner
+	 *            the id of the owner, 0 for the slot of every owner
+	 * @param vertex
+	 *            the index of the {@link Vertex}
+	 * @return the index of the bit of the {@link Vertex} in the owner's slot
+	 */
+	private int getBit(int owner, int vertex) {
+		return (owner * m_words << 6) + vertex;
+	}
+
+	/**
+	 * Grows the per owner {@link Bitboard} sets to hold the specified owner
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 */
+	private void ensureBits(int owner) {
+		if ((owner + 1) * m_words > m_villageBits.length) {
+			m_villageBits = Arrays.copyOf(m_villageBits, (owner + 1) * m_words);
+			m_horizontalBits = Arrays.copyOf(m_horizontalBits, (owner + 1) * m_words);
+			m_verticalBits = Arrays.copyOf(m_verticalBits, (owner + 1) * m_words);
+		}
+	}
+
+	/**
+	 * Recomputes the blocked {@link Vertex} (vertices) in every word a change
+	 * to the building on a {@link Vertex} can reach, each {@link Vertex} being
+	 * blocked by a building on it or on any adjacent {@link Vertex}
+	 *
+	 * @param vertex
+	 *            the index of the {@link Vertex} that changed
+	 */
+	private void updateBlocked(int vertex) {
+		int first = Math.max(0, vertex - m_columns) >>> 6;
+		int last = Math.min(m_rows * m_columns - 1, vertex + m_columns) >>> 6;
+		for (int word = first; word <= last; word++) {
+			m_blockedBits[word] = (m_occupiedBits[word]
+					| Bitboard.getShifted(m_occupiedBits, 0, m_words, word, 1) & m_notFirstColumnMask[word]
+					| Bitboard.getShifted(m_occupiedBits, 0, m_words, word, -1) & m_notLastColumnMask[word]
+					| Bitboard.getShifted(m_occupiedBits, 0, m_words, word, m_columns)
+					| Bitboard.getShifted(m_occupiedBits, 0, m_words, word, -m_columns)) & m_vertexMask[word];
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of longs in a {@link Bitboard} set of every
+	 *         {@link Vertex} (vertices)
+	 */
+	public int getWords() {
+		return m_words;
+	}
+
+	/**
+	 * Reads one word of the set of {@link Vertex} (vertices) reached by the
+	 * specified owner's {@link Road}s
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @param word
+	 *            the word to read
+	 * @return the word of the set
+	 */
+	private long getRoadEnds(int owner, int word) {
+		int offset = owner * m_words;
+		// roads only run right from columns before the last and down from
+		// rows before the last, so neither shift wraps
+		return m_horizontalBits[offset + word] | Bitboard.getShifted(m_horizontalBits, offset, m_words, word, 1)
+				| m_verticalBits[offset + word]
+				| Bitboard.getShifted(m_verticalBits, offset, m_words, word, m_columns);
+	}
+
+	/**
+	 * Finds every {@link Vertex} a {@link Village} could be built on by the
+	 * specified owner, see {@link #canBuildVillage(int, int, int)}
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @param locations
+	 *            array of at least {@link #getWords()} longs to write the
+	 *            {@link Bitboard} set of {@link Vertex} (vertices) to
+	 */
+	public void getVillageLocations(int owner, long[] locations) {
+		for (int word = 0; word < m_words; word++) {
+			locations[word] = owner == 0 || owner * m_words >= m_villageBits.length ? 0
+					: getRoadEnds(owner, word) & ~m_blockedBits[word];
+		}
+	}
+
+	/**
+	 * Finds every {@link Vertex} a {@link City} could be built on by the
+	 * specified owner, see {@link #canBuildCity(int, int, int)}
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @param locations
+	 *            array of at least {@link #getWords()} longs to write the
+	 *            {@link Bitboard} set of {@link Vertex} (vertices) to
+	 */
+	public void getCityLocations(int owner, long[] locations) {
+		for (int word = 0; word < m_words; word++) {
+			locations[word] = owner == 0 || owner * m_words >= m_villageBits.length ? 0
+					: m_villageBits[owner * m_words + word];
+		}
+	}
+
+	/**
+	 * Finds every {@link Edge} a {@link Road} could be built on by the
+	 * specified owner, see {@link #canBuildRoad(int, int, int, int, int)}, by
+	 * growing the owner's {@link Road}s by one {@link Edge} in every direction
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @param horizontal
+	 *            array of at least {@link #getWords()} longs to write the
+	 *            {@link Bitboard} set of horizontal {@link Edge}s to, each by
+	 *            its left {@link Vertex}
+	 * @param vertical
+	 *            array of at least {@link #getWords()} longs to write the
+	 *            {@link Bitboard} set of vertical {@link Edge}s to, each by its
+	 *            top {@link Vertex}
+	 */
+	public void getRoadLocations(int owner, long[] horizontal, long[] vertical) {
+		if (owner == 0 || owner * m_words >= m_villageBits.length) {
+			Arrays.fill(horizontal, 0, m_words, 0);
+			Arrays.fill(vertical, 0, m_words, 0);
+			return;
+		}
+		for (int word = 0; word < m_words; word++) {
+			horizontal[word] = getRoadEnds(owner, word);
+		}
+		// an edge is reachable from either end, the later words of the ends
+		// are still unchanged when each word is overwritten
+		for (int word = 0; word < m_words; word++) {
+			vertical[word] = (horizontal[word] | Bitboard.getShifted(horizontal, 0, m_words, word, -m_columns))
+					& m_notLastRowMask[word] & ~m_verticalBits[word];
+			horizontal[word] = (horizontal[word] | Bitboard.getShifted(horizontal, 0, m_words, word, -1))
+					& m_notLastColumnMask[word] & ~m_horizontalBits[word];
+		}
+	}
+
+	/**
+	 *
+	 * @param building
+	 *            the building, {@link #EMPTY}, {@link #VILLAGE} or
+	 *            {@link #CITY}
+	 * @return the victory points the building is worth
+	 */
+	public static int getBuildingVictoryPoints(byte building) {
+		switch (building) {
+		case VILLAGE:
+			return Village.VICTORY_POINTS;
+		case CITY:
+			return City.VICTORY_POINTS;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Grows the per owner totals to hold the specified owner
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 */
+	private void ensureOwner(int owner) {
+		if (owner >= m_victoryPoints.length) {
+			m_victoryPoints = Arrays.copyOf(m_victoryPoints, owner + 1);
+			int length = m_metrics.length;
+			m_metrics = Arrays.copyOf(m_metrics, owner + 1);
+			for (int i = length; i < m_metrics.length; i++) {
+				m_metrics[i] = new int[ResourceBundle.RESOURCE_NUMBER];
+			}
+		}
+	}
+
+	/**
+	 * Adds to the victory point total of the specified owner
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @param points
+	 *            the victory points to add, negative to remove
+	 */
+	private void addVictoryPoints(int owner, int points) {
+		ensureOwner(owner);
+		m_victoryPoints[owner] += points;
+	}
+
+	/**
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @return the total victory points of every building the owner has
+	 */
+	public int getVictoryPoints(int owner) {
+		return owner > 0 && owner < m_victoryPoints.length ? m_victoryPoints[owner] : 0;
+	}
+
+	/**
+	 *
+	 * @return the highest victory point total of any owner
+	 */
+	public int getHighestVictoryPoints() {
+		int max = 0;
+		for (int points : m_victoryPoints) {
+			max = Math.max(max, points);
+		}
+		return max;
+	}
+
+	/**
+	 * Adds a production metric to the total of the specified owner
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @param metric
+	 *            the metric to add, indexed by resource
+	 * @param sign
+	 *            1 to add the metric, -1 to remove it
+	 */
+	public void addMetric(int owner, int[] metric, int sign) {
+		if (owner == 0) {
+			return;
+		}
+		ensureOwner(owner);
+		for (int i = 0; i < ResourceBundle.RESOURCE_NUMBER; i++) {
+			m_metrics[owner][i] += sign * metric[i];
+		}
+	}
+
+	/**
+	 * Adds to a single resource of the production metric of the specified
+	 * owner
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @param resource
+	 *            the resource
+	 * @param amount
+	 *            the amount to add, negative to remove
+	 */
+	public void addMetric(int owner, int resource, int amount) {
+		if (owner == 0) {
+			return;
+		}
+		ensureOwner(owner);
+		m_metrics[owner][resource] += amount;
+	}
+
+	/**
+	 *
+	 * @param owner
+	 *            the id of the owner
+	 * @return a copy of the total production metric of every building the
+	 *         owner has, indexed by resource
+	 */
+	public int[] getMetric(int owner) {
+		if (owner <= 0 || owner >= m_metrics.length) {
+			return new int[ResourceBundle.RESOURCE_NUMBER];
+		}
+		return Arrays.copyOf(m_metrics[owner], ResourceBundle.RESOURCE_NUMBER);
+	}
+
+	/**
+	 * Places a {@link Road} on the specified {@link Edge}
+	 *
+	 * @param row1
+	 *            the row of the first {@link Vertex}
+	 * @param col1
+	 *            the column of the first {@link Vertex}
+	 * @param row2
+	 *            the row of the second {@link Vertex}
+	 * @param col2
+	 *            the column of the second {@link Vertex}
+	 * @param owner
+	 *            the id of the owner of the {@link Road}, 0 to clear the
+	 *            {@link Edge}
+	 */
+	public void setRoad(int row1, int col1, int row2, int col2, int owner) {
+		int index = edgeIndex(row1, col1, row2, col2);
+		if (index != -1) {
+			setRoad(index, owner);
+		}
+	}
+
+	/**
+	 * Determines whether a building on or beside the specified {@link Vertex}
+	 * prevents a new building from being placed on it
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @return true if the {@link Vertex} or any adjacent {@link Vertex} has a
+	 *         building
+	 */
+	public boolean isBlocked(int row, int col) {
+		return getBuilding(row, col) != EMPTY || getBuilding(row + 1, col) != EMPTY
+				|| getBuilding(row - 1, col) != EMPTY || getBuilding(row, col + 1) != EMPTY
+				|| getBuilding(row, col - 1) != EMPTY;
+	}
+
+	/**
+	 * Determines whether the specified owner has a {@link Road} ending at the
+	 * specified {@link Vertex}
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @param owner
+	 *            the id of the owner
+	 * @return true if any {@link Road} ending at the {@link Vertex} belongs to
+	 *         the owner
+	 */
+	public boolean hasRoadAt(int row, int col, int owner) {
+		return owner != 0 && (getEdgeOwner(row, col, row + 1, col) == owner
+				|| getEdgeOwner(row, col, row - 1, col) == owner || getEdgeOwner(row, col, row, col + 1) == owner
+				|| getEdgeOwner(row, col, row, col - 1) == owner);
+	}
+
+	/**
+	 * Determines whether a {@link Village} could be built on the specified
+	 * {@link Vertex} by the specified owner
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @param owner
+	 *            the id of the owner
+	 * @return true if the {@link Vertex} is free of neighbouring buildings and
+	 *         reached by one of the owner's {@link Road}s
+	 */
+	public boolean canBuildVillage(int row, int col, int owner) {
+		return contains(row, col) && !Bitboard.get(m_blockedBits, vertexIndex(row, col))
+				&& hasRoadAt(row, col, owner);
+	}
+
+	/**
+	 * Determines whether a {@link Road} could be built on the specified
+	 * {@link Edge} by the specified owner
+	 *
+	 * @param row1
+	 *            the row of the first {@link Vertex}
+	 * @param col1
+	 *            the column of the first {@link Vertex}
+	 * @param row2
+	 *            the row of the second {@link Vertex}
+	 * @param col2
+	 *            the column of the second {@link Vertex}
+	 * @param owner
+	 *            the id of the owner
+	 * @return true if the {@link Edge} is free and connects to one of the
+	 *         owner's {@link Road}s
+	 */
+	public boolean canBuildRoad(int row1, int col1, int row2, int col2, int owner) {
+		int index = edgeIndex(row1, col1, row2, col2);
+		return index != -1 && m_edgeOwners[index] == 0
+				&& (hasRoadAt(row1, col1, owner) || hasRoadAt(row2, col2, owner));
+	}
+
+	/**
+	 * Determines whether a {@link City} could be built on the specified
+	 * {@link Vertex} by the specified owner
+	 *
+	 * @param row
+	 *            the row of the {@link Vertex}
+	 * @param col
+	 *            the column of the {@link Vertex}
+	 * @param owner
+	 *            the id of the owner
+	 * @return true if the owner has a {@link Village} on the {@link Vertex}
+	 */
+	public boolean canBuildCity(int row, int col, int owner) {
+		return owner != 0 && getBuilding(row, col) == VILLAGE && getVertexOwner(row, col) == owner;
+	}
+
+	/**
+	 *
+	 * @return the hash of every building and {@link Road}, equal for equal
+	 *         {@link Occupancy}s
+	 */
+	public long getHash() {
+		return m_hash;
+	}
+
+	/**
+	 *
+	 * @return a copy of this {@link Occupancy}
+	 */
+	public Occupancy copy() {
+		return new Occupancy(this);
+	}
+
+	@Override
+	public String toString() {
+		return "Occupancy: (" + m_rows + ", " + m_columns + ")";
+	}
+
+}
@@ -0,0 +1,181 @@
+package catan.engine.board;
+
+import java.util.Arrays;
+
+import catan.engine.board.objects.Productive;
+import catan.engine.board.tile.Tile;
+import catan.engine.board.tile.Vertex;
+import catan.engine.player.Player;
+
+/**
+ * Index from each dice roll to the payouts it produces, kept up to date by
+ * the {@link Board} as {@link Productive} objects are added and removed, so a
+ * roll only visits the buildings that actually produce. Each payout is a
+ * single int holding the {@link Vertex} id, the owning {@link Player}'s id,
+ * the resource and the amount. Payouts of the same {@link Vertex} are always
+ * stored next to each other
+ *
+ * @author Jacob
+ *
+ */
+public class ProductionIndex {
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private int[][] m_payouts = new int[Tile.FREQUENCY_MAX + 1][];
+	private int[] m_sizes = new int[Tile.FREQUENCY_MAX + 1];
+
+	/**
+	 * Creates a new, empty {@link ProductionIndex}
+	 */
+	public ProductionIndex() {
+		for (int i = Tile.FREQUENCY_MIN; i <= Tile.FREQUENCY_MAX; i++) {
+			m_payouts[i] = new int[INITIAL_CAPACITY];
+		}
+	}
+
+	/**
+	 * Creates a copy of the specified {@link ProductionIndex}
+	 *
+	 * @param index
+	 *            the {@link ProductionIndex} to copy
+	 */
+	public ProductionIndex(ProductionIndex index) {
+		for (int i = Tile.FREQUENCY_MIN; i <= Tile.FREQUENCY_MAX; i++) {
+			m_payouts[i] = Arrays.copyOf(index.m_payouts[i], index.m_payouts[i].length);
+		}
+		m_sizes = Arrays.copyOf(index.m_sizes, index.m_sizes.length);
+	}
+
+	/**
+	 * Packs a payout into a single int
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex} producing
+	 * @param owner
+	 *            the id of the {@link Player} receiving the resources
+	 * @param resource
+	 *            the resource produced
+	 * @param amount
+	 *            the amount of the resource produced
+	 * @return the packed payout
+	 */
+	public static int pack(int vertex, int owner, int resource, int amount) {
+		return vertex << 16 | owner << 8 | resource << 4 | amount;
+	}
+
+	/**
+	 *
+	 * @param payout
+	 *            a packed payout
+	 * @return the id of the {@link Vertex} producing
+	 */
+	public static int getVertex(int payout) {
+		return payout >>> 16;
+	}
+
+	/**
+	 *
+	 * @param payout
+	 *            a packed payout
+	 * @return the id of the {@link Player} receiving the resources
+	 */
+	public static int getOwner(int payout) {
+		return (payout >>> 8) & 0xFF;
+	}
+
+	/**
+	 *
+	 * @param payout
+	 *            a packed payout
+	 * @return the resource produced
+	 */
+	public static int getResource(int payout) {
+		return (payout >>> 4) & 0xF;
+	}
+
+	/**
+	 *
+	 * @param payout
+	 *            a packed payout
+	 * @return the amount of the resource produced
+	 */
+	public static int getAmount(int payout) {
+		return payout & 0xF;
+	}
+
+	/**
+	 * Adds a payout for the specified roll
+	 *
+	 * @param frequency
+	 *            the roll producing the payout
+	 * @param payout
+	 *            the packed payout
+	 */
+	public void add(int frequency, int payout) {
+		if (m_sizes[frequency] == m_payouts[frequency].length) {
+			m_payouts[frequency] = Arrays.copyOf(m_payouts[frequency], 2 * m_payouts[frequency].length);
+		}
+		m_payouts[frequency][m_sizes[frequency]++] = payout;
+	}
+
+	/**
+	 * Removes every payout produced by the specified {@link Vertex}
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 */
+	public void remove(int vertex) {
+		for (int frequency = Tile.FREQUENCY_MIN; frequency <= Tile.FREQUENCY_MAX; frequency++) {
+			int[] payouts = m_payouts[frequency];
+			int size = 0;
+			for (int i = 0; i < m_sizes[frequency]; i++) {
+				if (getVertex(payouts[i]) != vertex) {
+					payouts[size++] = payouts[i];
+				}
+			}
+			m_sizes[frequency] = size;
+		}
+	}
+
+	/**
+	 *
+	 * @param frequency
+	 *            the roll
+	 * @return the number of payouts the roll produces
+	 */
+	public int getPayoutCount(int frequency) {
+		return frequency < Tile.FREQUENCY_MIN || frequency > Tile.FREQUENCY_MAX ? 0 : m_sizes[frequency];
+	}
+
+	/**
+	 *
+	 * @param frequency
+	 *            the roll
+	 * @param i
+	 *            the index of the payout, less than
+	 *            {@link #getPayoutCount(int)}
+	 * @return the packed payout
+	 */
+	public int getPayout(int frequency, int i) {
+		return m_payouts[frequency][i];
+	}
+
+	/**
+	 *
+	 * @return a copy of this {@link ProductionIndex}
+	 */
+	public ProductionIndex copy() {
+		return new ProductionIndex(this);
+	}
+
+	@Override
+	public String toString() {
+		int payouts = 0;
+		for (int size : m_sizes) {
+			payouts += size;
+		}
+		return "Production Index: (Payouts: (" + payouts + "))";
+	}
+
+}
@@ -0,0 +1,125 @@
+package catan.engine.board;
+
+import catan.engine.Game;
+import catan.engine.board.tile.Edge;
+import catan.engine.board.tile.Vertex;
+import catan.engine.player.Player;
+import catan.engine.resources.ResourceBundle;
+
+/**
+ * Random 64 bit keys for every part of the state of a {@link Game}, so the
+ * state can be hashed by xoring together the keys of what it contains and
+ * the hash kept up to date by xoring keys out and in as the state changes.
+ * Keys are derived from their coordinates with a mixing function instead of
+ * stored in tables, so boards of any size share them and the same state
+ * always has the same hash. Empty {@link Vertex} (vertices) and
+ * {@link Edge}s and resources with a count of 0 have a key of 0
+ *
+ * @author Jacob
+ *
+ */
+public class ZobristKeys {
+
+	private static final long BUILDING_SEED = 0x2545F4914F6CDD1DL;
+	private static final long ROAD_SEED = 0x9E3779B97F4A7C15L;
+	private static final long RESOURCE_SEED = 0xD1B54A32D192ED03L;
+	private static final long TURN_SEED = 0x8CB92BA72F3D8DD7L;
+
+	/**
+	 * Bits the resource hash of each {@link Player} is rotated by per id, so
+	 * equal resources held by different {@link Player}s hash differently
+	 */
+	private static final int PLAYER_ROTATION = 13;
+
+	/**
+	 * Key xored in while the dice are waiting to be rolled
+	 */
+	public static final long ROLL_KEY = mix(TURN_SEED - 1);
+
+	/**
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 * @param building
+	 *            the building, as in {@link Occupancy}
+	 * @param owner
+	 *            the id of the owner
+	 * @return the key of the building on the {@link Vertex}
+	 */
+	public static long getBuildingKey(int vertex, byte building, int owner) {
+		if (building == Occupancy.EMPTY) {
+			return 0;
+		}
+		return mix(BUILDING_SEED + ((long) vertex << 16 | (building & 0xFF) << 8 | (owner & 0xFF)));
+	}
+
+	/**
+	 *
+	 * @param edge
+	 *            the id of the {@link Edge}
+	 * @param owner
+	 *            the id of the owner of the road, 0 for none
+	 * @return the key of the road on the {@link Edge}
+	 */
+	public static long getRoadKey(int edge, int owner) {
+		if (owner == 0) {
+			return 0;
+		}
+		return mix(ROAD_SEED + ((long) edge << 8 | (owner & 0xFF)));
+	}
+
+	/**
+	 *
+	 * @param resource
+	 *            the resource, as in {@link ResourceBundle}
+	 * @param count
+	 *            the amount held
+	 * @return the key of holding the amount of the resource
+	 */
+	public static long getResourceKey(int resource, int count) {
+		if (count == 0) {
+			return 0;
+		}
+		return mix(RESOURCE_SEED + ((long) count << 8 | resource));
+	}
+
+	/**
+	 * Combines the resource hash of a {@link Player} into a hash of the whole
+	 * state
+	 *
+	 * @param resources
+	 *            the hash of the resources, see
+	 *            {@link ResourceBundle#getHash()}
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @return the key of the {@link Player} holding the resources
+	 */
+	public static long getPlayerKey(long resources, int player) {
+		return Long.rotateLeft(resources, player * PLAYER_ROTATION);
+	}
+
+	/**
+	 *
+	 * @param turn
+	 *            the index of the active {@link Player} in the turn order
+	 * @return the key of the turn
+	 */
+	public static long getTurnKey(int turn) {
+		return mix(TURN_SEED + turn);
+	}
+
+	/**
+	 * Scrambles the bits of a long, the finalizer of the SplitMix64
+	 * generator
+	 *
+	 * @param value
+	 *            the long to scramble
+	 * @return the scrambled long
+	 */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+}
@@ -1,8 +1,5 @@
 package catan.engine.board.objects;
 
-import java.awt.AlphaComposite;
-import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.image.BufferedImage;
 
 import catan.engine.board.Board;
@@ -103,36 +100,23 @@ public abstract class BoardObject<T> {
 	 *            the dimensions of the panel this {@link BoardObject} is on in
 	 *            pixels {x, y}
 	 * @return a scaled version of the {@link BufferedImage} that should be used
-	 *         to display this {@link BoardObject}
+	 *         to display this {@link BoardObject}, shared with every other
+	 *         {@link BoardObject} drawn the same way and must not be modified
 	 * @throws BoardObjectNotInitializedException
 	 *             if this {@link BoardObject} has not been initialized
 	 */
 	public BufferedImage getImage(int[] mapDimensions, int[] panelDimensions)
 			throws BoardObjectNotInitializedException {
-		if (m_baseImages.getImageMatching(getClass()) == null) {
+		BufferedImage base = m_baseImages.getImageMatching(getClass());
+		if (base == null) {
 			throw new BoardObjectNotInitializedException();
 		}
-		if (mapDimensions == null || panelDimensions == null) {
-			m_image = m_baseImages.getImageMatching(getClass());
-		} else {
-			int[] dimensions = getImageDimensions(mapDimensions, panelDimensions);
-			Image image = m_baseImages.getImageMatching(getClass()).getScaledInstance(dimensions[0], dimensions[1],
-					Image.SCALE_SMOOTH);
-			BufferedImage bufferedImage = new BufferedImage(image.getWidth(null), image.getHeight(null),
-					BufferedImage.TYPE_INT_ARGB);
-			Graphics2D g2D = bufferedImage.createGraphics();
-			g2D.drawImage(image, 0, 0, null);
-			g2D.dispose();
-			m_image = bufferedImage;
-		}
 
-		// color image if possible
-		if (m_owner != null) {
-			Graphics2D g2D = m_image.createGraphics();
-			g2D.setColor(m_owner.getColor().getColor());
-			g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_ATOP, 0.5f));
-			g2D.fillRect(0, 0, m_image.getWidth(), m_image.getHeight());
-		}
+		int[] dimensions = mapDimensions == null || panelDimensions == null
+				? new int[] { base.getWidth(), base.getHeight() }
+				: getImageDimensions(mapDimensions, panelDimensions);
+		m_image = m_baseImages.getSprite(getClass(), m_owner == null ? null : m_owner.getColor().getColor(), false,
+				dimensions[0], dimensions[1]);
 
 		return m_image;
 	}
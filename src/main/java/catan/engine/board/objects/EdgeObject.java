@@ -1,12 +1,6 @@
 package catan.engine.board.objects;
 
-import java.awt.AlphaComposite;
-import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.util.Arrays;
 
 import catan.engine.board.tile.Edge;
 import catan.engine.board.tile.EdgeNotInitializedException;
@@ -103,59 +97,28 @@ public abstract class EdgeObject extends BoardObject<Edge> {
 	@Override
 	public BufferedImage getImage(int[] mapDimensions, int[] panelDimensions)
 			throws BoardObjectNotInitializedException {
-		if (m_baseImages.getImageMatching(getClass()) == null) {
+		BufferedImage base = m_baseImages.getImageMatching(getClass());
+		if (base == null) {
 			throw new BoardObjectNotInitializedException();
 		}
-		if (mapDimensions == null || panelDimensions == null) {
-			m_image = m_baseImages.getImageMatching(getClass());
-		} else {
-			int[] dimensions = null;
-			try {
-				if (getPosition().isVertical()) {
-					dimensions = getImageDimensions(mapDimensions, panelDimensions);	
-				} else {
-					dimensions = new int[] {getImageDimensions(mapDimensions, panelDimensions)[1], getImageDimensions(mapDimensions, panelDimensions)[0]};
-				}
-			} catch (VertexNotInitializedException e) {
-				e.printStackTrace();
-				System.exit(0);
-				return null;
-			}
-			Image image = m_baseImages.getImageMatching(getClass()).getScaledInstance(dimensions[0], dimensions[1],
-					Image.SCALE_SMOOTH);
-			BufferedImage bufferedImage = new BufferedImage(image.getWidth(null), image.getHeight(null),
-					BufferedImage.TYPE_INT_ARGB);
-			Graphics2D g2D = bufferedImage.createGraphics();
-			g2D.drawImage(image, 0, 0, null);
-			g2D.dispose();
-			m_image = bufferedImage;
-		}
 
-		// rotate image if needed
 		try {
-			if (!getPosition().isVertical()) {
-				int width = (int) Math.floor(m_image.getWidth() * Math.abs(Math.cos(Math.toRadians(90)))
-						+ m_image.getHeight() * Math.abs(Math.sin(Math.toRadians(90))));
-				int height = (int) Math.floor(m_image.getHeight() * Math.abs(Math.cos(Math.toRadians(90)))
-						+ m_image.getWidth() * Math.abs(Math.sin(Math.toRadians(90))));
-				AffineTransform transform = new AffineTransform();
-				transform.translate(width / 2, height / 2);
-				transform.rotate(Math.toRadians(90), 0, 0);
-				transform.translate(-m_image.getWidth() / 2, -m_image.getHeight() / 2);
-				AffineTransformOp rotateOp = new AffineTransformOp(transform, AffineTransformOp.TYPE_BILINEAR);
-				m_image = rotateOp.filter(m_image, new BufferedImage(width, height, m_image.getType()));
+			// base image is vertical, rotate for horizontal edges
+			boolean rotated = !getPosition().isVertical();
+			int[] dimensions;
+			if (mapDimensions == null || panelDimensions == null) {
+				dimensions = rotated ? new int[] { base.getHeight(), base.getWidth() }
+						: new int[] { base.getWidth(), base.getHeight() };
+			} else {
+				dimensions = getImageDimensions(mapDimensions, panelDimensions);
 			}
+			m_image = m_baseImages.getSprite(getClass(),
+					getOwner() == null ? null : getOwner().getColor().getColor(), rotated, dimensions[0],
+					dimensions[1]);
 		} catch (VertexNotInitializedException e) {
 			e.printStackTrace();
 			System.exit(0);
-		}
-
-		// color image if possible
-		if (getOwner() != null) {
-			Graphics2D g2D = m_image.createGraphics();
-			g2D.setColor(getOwner().getColor().getColor());
-			g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_ATOP, 0.5f));
-			g2D.fillRect(0, 0, m_image.getWidth(), m_image.getHeight());
+			return null;
 		}
 
 		return m_image;
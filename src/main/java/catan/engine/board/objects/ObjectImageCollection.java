@@ -1,49 +1,166 @@
 package catan.engine.board.objects;
 
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Class to be statically implemented and used for storing and accessing a group
- * of {@link ObjectImage}s. Each {@link ObjectImage} is associated with a class,
- * and as such, multiple {@link BufferedImage}s can be stored statically in the
- * base {@link BoardObject} in a very easy and scaleable fashion. This approach
- * works the same when {@link BoardObject} has 500 children as it does when it
- * has 5000 children.
- * 
+ * Class to be statically implemented and used as a shared sprite cache for
+ * every {@link BoardObject}. Each class of {@link BoardObject} registers a
+ * single base {@link BufferedImage}, and every scaled, rotated and tinted
+ * version of it is drawn once and then shared by all {@link BoardObject}s
+ * with the same class, owner {@link Color}, orientation and size. Constructing
+ * a {@link BoardObject} therefore never allocates a new image
+ *
  * @author Jacob
  *
  */
 public class ObjectImageCollection {
 
-	private ArrayList<ObjectImage> m_images = new ArrayList<ObjectImage>();
+	/**
+	 * The most sprites kept at once, the cache is cleared when it grows past
+	 * this, which only happens after many different panel sizes have been
+	 * drawn
+	 */
+	public static final int MAX_SPRITES = 256;
+
+	private ConcurrentHashMap<Class, BufferedImage> m_baseImages = new ConcurrentHashMap<Class, BufferedImage>();
+	private ConcurrentHashMap<Class, ConcurrentHashMap<Long, BufferedImage>> m_sprites = new ConcurrentHashMap<Class, ConcurrentHashMap<Long, BufferedImage>>();
+	private int m_spriteCount = 0;
 
 	/**
-	 * Gets the {@link BufferedImage} specified
-	 * 
+	 * Gets the base {@link BufferedImage} registered for a class, which must
+	 * not be modified
+	 *
 	 * @param c
 	 *            {@link Class} to get the image matching
-	 * @return the {@link BufferedImage}
+	 * @return the {@link BufferedImage}, or null if none has been registered
 	 */
 	public BufferedImage getImageMatching(Class c) {
-		for (ObjectImage image : m_images) {
-			if (image.getStoredClass().equals(c)) {
-				return image.getImage();
-			}
-		}
-		return null;
+		return m_baseImages.get(c);
 	}
 
 	/**
-	 * Adds a {@link ObjectImage} to the collection
-	 * 
+	 * Registers the base {@link BufferedImage} for a class, does nothing if
+	 * the class already has one
+	 *
 	 * @param image
 	 *            the {@link BufferedImage} to add
 	 * @param c
 	 *            the {@link Class} to associate it with
 	 */
 	public void addImage(BufferedImage image, Class c) {
-		m_images.add(new ObjectImage(image, c));
+		m_baseImages.putIfAbsent(c, image);
+	}
+
+	/**
+	 * Gets the shared sprite for a class, drawing it the first time it is
+	 * needed. The returned {@link BufferedImage} must not be modified
+	 *
+	 * @param c
+	 *            the {@link Class} of the {@link BoardObject}
+	 * @param color
+	 *            the {@link Color} to tint the sprite with, or null for none
+	 * @param rotated
+	 *            whether the base image should be rotated by 90 degrees
+	 * @param width
+	 *            the width of the sprite in pixels, after rotation
+	 * @param height
+	 *            the height of the sprite in pixels, after rotation
+	 * @return the sprite, or null if no base image has been registered for the
+	 *         class
+	 */
+	public BufferedImage getSprite(Class c, Color color, boolean rotated, int width, int height) {
+		BufferedImage base = m_baseImages.get(c);
+		if (base == null) {
+			return null;
+		}
+
+		width = Math.max(1, width);
+		height = Math.max(1, height);
+
+		ConcurrentHashMap<Long, BufferedImage> sprites = m_sprites.computeIfAbsent(c,
+				(key) -> new ConcurrentHashMap<Long, BufferedImage>());
+		long key = getKey(color, rotated, width, height);
+		BufferedImage sprite = sprites.get(key);
+		if (sprite == null) {
+			sprite = drawSprite(base, color, rotated, width, height);
+			synchronized (this) {
+				if (m_spriteCount >= MAX_SPRITES) {
+					m_sprites.clear();
+					m_spriteCount = 0;
+					sprites = m_sprites.computeIfAbsent(c, (k) -> new ConcurrentHashMap<Long, BufferedImage>());
+				}
+				if (sprites.putIfAbsent(key, sprite) == null) {
+					m_spriteCount++;
+				}
+			}
+		}
+		return sprite;
+	}
+
+	/**
+	 * Packs the properties of a sprite into a single key
+	 *
+	 * @param color
+	 *            the tint {@link Color}, or null for none
+	 * @param rotated
+	 *            whether the sprite is rotated
+	 * @param width
+	 *            the width of the sprite in pixels
+	 * @param height
+	 *            the height of the sprite in pixels
+	 * @return the key
+	 */
+	private static long getKey(Color color, boolean rotated, int width, int height) {
+		long tint = color == null ? 0 : (1L << 24) | (color.getRGB() & 0xFFFFFF);
+		return tint << 33 | (rotated ? 1L : 0L) << 32 | (long) (width & 0xFFFF) << 16 | (height & 0xFFFF);
+	}
+
+	/**
+	 * Draws a sprite by scaling, rotating and tinting a base image
+	 *
+	 * @param base
+	 *            the base {@link BufferedImage}
+	 * @param color
+	 *            the tint {@link Color}, or null for none
+	 * @param rotated
+	 *            whether the base image should be rotated by 90 degrees
+	 * @param width
+	 *            the width of the sprite in pixels, after rotation
+	 * @param height
+	 *            the height of the sprite in pixels, after rotation
+	 * @return the new sprite
+	 */
+	private static BufferedImage drawSprite(BufferedImage base, Color color, boolean rotated, int width,
+			int height) {
+		BufferedImage sprite = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2D = sprite.createGraphics();
+		g2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+		if (rotated) {
+			// rotate clockwise about the top left, then move back into view
+			g2D.translate(width, 0);
+			g2D.rotate(Math.toRadians(90));
+			g2D.drawImage(base, 0, 0, height, width, null);
+			g2D.rotate(-Math.toRadians(90));
+			g2D.translate(-width, 0);
+		} else {
+			g2D.drawImage(base, 0, 0, width, height, null);
+		}
+
+		// color image if possible
+		if (color != null) {
+			g2D.setColor(color);
+			g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_ATOP, 0.5f));
+			g2D.fillRect(0, 0, width, height);
+		}
+
+		g2D.dispose();
+		return sprite;
 	}
 
 }
@@ -20,6 +20,13 @@ import catan.engine.resources.ResourceMetric;
  */
 public interface Productive {
 
+	/**
+	 * 
+	 * @return the number of each resource this {@link VertexObject} produces
+	 *         from every adjacent {@link Tile} whose frequency is rolled
+	 */
+	public int getProductivity();
+
 	/**
 	 * 
 	 * @return {@link ResourceBundle} containing all resources this
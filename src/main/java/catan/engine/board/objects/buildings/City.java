@@ -5,15 +5,16 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
+import catan.engine.board.Bitboard;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.Occupancy;
 import catan.engine.board.objects.BoardObject;
 import catan.engine.board.objects.BoardObjectNotInitializedException;
 import catan.engine.board.objects.InvalidLocationException;
 import catan.engine.board.objects.NoOwnerException;
 import catan.engine.board.objects.Productive;
 import catan.engine.board.objects.VertexObject;
-import catan.engine.board.tile.EdgeNotInitializedException;
 import catan.engine.board.tile.Tile;
 import catan.engine.board.tile.TileNotInitializedException;
 import catan.engine.board.tile.Vertex;
@@ -31,9 +32,24 @@ import catan.renderer.panel.BoardPanel;
  */
 public class City extends VertexObject implements Productive {
 
-	private static final int PRODUCTIVITY = 2;
+	public static final int PRODUCTIVITY = 2;
 	public static final int VICTORY_POINTS = 2;
 
+	/**
+	 * The base image shared by every {@link City}, tinted and scaled as needed
+	 * by {@link #getImage(int[], int[])}
+	 */
+	private static final BufferedImage BASE_IMAGE = new BufferedImage(
+			(int) (0.6 * ((double) BoardPanel.PANEL_HORIZONTAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[1])),
+			(int) (0.6 * ((double) BoardPanel.PANEL_VERTICAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[0])),
+			BufferedImage.TYPE_INT_RGB) {
+		{
+			Graphics2D g2D = createGraphics();
+			g2D.setColor(new Color(175, 175, 175));
+			g2D.fillRect(0, 0, getWidth(), getHeight());
+		}
+	};
+
 	/**
 	 * Creates a {@link City}
 	 * 
@@ -48,16 +64,7 @@ public class City extends VertexObject implements Productive {
 	 *             if initialized in an invalid location
 	 */
 	public City(Player owner, Vertex position, boolean ignoreLocation) throws InvalidLocationException {
-		super(owner, position, new BufferedImage(
-				(int) (0.6 * ((double) BoardPanel.PANEL_HORIZONTAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[1])),
-				(int) (0.6 * ((double) BoardPanel.PANEL_VERTICAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[0])),
-				BufferedImage.TYPE_INT_RGB) {
-			{
-				Graphics2D g2D = createGraphics();
-				g2D.setColor(new Color(175, 175, 175));
-				g2D.fillRect(0, 0, getWidth(), getHeight());
-			}
-		}, ignoreLocation);
+		super(owner, position, BASE_IMAGE, ignoreLocation);
 	}
 
 	/**
@@ -75,7 +82,8 @@ public class City extends VertexObject implements Productive {
 	}
 
 	/**
-	 * Gets all valid {@link City} locations on this {@link Board}
+	 * Gets all valid {@link City} locations on this {@link Board}, in the
+	 * order of their ids in {@link Occupancy}, row by row
 	 * 
 	 * @param board
 	 *            the {@link Board} to check locations on
@@ -86,18 +94,17 @@ public class City extends VertexObject implements Productive {
 	 *             if the {@link Board} has not been initialized
 	 */
 	public static Vertex[] getValidLocations(Board board, Player owner) throws BoardNotInitializedException {
-		ArrayList<Vertex> vertices = new ArrayList<Vertex>();
+		Occupancy occupancy = board.getOccupancy();
+		int id = board.getPlayerId(owner);
 
-		board.forAllObjects((object) -> {
-			try {
-				if (object instanceof Village && ((Village) object).getOwner() == owner) {
-					vertices.add(((Village) object).getPosition());
-				}
-			} catch (BoardObjectNotInitializedException e) {
-				e.printStackTrace();
-				System.exit(0);
-			}
-		});
+		long[] locations = new long[occupancy.getWords()];
+		occupancy.getCityLocations(id, locations);
+
+		ArrayList<Vertex> vertices = new ArrayList<Vertex>();
+		for (int vertex = Bitboard.nextSetBit(locations, 0, locations.length, 0); vertex != -1; vertex = Bitboard
+				.nextSetBit(locations, 0, locations.length, vertex + 1)) {
+			vertices.add(board.getVertex(vertex / occupancy.getColumns(), vertex % occupancy.getColumns()));
+		}
 
 		Vertex[] output = new Vertex[vertices.size()];
 		output = vertices.toArray(output);
@@ -115,16 +122,8 @@ public class City extends VertexObject implements Productive {
 	 * @return true if valid
 	 */
 	public static boolean isValidLocation(Vertex vertex, Player owner) {
-		return vertex.getBoard().getAllObjectsMatching((object) -> {
-			try {
-				return object instanceof Village && ((Village) object).getPosition().equals(vertex)
-						&& object.getOwner() == owner;
-			} catch (BoardObjectNotInitializedException e) {
-				e.printStackTrace();
-				System.exit(0);
-				return false;
-			}
-		}).length == 1;
+		return vertex.getBoard().getOccupancy().canBuildCity(vertex.getRow(), vertex.getColumn(),
+				vertex.getBoard().getPlayerId(owner));
 	}
 
 	/**
@@ -135,27 +134,9 @@ public class City extends VertexObject implements Productive {
 	@Override
 	public boolean validLocation() {
 		try {
-			return getPosition().getBoard().getAllObjectsMatching((object) -> {
-				try {
-					return (object instanceof Village || object instanceof City)
-							&& (((Vertex) object.getPosition()).isAdjacent(getPosition())
-									|| ((Vertex) object.getPosition()).equals(getPosition()));
-				} catch (VertexNotInitializedException | BoardObjectNotInitializedException e) {
-					e.printStackTrace();
-					System.exit(0);
-					return false;
-				}
-			}).length == 0 && getPosition().getBoard().getAllObjectsMatching((object) -> {
-				try {
-					return object instanceof Road && ((Road) object).getOwner() == getOwner()
-							&& (((Road) object).getPosition().getEndPoints()[0].equals(getPosition())
-									|| ((Road) object).getPosition().getEndPoints()[1].equals(getPosition()));
-				} catch (EdgeNotInitializedException | BoardObjectNotInitializedException e) {
-					e.printStackTrace();
-					System.exit(0);
-					return false;
-				}
-			}).length > 0;
+			// the village being upgraded has already been removed, so the
+			// vertex must be free just like a new village
+			return Village.isValidLocation(getPosition(), getOwner());
 		} catch (BoardObjectNotInitializedException e) {
 			e.printStackTrace();
 			System.exit(0);
@@ -163,6 +144,16 @@ public class City extends VertexObject implements Productive {
 		}
 	}
 
+	/**
+	 * 
+	 * @return the number of each resource this {@link City} produces from
+	 *         every adjacent {@link Tile} whose frequency is rolled
+	 */
+	@Override
+	public int getProductivity() {
+		return PRODUCTIVITY;
+	}
+
 	/**
 	 * @param frequency
 	 *            the int frequency of this turn
@@ -4,19 +4,16 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
+import catan.engine.board.Bitboard;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.Occupancy;
 import catan.engine.board.objects.BoardObjectNotInitializedException;
 import catan.engine.board.objects.EdgeObject;
 import catan.engine.board.objects.InvalidLocationException;
 import catan.engine.board.tile.Edge;
 import catan.engine.board.tile.EdgeNotInitializedException;
-import catan.engine.board.tile.Vertex;
 import catan.engine.board.tile.VertexNotInitializedException;
 import catan.engine.player.Player;
 import catan.renderer.panel.BoardPanel;
@@ -29,6 +26,21 @@ import catan.renderer.panel.BoardPanel;
  */
 public class Road extends EdgeObject {
 
+	/**
+	 * The base image shared by every {@link Road}, tinted and scaled as needed
+	 * by {@link #getImage(int[], int[])}
+	 */
+	private static final BufferedImage BASE_IMAGE = new BufferedImage(
+			(int) (0.1 * ((double) BoardPanel.PANEL_HORIZONTAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[1])),
+			(int) (0.5 * ((double) BoardPanel.PANEL_VERTICAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[0])),
+			BufferedImage.TYPE_INT_RGB) {
+		{
+			Graphics2D g2D = createGraphics();
+			g2D.setColor(new Color(225, 225, 225));
+			g2D.fillRect(0, 0, getWidth(), getHeight());
+		}
+	};
+
 	/**
 	 * Creates a new {@link Road}
 	 * 
@@ -43,16 +55,7 @@ public class Road extends EdgeObject {
 	 *             if initialized in an invalid location
 	 */
 	public Road(Player owner, Edge position, boolean ignoreLocation) throws InvalidLocationException {
-		super(owner, position, new BufferedImage(
-				(int) (0.1 * ((double) BoardPanel.PANEL_HORIZONTAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[1])),
-				(int) (0.5 * ((double) BoardPanel.PANEL_VERTICAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[0])),
-				BufferedImage.TYPE_INT_RGB) {
-			{
-				Graphics2D g2D = createGraphics();
-				g2D.setColor(new Color(225, 225, 225));
-				g2D.fillRect(0, 0, getWidth(), getHeight());
-			}
-		}, ignoreLocation);
+		super(owner, position, BASE_IMAGE, ignoreLocation);
 	}
 
 	/**
@@ -70,7 +73,11 @@ public class Road extends EdgeObject {
 	}
 
 	/**
-	 * Gets all valid {@link Road} locations on this {@link Board}
+	 * Gets all valid {@link Road} locations on this {@link Board}, in the
+	 * order of their {@link Edge#getId()}, so every horizontal {@link Edge}
+	 * comes before every vertical one rather than each vertex giving both of
+	 * its {@link Edge}s in turn. Moves are picked from this order, so
+	 * seeded games depend on it
 	 * 
 	 * @param board
 	 *            the {@link Board} to check locations on
@@ -81,36 +88,24 @@ public class Road extends EdgeObject {
 	 *             if the {@link Board} has not been initialized
 	 */
 	public static Edge[] getValidLocations(Board board, Player owner) throws BoardNotInitializedException {
-		ArrayList<Edge> disallowed = new ArrayList<Edge>();
+		Occupancy occupancy = board.getOccupancy();
+		int id = board.getPlayerId(owner);
 
-		board.forAllObjects((object) -> {
-			try {
-				if (object instanceof Road) {
-					disallowed.add(((Road) object).getPosition());
-				}
-			} catch (BoardObjectNotInitializedException e) {
-				e.printStackTrace();
-				System.exit(0);
-			}
-		});
+		long[] horizontal = new long[occupancy.getWords()];
+		long[] vertical = new long[occupancy.getWords()];
+		occupancy.getRoadLocations(id, horizontal, vertical);
 
 		ArrayList<Edge> edges = new ArrayList<Edge>();
-
-		board.forAllObjects((object) -> {
-			try {
-				if (object instanceof Road && ((Road) object).getOwner() == owner) {
-					ArrayList<Edge> newEdges = new ArrayList<Edge>(
-							Arrays.asList(((Road) object).getPosition().getAdjacentEdges()));
-					newEdges.removeAll(edges);
-					edges.addAll(newEdges);
-				}
-			} catch (BoardNotInitializedException | VertexNotInitializedException | EdgeNotInitializedException
-					| BoardObjectNotInitializedException e) {
-				e.printStackTrace();
-			}
-		});
-
-		edges.removeAll(disallowed);
+		for (int vertex = Bitboard.nextSetBit(horizontal, 0, horizontal.length, 0); vertex != -1; vertex = Bitboard
+				.nextSetBit(horizontal, 0, horizontal.length, vertex + 1)) {
+			edges.add(board.getEdge(vertex));
+		}
+		// vertical edges are numbered after every horizontal edge
+		int vertices = occupancy.getRows() * occupancy.getColumns();
+		for (int vertex = Bitboard.nextSetBit(vertical, 0, vertical.length, 0); vertex != -1; vertex = Bitboard
+				.nextSetBit(vertical, 0, vertical.length, vertex + 1)) {
+			edges.add(board.getEdge(vertices + vertex));
+		}
 
 		Edge[] output = new Edge[edges.size()];
 		output = edges.toArray(output);
@@ -129,35 +124,10 @@ public class Road extends EdgeObject {
 	 */
 	public static boolean isValidLocation(Edge edge, Player owner) {
 		try {
-			if (Math.abs(edge.getDelta()[0]) + Math.abs(edge.getDelta()[1]) != 1) {
-				return false;
-			}
-			Vertex[] endPoints = edge.getEndPoints();
-			for (Vertex vertex : endPoints) {
-				if (edge.getBoard().getAllObjectsMatching((object) -> {
-					try {
-						return object instanceof Road && ((Road) object).getOwner() == owner
-								&& (((Road) object).getPosition().getEndPoints()[0].equals(vertex)
-										|| ((Road) object).getPosition().getEndPoints()[1].equals(vertex));
-					} catch (EdgeNotInitializedException | BoardObjectNotInitializedException e) {
-						e.printStackTrace();
-						System.exit(0);
-						return false;
-					}
-				}).length > 0 && edge.getBoard().getAllObjectsMatching((object) -> {
-					try {
-						return object instanceof Road && ((Road) object).getPosition().equals(edge);
-					} catch (BoardObjectNotInitializedException e) {
-						e.printStackTrace();
-						System.exit(0);
-						return false;
-					}
-				}).length == 0) {
-					return true;
-				}
-			}
-			return false;
-		} catch (EdgeNotInitializedException | VertexNotInitializedException e) {
+			return edge.getBoard().getOccupancy().canBuildRoad(edge.getVertex1().getRow(),
+					edge.getVertex1().getColumn(), edge.getVertex2().getRow(), edge.getVertex2().getColumn(),
+					edge.getBoard().getPlayerId(owner));
+		} catch (EdgeNotInitializedException e) {
 			e.printStackTrace();
 			System.exit(0);
 			return false;
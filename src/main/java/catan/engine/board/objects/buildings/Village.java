@@ -5,15 +5,16 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
+import catan.engine.board.Bitboard;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.Occupancy;
 import catan.engine.board.objects.BoardObject;
 import catan.engine.board.objects.BoardObjectNotInitializedException;
 import catan.engine.board.objects.InvalidLocationException;
 import catan.engine.board.objects.NoOwnerException;
 import catan.engine.board.objects.Productive;
 import catan.engine.board.objects.VertexObject;
-import catan.engine.board.tile.EdgeNotInitializedException;
 import catan.engine.board.tile.Tile;
 import catan.engine.board.tile.TileNotInitializedException;
 import catan.engine.board.tile.Vertex;
@@ -31,9 +32,24 @@ import catan.renderer.panel.BoardPanel;
  */
 public class Village extends VertexObject implements Productive {
 
-	private static final int PRODUCTIVITY = 1;
+	public static final int PRODUCTIVITY = 1;
 	public static final int VICTORY_POINTS = 1;
 
+	/**
+	 * The base image shared by every {@link Village}, tinted and scaled as needed
+	 * by {@link #getImage(int[], int[])}
+	 */
+	private static final BufferedImage BASE_IMAGE = new BufferedImage(
+			(int) (0.4 * ((double) BoardPanel.PANEL_HORIZONTAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[1])),
+			(int) (0.4 * ((double) BoardPanel.PANEL_VERTICAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[0])),
+			BufferedImage.TYPE_INT_RGB) {
+		{
+			Graphics2D g2D = createGraphics();
+			g2D.setColor(new Color(200, 200, 200));
+			g2D.fillRect(0, 0, getWidth(), getHeight());
+		}
+	};
+
 	/**
 	 * Creates a {@link Village}
 	 * 
@@ -48,16 +64,7 @@ public class Village extends VertexObject implements Productive {
 	 *             if initialized in an invalid location
 	 */
 	public Village(Player owner, Vertex position, boolean ignoreLocation) throws InvalidLocationException {
-		super(owner, position, new BufferedImage(
-				(int) (0.4 * ((double) BoardPanel.PANEL_HORIZONTAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[1])),
-				(int) (0.4 * ((double) BoardPanel.PANEL_VERTICAL) / ((double) Board.DEFAULT_BOARD_DIMENSIONS[0])),
-				BufferedImage.TYPE_INT_RGB) {
-			{
-				Graphics2D g2D = createGraphics();
-				g2D.setColor(new Color(200, 200, 200));
-				g2D.fillRect(0, 0, getWidth(), getHeight());
-			}
-		}, ignoreLocation);
+		super(owner, position, BASE_IMAGE, ignoreLocation);
 	}
 
 	/**
@@ -84,14 +91,16 @@ public class Village extends VertexObject implements Productive {
 	 *             if created in an invalid location
 	 */
 	public City upgrade() throws BoardObjectNotInitializedException, InvalidLocationException {
-		getPosition().getBoard().removeObject(this);
-		City city = new City(getOwner(), getPosition());
-		getPosition().getBoard().addObject(city);
+		// this village already holds the location, which is valid for a city
+		City city = new City(getOwner(), getPosition(), true);
+		getPosition().getBoard().replaceObject(this, city);
 		return city;
 	}
 
 	/**
-	 * Gets all valid {@link Village} locations on this {@link Board}
+	 * Gets all valid {@link Village} locations on this {@link Board}, in the
+	 * order of their ids in {@link Occupancy}, row by row. Moves are picked
+	 * from this order, so seeded games depend on it
 	 * 
 	 * @param board
 	 *            the {@link Board} to check locations on
@@ -102,84 +111,16 @@ public class Village extends VertexObject implements Productive {
 	 *             if the {@link Board} has not been initialized
 	 */
 	public static Vertex[] getValidLocations(Board board, Player owner) throws BoardNotInitializedException {
-		int[][] map = new int[board.getVertexDimensions()[0]][board.getVertexDimensions()[1]];
+		Occupancy occupancy = board.getOccupancy();
+		int id = board.getPlayerId(owner);
 
-		board.forAllObjects((object) -> {
-			try {
-				if (object instanceof Road && ((Road) object).getOwner() == owner) {
-					if (map[((Road) object).getPosition().getEndPoints()[0]
-							.getPosition()[0]][((Road) object).getPosition().getEndPoints()[0].getPosition()[1]] == 0) {
-						map[((Road) object).getPosition().getEndPoints()[0]
-								.getPosition()[0]][((Road) object).getPosition().getEndPoints()[0]
-										.getPosition()[1]] = 1;
-					}
-					if (map[((Road) object).getPosition().getEndPoints()[1]
-							.getPosition()[0]][((Road) object).getPosition().getEndPoints()[1].getPosition()[1]] == 0) {
-						map[((Road) object).getPosition().getEndPoints()[1]
-								.getPosition()[0]][((Road) object).getPosition().getEndPoints()[1]
-										.getPosition()[1]] = 1;
-					}
-				}
-				if (object instanceof Village || object instanceof City) {
-					if (((Vertex) object.getPosition()).getPosition()[0] >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[0] < board.getVertexDimensions()[0]
-							&& ((Vertex) object.getPosition()).getPosition()[1] >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[1] < board.getVertexDimensions()[1]) {
-						// if valid vertex
-						map[((Vertex) object.getPosition()).getPosition()[0]][((Vertex) object.getPosition())
-								.getPosition()[1]] = 2;
-					}
-
-					if (((Vertex) object.getPosition()).getPosition()[0] + 1 >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[0] + 1 < board.getVertexDimensions()[0]
-							&& ((Vertex) object.getPosition()).getPosition()[1] >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[1] < board.getVertexDimensions()[1]) {
-						// if valid vertex
-						map[((Vertex) object.getPosition()).getPosition()[0] + 1][((Vertex) object.getPosition())
-								.getPosition()[1]] = 2;
-					}
-
-					if (((Vertex) object.getPosition()).getPosition()[0] - 1 >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[0] < board.getVertexDimensions()[0]
-							&& ((Vertex) object.getPosition()).getPosition()[1] >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[1] < board.getVertexDimensions()[1]) {
-						// if valid vertex
-						map[((Vertex) object.getPosition()).getPosition()[0] - 1][((Vertex) object.getPosition())
-								.getPosition()[1]] = 2;
-					}
-
-					if (((Vertex) object.getPosition()).getPosition()[0] >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[0] < board.getVertexDimensions()[0]
-							&& ((Vertex) object.getPosition()).getPosition()[1] + 1 >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[1] + 1 < board.getVertexDimensions()[1]) {
-						// if valid vertex
-						map[((Vertex) object.getPosition()).getPosition()[0]][((Vertex) object.getPosition())
-								.getPosition()[1] + 1] = 2;
-					}
-
-					if (((Vertex) object.getPosition()).getPosition()[0] >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[0] < board.getVertexDimensions()[0]
-							&& ((Vertex) object.getPosition()).getPosition()[1] - 1 >= 0
-							&& ((Vertex) object.getPosition()).getPosition()[1] - 1 < board.getVertexDimensions()[1]) {
-						// if valid vertex
-						map[((Vertex) object.getPosition()).getPosition()[0]][((Vertex) object.getPosition())
-								.getPosition()[1] - 1] = 2;
-					}
-				}
-			} catch (VertexNotInitializedException | BoardObjectNotInitializedException | BoardNotInitializedException
-					| EdgeNotInitializedException e) {
-				e.printStackTrace();
-				System.exit(0);
-			}
-		});
+		long[] locations = new long[occupancy.getWords()];
+		occupancy.getVillageLocations(id, locations);
 
 		ArrayList<Vertex> vertices = new ArrayList<Vertex>();
-		for (int i = 0; i < map.length; i++) {
-			for (int j = 0; j < map[0].length; j++) {
-				if (map[i][j] == 1) {
-					vertices.add(board.getVertex(i, j));
-				}
-			}
+		for (int vertex = Bitboard.nextSetBit(locations, 0, locations.length, 0); vertex != -1; vertex = Bitboard
+				.nextSetBit(locations, 0, locations.length, vertex + 1)) {
+			vertices.add(board.getVertex(vertex / occupancy.getColumns(), vertex % occupancy.getColumns()));
 		}
 		Vertex[] output = new Vertex[vertices.size()];
 		output = vertices.toArray(output);
@@ -197,27 +138,8 @@ public class Village extends VertexObject implements Productive {
 	 * @return true if valid
 	 */
 	public static boolean isValidLocation(Vertex vertex, Player owner) {
-		return vertex.getBoard().getAllObjectsMatching((object) -> {
-			try {
-				return (object instanceof Village || object instanceof City)
-						&& (((Vertex) object.getPosition()).isAdjacent(vertex)
-								|| ((Vertex) object.getPosition()).equals(vertex));
-			} catch (VertexNotInitializedException | BoardObjectNotInitializedException e) {
-				e.printStackTrace();
-				System.exit(0);
-				return false;
-			}
-		}).length == 0 && vertex.getBoard().getAllObjectsMatching((object) -> {
-			try {
-				return object instanceof Road && ((Road) object).getOwner() == owner
-						&& (((Road) object).getPosition().getEndPoints()[0].equals(vertex)
-								|| ((Road) object).getPosition().getEndPoints()[1].equals(vertex));
-			} catch (EdgeNotInitializedException | BoardObjectNotInitializedException e) {
-				e.printStackTrace();
-				System.exit(0);
-				return false;
-			}
-		}).length > 0;
+		return vertex.getBoard().getOccupancy().canBuildVillage(vertex.getRow(), vertex.getColumn(),
+				vertex.getBoard().getPlayerId(owner));
 	}
 
 	/**
@@ -236,6 +158,16 @@ public class Village extends VertexObject implements Productive {
 		}
 	}
 
+	/**
+	 * 
+	 * @return the number of each resource this {@link Village} produces from
+	 *         every adjacent {@link Tile} whose frequency is rolled
+	 */
+	@Override
+	public int getProductivity() {
+		return PRODUCTIVITY;
+	}
+
 	/**
 	 * @param frequency
 	 *            the int frequency of this turn
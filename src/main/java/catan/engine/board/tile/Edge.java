@@ -6,6 +6,7 @@ import java.util.Collections;
 import catan.Catan;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.BoardTopology;
 
 /**
  * Class representing an edge between two {@link Tile}s on the {@link Catan}
@@ -18,6 +19,7 @@ public class Edge {
 
 	private Vertex m_vertex1;
 	private Vertex m_vertex2;
+	private int m_id = -1;
 
 	/**
 	 * Creates a new {@link Edge}
@@ -33,8 +35,55 @@ public class Edge {
 	 *            created on
 	 */
 	public Edge(int[] vertex1, int[] vertex2, Board board) {
-		m_vertex1 = board.getVertex(vertex1[0], vertex1[1]);
-		m_vertex2 = board.getVertex(vertex2[0], vertex2[1]);
+		this(board.getVertex(vertex1[0], vertex1[1]), board.getVertex(vertex2[0], vertex2[1]),
+				board.getEdgeId(vertex1[0], vertex1[1], vertex2[0], vertex2[1]));
+	}
+
+	/**
+	 * Creates a new {@link Edge} with a packed id. Use
+	 * {@link Board#getEdge(Vertex, Vertex)} to get the canonical instance of
+	 * an {@link Edge} on a {@link Board}
+	 * 
+	 * @param vertex1
+	 *            the first {@link Vertex}
+	 * @param vertex2
+	 *            the second {@link Vertex}
+	 * @param id
+	 *            the id of this {@link Edge} on the {@link Board}, -1 if it is
+	 *            not on the {@link Board}
+	 */
+	public Edge(Vertex vertex1, Vertex vertex2, int id) {
+		m_vertex1 = vertex1;
+		m_vertex2 = vertex2;
+		m_id = id;
+	}
+
+	/**
+	 * 
+	 * @return the first {@link Vertex} of this {@link Edge}
+	 */
+	public Vertex getVertex1() {
+		return m_vertex1;
+	}
+
+	/**
+	 * 
+	 * @return the second {@link Vertex} of this {@link Edge}
+	 */
+	public Vertex getVertex2() {
+		return m_vertex2;
+	}
+
+	/**
+	 * 
+	 * @return the packed id of this {@link Edge} on its {@link Board}, the id
+	 *         of its top left {@link Vertex} for horizontal {@link Edge}s, or
+	 *         that plus the number of {@link Vertex} (vertices) for vertical
+	 *         {@link Edge}s, -1 if this {@link Edge} is not on the
+	 *         {@link Board}
+	 */
+	public int getId() {
+		return m_id;
 	}
 
 	/**
@@ -85,12 +134,23 @@ public class Edge {
 	 */
 	public Edge[] getAdjacentEdges()
 			throws BoardNotInitializedException, VertexNotInitializedException, EdgeNotInitializedException {
+		if (m_id != -1) {
+			BoardTopology topology = getBoard().getTopology();
+			int start = topology.getEdgeEdgeOffsets()[m_id];
+			Edge[] output = new Edge[topology.getEdgeEdgeOffsets()[m_id + 1] - start];
+			for (int i = 0; i < output.length; i++) {
+				output[i] = getBoard().getEdge(topology.getEdgeEdges()[start + i]);
+			}
+			return output;
+		}
+
+		// not on the board, build from the end points
 		ArrayList<Edge> edges = new ArrayList<Edge>();
 		for (Vertex vertex : getEndPoints()[0].getAdjacentVertices()) {
-			edges.add(new Edge(getEndPoints()[0].getPosition(), vertex.getPosition(), getBoard()));
+			edges.add(getBoard().getEdge(m_vertex1, vertex));
 		}
 		for (Vertex vertex : getEndPoints()[1].getAdjacentVertices()) {
-			edges.add(new Edge(getEndPoints()[1].getPosition(), vertex.getPosition(), getBoard()));
+			edges.add(getBoard().getEdge(m_vertex2, vertex));
 		}
 		edges.removeAll(Collections.singleton(this));
 		Edge[] output = new Edge[edges.size()];
@@ -110,6 +170,9 @@ public class Edge {
 
 	@Override
 	public boolean equals(Object object) {
+		if (object == this) {
+			return true;
+		}
 		try {
 			return object instanceof Edge && ((((Edge) object).getEndPoints()[0].equals(getEndPoints()[0])
 					&& ((Edge) object).getEndPoints()[1].equals(getEndPoints()[1]))
@@ -122,6 +185,12 @@ public class Edge {
 		}
 	}
 
+	@Override
+	public int hashCode() {
+		// symmetric, as the order of the end points doesn't matter
+		return m_id != -1 ? m_id : m_vertex1.hashCode() + m_vertex2.hashCode();
+	}
+
 	@Override
 	public String toString() {
 		return "Edge: (" + m_vertex1 + ", " + m_vertex2 + ")";
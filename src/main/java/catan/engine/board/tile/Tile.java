@@ -7,9 +7,10 @@ import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.WritableRaster;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.SplittableRandom;
 import java.util.Stack;
 
+import catan.engine.RandomUtils;
 import catan.engine.resources.ResourceBundle;
 import catan.renderer.Colors;
 
@@ -25,6 +26,7 @@ public class Tile {
 	public static final int FREQUENCY_MAX = 12;
 
 	private static final int[] FREQUENCY_DISTRIBUTION = new int[] { 1, 2, 3, 4, 5, 6, 5, 4, 3, 2, 1 };
+	private static final Font FREQUENCY_FONT = new Font("Arial", Font.PLAIN, 25);
 
 	private int m_frequency = -1;
 	private TileType m_type;
@@ -158,7 +160,7 @@ public class Tile {
 			if (m_type != TileType.COAST && m_type != TileType.OCEAN) {
 				Graphics2D g2D = m_image.createGraphics();
 
-				g2D.setFont(new Font("Arial", Font.PLAIN, 25));
+				g2D.setFont(FREQUENCY_FONT);
 				g2D.setColor(Colors.FREQUENCY_COLOR);
 				g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
 				String text = "" + m_frequency;
@@ -191,7 +193,7 @@ public class Tile {
 		if (m_type != TileType.COAST && m_type != TileType.OCEAN) {
 			Graphics2D g2D = m_image.createGraphics();
 
-			g2D.setFont(new Font("Arial", Font.PLAIN, 25));
+			g2D.setFont(FREQUENCY_FONT);
 			g2D.setColor(Colors.FREQUENCY_COLOR);
 			g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
 			g2D.drawString("" + m_frequency, 5, 20);
@@ -257,6 +259,20 @@ public class Tile {
 	 * @return an array containing the frequencies
 	 */
 	public static int[] getFrequencies(int number) {
+		return getFrequencies(number, new SplittableRandom());
+	}
+
+	/**
+	 * Gets a specific number of evenly distributed frequencies from min
+	 * frequency to max frequency
+	 * 
+	 * @param number
+	 *            the number of frequencies to get
+	 * @param random
+	 *            the source of randomness to shuffle with
+	 * @return an array containing the frequencies
+	 */
+	public static int[] getFrequencies(int number, SplittableRandom random) {
 		int[] frequencies = new int[number];
 		int[] frequencyRange = new int[FREQUENCY_MAX - FREQUENCY_MIN + 1];
 
@@ -279,7 +295,7 @@ public class Tile {
 			unevenInt.add(frequencyRange[i]);
 		}
 
-		Collections.shuffle(unevenInt);
+		RandomUtils.shuffle(unevenInt, random);
 
 		while (arrayIndex < frequencies.length) {
 			frequencies[arrayIndex] = unevenInt.pop();
@@ -292,7 +308,7 @@ public class Tile {
 			tempFrequencies.add(i);
 		}
 
-		Collections.shuffle(tempFrequencies);
+		RandomUtils.shuffle(tempFrequencies, random);
 
 		for (int i = 0; i < frequencies.length; i++) {
 			frequencies[i] = tempFrequencies.get(i);
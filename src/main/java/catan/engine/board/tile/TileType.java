@@ -5,10 +5,11 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.Stack;
 
+import catan.engine.RandomUtils;
 import catan.engine.board.Board;
 import catan.engine.resources.ResourceBundle;
 import catan.renderer.Colors;
@@ -148,36 +149,7 @@ public enum TileType {
 	 * @return an array containing the {@link TileType}s
 	 */
 	public static TileType[] getTileTypes(int number) {
-		TileType[] types = new TileType[number];
-
-		int arrayIndex = 0;
-
-		for (int i = 0; i < number / TileType.values().length; i++) {
-			for (int j = 0; j < TileType.values().length; j++) {
-				types[arrayIndex] = TileType.values()[j];
-				arrayIndex++;
-			}
-		}
-
-		Stack<TileType> unevenTypes = new Stack<TileType>();
-
-		unevenTypes.addAll(Arrays.asList(TileType.values()));
-
-		Collections.shuffle(unevenTypes);
-
-		while (arrayIndex < types.length) {
-			types[arrayIndex] = unevenTypes.pop();
-			arrayIndex++;
-		}
-
-		List<TileType> tempTypes = Arrays.asList(types);
-		Collections.shuffle(tempTypes);
-
-		for (int i = 0; i < types.length; i++) {
-			types[i] = tempTypes.get(i);
-		}
-
-		return types;
+		return getTileTypes(number, new SplittableRandom());
 	}
 
 	/**
@@ -190,6 +162,21 @@ public enum TileType {
 	 * @return an array containing the {@link TileType}s
 	 */
 	public static TileType[] getTileTypes(int number, TileType... exclude) {
+		return getTileTypes(number, new SplittableRandom(), exclude);
+	}
+
+	/**
+	 * Gets a specific number of evenly distributed {@link TileType}s
+	 * 
+	 * @param number
+	 *            the number of {@link TileType}s to get
+	 * @param random
+	 *            the source of randomness to shuffle with
+	 * @param exclude
+	 *            {@link TileType}s to exclude
+	 * @return an array containing the {@link TileType}s
+	 */
+	public static TileType[] getTileTypes(int number, SplittableRandom random, TileType... exclude) {
 		TileType[] types = new TileType[number];
 
 		int arrayIndex = 0;
@@ -219,7 +206,7 @@ public enum TileType {
 
 		unevenTypes.addAll(Arrays.asList(values));
 
-		Collections.shuffle(unevenTypes);
+		RandomUtils.shuffle(unevenTypes, random);
 
 		while (arrayIndex < types.length) {
 			types[arrayIndex] = unevenTypes.pop();
@@ -227,7 +214,7 @@ public enum TileType {
 		}
 
 		List<TileType> tempTypes = Arrays.asList(types);
-		Collections.shuffle(tempTypes);
+		RandomUtils.shuffle(tempTypes, random);
 
 		for (int i = 0; i < types.length; i++) {
 			types[i] = tempTypes.get(i);
@@ -1,10 +1,10 @@
 package catan.engine.board.tile;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.BoardTopology;
 import catan.engine.resources.ResourceMetric;
 
 /**
@@ -17,10 +17,12 @@ public class Vertex {
 
 	private int m_row = -1;
 	private int m_column = -1;
+	private int m_id = -1;
 	private Board m_board;
 
 	/**
-	 * Creates a new {@link Vertex}
+	 * Creates a new {@link Vertex}. Use {@link Board#getVertex(int, int)} to
+	 * get the canonical instance of a {@link Vertex} on a {@link Board}
 	 * 
 	 * @param row
 	 *            the row the vertex is on
@@ -30,9 +32,53 @@ public class Vertex {
 	 *            the {@link Vertex} is on
 	 */
 	public Vertex(int row, int col, Board board) {
+		this(row, col, board, board == null ? -1 : board.getVertexId(row, col));
+	}
+
+	/**
+	 * Creates a new {@link Vertex} with a packed id
+	 * 
+	 * @param row
+	 *            the row the vertex is on
+	 * @param col
+	 *            the column the vertex is on
+	 * @param board
+	 *            the {@link Vertex} is on
+	 * @param id
+	 *            the id of this {@link Vertex} on the {@link Board}, -1 if it
+	 *            is not on the {@link Board}
+	 */
+	public Vertex(int row, int col, Board board, int id) {
 		m_row = row;
 		m_column = col;
 		m_board = board;
+		m_id = id;
+	}
+
+	/**
+	 * 
+	 * @return the row this {@link Vertex} is on, -1 if not initialized
+	 */
+	public int getRow() {
+		return m_row;
+	}
+
+	/**
+	 * 
+	 * @return the column this {@link Vertex} is on, -1 if not initialized
+	 */
+	public int getColumn() {
+		return m_column;
+	}
+
+	/**
+	 * 
+	 * @return the packed id of this {@link Vertex} on its {@link Board}, row *
+	 *         columns + column, or -1 if this {@link Vertex} is not on the
+	 *         {@link Board}
+	 */
+	public int getId() {
+		return m_id;
 	}
 
 	/**
@@ -68,21 +114,15 @@ public class Vertex {
 			throw new VertexNotInitializedException();
 		}
 		int sum = 0;
-		try {
-			sum += getBoard().getTileValue(gameStage, m_row, m_column, metric);
-		} catch (ArrayIndexOutOfBoundsException e) {
-		}
-		try {
-			sum += getBoard().getTileValue(gameStage, m_row - 1, m_column, metric);
-		} catch (ArrayIndexOutOfBoundsException e) {
-		}
-		try {
-			sum += getBoard().getTileValue(gameStage, m_row, m_column - 1, metric);
-		} catch (ArrayIndexOutOfBoundsException e) {
+		if (m_id == -1) {
+			// off the board, no tiles touch this vertex
+			return sum;
 		}
-		try {
-			sum += getBoard().getTileValue(gameStage, m_row - 1, m_column - 1, metric);
-		} catch (ArrayIndexOutOfBoundsException e) {
+		BoardTopology topology = m_board.getTopology();
+		for (int i = topology.getVertexTileOffsets()[m_id]; i < topology.getVertexTileOffsets()[m_id + 1]; i++) {
+			int tile = topology.getVertexTiles()[i];
+			sum += getBoard().getTileValue(gameStage, tile / topology.getTileColumns(),
+					tile % topology.getTileColumns(), metric);
 		}
 		return sum;
 	}
@@ -117,25 +157,16 @@ public class Vertex {
 		if (m_row == -1 || m_column == -1) {
 			throw new VertexNotInitializedException();
 		}
-		ArrayList<Tile> tiles = new ArrayList<Tile>();
-		try {
-			tiles.add(m_board.getTileAt(m_row, m_column));
-		} catch (ArrayIndexOutOfBoundsException e) {
-		}
-		try {
-			tiles.add(m_board.getTileAt(m_row - 1, m_column));
-		} catch (ArrayIndexOutOfBoundsException e) {
-		}
-		try {
-			tiles.add(m_board.getTileAt(m_row, m_column - 1));
-		} catch (ArrayIndexOutOfBoundsException e) {
+		if (m_id == -1) {
+			// off the board, no tiles touch this vertex
+			return new Tile[0];
 		}
-		try {
-			tiles.add(m_board.getTileAt(m_row - 1, m_column - 1));
-		} catch (ArrayIndexOutOfBoundsException e) {
+		BoardTopology topology = m_board.getTopology();
+		int start = topology.getVertexTileOffsets()[m_id];
+		Tile[] output = new Tile[topology.getVertexTileOffsets()[m_id + 1] - start];
+		for (int i = 0; i < output.length; i++) {
+			output[i] = m_board.getTile(topology.getVertexTiles()[start + i]);
 		}
-		Tile[] output = new Tile[tiles.size()];
-		output = tiles.toArray(output);
 		return output;
 	}
 
@@ -151,6 +182,17 @@ public class Vertex {
 		if (m_row == -1 || m_column == -1) {
 			throw new VertexNotInitializedException();
 		}
+		if (m_id != -1) {
+			BoardTopology topology = m_board.getTopology();
+			int start = topology.getVertexVertexOffsets()[m_id];
+			Vertex[] output = new Vertex[topology.getVertexVertexOffsets()[m_id + 1] - start];
+			for (int i = 0; i < output.length; i++) {
+				output[i] = m_board.getVertex(topology.getVertexVertices()[start + i]);
+			}
+			return output;
+		}
+
+		// off the board, check each neighbour
 		ArrayList<Vertex> vertices = new ArrayList<Vertex>();
 
 		if (m_row + 1 >= 0 && m_row + 1 < m_board.getVertexDimensions()[0] && m_column >= 0
@@ -191,8 +233,10 @@ public class Vertex {
 	 * @return true if adjacent
 	 */
 	public boolean isAdjacent(Vertex vertex) throws VertexNotInitializedException {
-		return Math.abs(getPosition()[0] - vertex.getPosition()[0])
-				+ Math.abs(getPosition()[1] - vertex.getPosition()[1]) == 1;
+		if (m_row == -1 || m_column == -1 || vertex.m_row == -1 || vertex.m_column == -1) {
+			throw new VertexNotInitializedException();
+		}
+		return Math.abs(m_row - vertex.m_row) + Math.abs(m_column - vertex.m_column) == 1;
 	}
 
 	/**
@@ -213,7 +257,10 @@ public class Vertex {
 	 *             if either {@link Vertex} has not been initialized
 	 */
 	public int[] getDistanceFrom(Vertex vertex) throws VertexNotInitializedException {
-		return new int[] { vertex.getPosition()[1] - getPosition()[1], vertex.getPosition()[0] - getPosition()[0] };
+		if (m_row == -1 || m_column == -1 || vertex.m_row == -1 || vertex.m_column == -1) {
+			throw new VertexNotInitializedException();
+		}
+		return new int[] { vertex.m_column - m_column, vertex.m_row - m_row };
 	}
 
 	@Override
@@ -223,14 +270,16 @@ public class Vertex {
 
 	@Override
 	public boolean equals(Object object) {
-		try {
-			return object instanceof Vertex && ((Vertex) object).getBoard() == getBoard()
-					&& Arrays.equals(((Vertex) object).getPosition(), getPosition());
-		} catch (VertexNotInitializedException e) {
-			e.printStackTrace();
-			System.exit(0);
-			return false;
+		if (object == this) {
+			return true;
 		}
+		return object instanceof Vertex && ((Vertex) object).getBoard() == getBoard()
+				&& ((Vertex) object).m_row == m_row && ((Vertex) object).m_column == m_column;
+	}
+
+	@Override
+	public int hashCode() {
+		return m_id != -1 ? m_id : 31 * m_row + m_column;
 	}
 
 }
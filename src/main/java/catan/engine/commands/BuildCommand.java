@@ -0,0 +1,61 @@
+package catan.engine.commands;
+
+import catan.engine.Game;
+import catan.engine.GamePhase;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.moves.Move;
+import catan.engine.player.Player;
+
+/**
+ * Class representing a {@link Player} building on their turn. Building ends
+ * the turn, as it does for automatic {@link Player}s
+ *
+ * @author Jacob
+ *
+ */
+public class BuildCommand implements GameCommand {
+
+	private Player m_player;
+	private Move m_move;
+
+	/**
+	 * Creates a new {@link BuildCommand}
+	 *
+	 * @param player
+	 *            the {@link Player} building
+	 * @param move
+	 *            the {@link Move} to apply
+	 */
+	public BuildCommand(Player player, Move move) {
+		m_player = player;
+		m_move = move;
+	}
+
+	@Override
+	public Player getPlayer() {
+		return m_player;
+	}
+
+	@Override
+	public GamePhase getPhase() {
+		return GamePhase.ACTION;
+	}
+
+	/**
+	 * Applies the {@link Move}, ending the turn if it succeeds
+	 */
+	@Override
+	public boolean execute(Game game) throws BoardNotInitializedException {
+		if (!m_move.apply()) {
+			return false;
+		}
+		game.finishTurn();
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "Build Command: (" + m_player + ", " + m_move + ")";
+	}
+
+}
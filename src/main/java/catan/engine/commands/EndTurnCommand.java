@@ -0,0 +1,52 @@
+package catan.engine.commands;
+
+import catan.engine.Game;
+import catan.engine.GamePhase;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.player.Player;
+
+/**
+ * Class representing a {@link Player} ending their turn without building
+ *
+ * @author Jacob
+ *
+ */
+public class EndTurnCommand implements GameCommand {
+
+	private Player m_player;
+
+	/**
+	 * Creates a new {@link EndTurnCommand}
+	 *
+	 * @param player
+	 *            the {@link Player} ending their turn
+	 */
+	public EndTurnCommand(Player player) {
+		m_player = player;
+	}
+
+	@Override
+	public Player getPlayer() {
+		return m_player;
+	}
+
+	@Override
+	public GamePhase getPhase() {
+		return GamePhase.ACTION;
+	}
+
+	/**
+	 * Ends the turn
+	 */
+	@Override
+	public boolean execute(Game game) throws BoardNotInitializedException {
+		game.finishTurn();
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "End Turn Command: (" + m_player + ")";
+	}
+
+}
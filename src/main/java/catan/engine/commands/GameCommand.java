@@ -0,0 +1,46 @@
+package catan.engine.commands;
+
+import catan.engine.Game;
+import catan.engine.GamePhase;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.objects.InvalidLocationException;
+import catan.engine.player.Player;
+
+/**
+ * Interface representing a single action a {@link Player} asks a {@link Game}
+ * to take. {@link GameCommand}s are submitted to {@link Game#submit} and run
+ * one at a time on the {@link Game}'s scheduler, and are ignored unless the
+ * {@link Game} is in their {@link GamePhase} and waiting on their
+ * {@link Player}
+ *
+ * @author Jacob
+ *
+ */
+public interface GameCommand {
+
+	/**
+	 *
+	 * @return the {@link Player} issuing this command
+	 */
+	public Player getPlayer();
+
+	/**
+	 *
+	 * @return the {@link GamePhase} this command can be run in
+	 */
+	public GamePhase getPhase();
+
+	/**
+	 * Runs this command
+	 *
+	 * @param game
+	 *            the {@link Game} to run this command on
+	 * @return true if the {@link Game} changed
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Game}'s board is not initialized
+	 * @throws InvalidLocationException
+	 *             if anything is created in an invalid location
+	 */
+	public boolean execute(Game game) throws BoardNotInitializedException, InvalidLocationException;
+
+}
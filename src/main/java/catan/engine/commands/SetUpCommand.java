@@ -0,0 +1,70 @@
+package catan.engine.commands;
+
+import catan.engine.Game;
+import catan.engine.GamePhase;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.objects.InvalidLocationException;
+import catan.engine.board.objects.buildings.Road;
+import catan.engine.board.objects.buildings.Village;
+import catan.engine.player.Player;
+
+/**
+ * Class representing a {@link Player} placing one of their starting
+ * {@link Village}s and its {@link Road}. Set up moves on to the next
+ * {@link Player} once {@link Game#STARTING_VILLAGES} have been placed
+ *
+ * @author Jacob
+ *
+ */
+public class SetUpCommand implements GameCommand {
+
+	private Player m_player;
+	private Road m_road;
+	private Village m_village;
+
+	/**
+	 * Creates a new {@link SetUpCommand}
+	 *
+	 * @param player
+	 *            the {@link Player} placing
+	 * @param road
+	 *            the starting {@link Road}
+	 * @param village
+	 *            the starting {@link Village}
+	 */
+	public SetUpCommand(Player player, Road road, Village village) {
+		m_player = player;
+		m_road = road;
+		m_village = village;
+	}
+
+	@Override
+	public Player getPlayer() {
+		return m_player;
+	}
+
+	@Override
+	public GamePhase getPhase() {
+		return GamePhase.SETUP;
+	}
+
+	/**
+	 * Places the {@link Road} and {@link Village}
+	 */
+	@Override
+	public boolean execute(Game game) throws BoardNotInitializedException, InvalidLocationException {
+		game.getBoard().addObject(m_road);
+		game.getBoard().addObject(m_village);
+		if (game.getBoard().getAllObjectsMatching((object) -> object instanceof Village
+				&& object.getOwner() == m_player).length >= Game.STARTING_VILLAGES) {
+			game.finishSetUp();
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "Set Up Command: (" + m_player + ", " + m_road + ", " + m_village + ")";
+	}
+
+}
@@ -0,0 +1,190 @@
+package catan.engine.moves;
+
+import catan.engine.board.Board;
+import catan.engine.board.objects.InvalidLocationException;
+import catan.engine.board.objects.buildings.City;
+import catan.engine.board.objects.buildings.Road;
+import catan.engine.board.objects.buildings.Village;
+import catan.engine.board.objects.buildings.construction.ConstructRoad;
+import catan.engine.board.objects.buildings.construction.ConstructVillage;
+import catan.engine.board.objects.buildings.construction.UpgradeVillage;
+import catan.engine.board.tile.Edge;
+import catan.engine.board.tile.Vertex;
+import catan.engine.player.Player;
+import catan.engine.resources.PurchaseCosts;
+import catan.engine.resources.ResourceBundle;
+
+/**
+ * Class representing a possible construction as a single int, holding the
+ * type of construction, the id of the {@link Player} and the id of the
+ * {@link Vertex} or {@link Edge} it is on. No {@link Village}, {@link City}
+ * or {@link Road} is created until the {@link Move} is applied
+ *
+ * @author Jacob
+ *
+ */
+public class CandidateMove implements Move {
+
+	public static final int VILLAGE = 0;
+	public static final int CITY = 1;
+	public static final int ROAD = 2;
+
+	private static final int TYPE_SHIFT = 26;
+	private static final int PLAYER_SHIFT = 18;
+	private static final int LOCATION_MASK = (1 << PLAYER_SHIFT) - 1;
+
+	private int m_move;
+	private Board m_board;
+
+	/**
+	 * Creates a new {@link CandidateMove}
+	 *
+	 * @param move
+	 *            the encoded move
+	 * @param board
+	 *            the {@link Board} the move is made on
+	 */
+	public CandidateMove(int move, Board board) {
+		m_move = move;
+		m_board = board;
+	}
+
+	/**
+	 * Encodes a move as a single int
+	 *
+	 * @param type
+	 *            the type of move, {@link #VILLAGE}, {@link #CITY} or
+	 *            {@link #ROAD}
+	 * @param player
+	 *            the id of the {@link Player} making the move
+	 * @param location
+	 *            the id of the {@link Vertex} or {@link Edge} the move is on
+	 * @return the encoded move
+	 */
+	public static int encode(int type, int player, int location) {
+		return type << TYPE_SHIFT | player << PLAYER_SHIFT | location;
+	}
+
+	/**
+	 *
+	 * @param move
+	 *            an encoded move
+	 * @return the type of the move
+	 */
+	public static int getType(int move) {
+		return move >>> TYPE_SHIFT;
+	}
+
+	/**
+	 *
+	 * @param move
+	 *            an encoded move
+	 * @return the id of the {@link Player} making the move
+	 */
+	public static int getPlayer(int move) {
+		return (move >>> PLAYER_SHIFT) & 0xFF;
+	}
+
+	/**
+	 *
+	 * @param move
+	 *            an encoded move
+	 * @return the id of the {@link Vertex} or {@link Edge} the move is on
+	 */
+	public static int getLocation(int move) {
+		return move & LOCATION_MASK;
+	}
+
+	/**
+	 *
+	 * @param move
+	 *            an encoded move
+	 * @return the cost of the move
+	 */
+	public static ResourceBundle getCost(int move) {
+		switch (getType(move)) {
+		case VILLAGE:
+			return PurchaseCosts.VILLAGE_COST;
+		case CITY:
+			return PurchaseCosts.CITY_COST;
+		default:
+			return PurchaseCosts.ROAD_COST;
+		}
+	}
+
+	/**
+	 *
+	 * @return the encoded move
+	 */
+	public int getMove() {
+		return m_move;
+	}
+
+	/**
+	 *
+	 * @return the cost of this move
+	 */
+	public ResourceBundle getCost() {
+		return getCost(m_move);
+	}
+
+	/**
+	 * Creates the {@link PurchaseMove} this move represents, constructing the
+	 * {@link Village}, {@link City} or {@link Road} involved
+	 *
+	 * @return the {@link PurchaseMove}
+	 * @throws InvalidLocationException
+	 *             if the move is no longer valid
+	 */
+	public PurchaseMove toPurchaseMove() throws InvalidLocationException {
+		Player player = m_board.getPlayer(getPlayer(m_move));
+		switch (getType(m_move)) {
+		case VILLAGE:
+			return new PurchaseMove(
+					new ConstructVillage(new Village(player, m_board.getVertex(getLocation(m_move)))), player);
+		case CITY:
+			if (!(m_board.getBuilding(getLocation(m_move)) instanceof Village)) {
+				throw new InvalidLocationException();
+			}
+			return new PurchaseMove(new UpgradeVillage((Village) m_board.getBuilding(getLocation(m_move))), player);
+		default:
+			return new PurchaseMove(new ConstructRoad(new Road(player, m_board.getEdge(getLocation(m_move)))),
+					player);
+		}
+	}
+
+	/**
+	 * Applies this move, constructing the {@link Village}, {@link City} or
+	 * {@link Road} involved
+	 */
+	@Override
+	public boolean apply() {
+		try {
+			return toPurchaseMove().apply();
+		} catch (InvalidLocationException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Makes this move with {@link Board#make(int, UndoStack)}
+	 */
+	@Override
+	public boolean make(UndoStack undo) {
+		m_board.make(m_move, undo);
+		return true;
+	}
+
+	@Override
+	public void undo(UndoStack undo) {
+		m_board.unmake(undo);
+	}
+
+	@Override
+	public String toString() {
+		String type = getType(m_move) == VILLAGE ? "Village" : getType(m_move) == CITY ? "City" : "Road";
+		return "Candidate Move: (" + type + ", Player: (" + getPlayer(m_move) + "), Location: ("
+				+ getLocation(m_move) + "))";
+	}
+
+}
@@ -1,24 +1,415 @@
 package catan.engine.moves;
 
+import java.util.Arrays;
+
 import catan.Catan;
+import catan.engine.Game;
+import catan.engine.GamePhase;
 import catan.engine.board.Board;
-import catan.engine.board.tile.Tile;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.Occupancy;
+import catan.engine.board.ZobristKeys;
+import catan.engine.board.tile.Edge;
+import catan.engine.board.tile.Vertex;
+import catan.engine.player.Player;
+import catan.engine.resources.ResourceBundle;
 
 /**
- * Class representing the state of the {@link Catan} game at a single point in
- * time
- * 
+ * Immutable snapshot of the state of the {@link Catan} game at a single
+ * point in time: what is built on every {@link Vertex} and {@link Edge},
+ * every {@link Player}'s resources and victory points, and whose turn it is.
+ * The {@link TileLayer}, which never changes, is shared by reference.
+ *
+ * <p>
+ * Changing a {@link GameState} creates a new one and leaves the old one as it
+ * was. Buildings, their owners and {@link Edge}s are stored in separate pages
+ * of {@link #PAGE_SIZE}, as in {@link Occupancy}, and a change copies only the
+ * pages it touches and the small arrays of pages, sharing every other page
+ * with the old
+ * {@link GameState}. The resources and victory points are small enough to be
+ * copied whole when they change. Forking a position therefore costs a few
+ * hundred bytes however large the {@link Board} is
+ *
+ * <p>
+ * {@link Player}s are referred to by the id their {@link Board} gave them.
+ * The hash of a {@link GameState} is kept up to date as it changes, and
+ * equals {@link Game#getHash()} for the same position
+ *
  * @author Jacob
  *
  */
-public class GameState extends Board {
+public final class GameState {
+
+	public static final int PAGE_BITS = 6;
+	public static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+	private static final int RESOURCES = ResourceBundle.RESOURCE_NUMBER;
+
+	private final TileLayer m_layer;
+	private final byte[][] m_buildings;
+	private final byte[][] m_vertexOwners;
+	private final byte[][] m_edges;
+	private final int[] m_resources;
+	private final int[] m_victoryPoints;
+	private final int m_turn;
+	private final boolean m_rollPending;
+	private final long m_hash;
+
+	/**
+	 * Creates a new {@link GameState}, taking ownership of every array
+	 *
+	 * @param layer
+	 *            the shared {@link TileLayer}
+	 * @param buildings
+	 *            the pages of buildings
+	 * @param vertexOwners
+	 *            the pages of building owners
+	 * @param edges
+	 *            the pages of {@link Edge} owners
+	 * @param resources
+	 *            the resources of every {@link Player}, indexed by id times
+	 *            {@link ResourceBundle#RESOURCE_NUMBER} plus resource
+	 * @param victoryPoints
+	 *            the victory points of every {@link Player}, indexed by id
+	 * @param turn
+	 *            the index of the active {@link Player} in the turn order
+	 * @param rollPending
+	 *            true if the dice are waiting to be rolled
+	 * @param hash
+	 *            the hash of the state
+	 */
+	private GameState(TileLayer layer, byte[][] buildings, byte[][] vertexOwners, byte[][] edges, int[] resources,
+			int[] victoryPoints, int turn, boolean rollPending, long hash) {
+		m_layer = layer;
+		m_buildings = buildings;
+		m_vertexOwners = vertexOwners;
+		m_edges = edges;
+		m_resources = resources;
+		m_victoryPoints = victoryPoints;
+		m_turn = turn;
+		m_rollPending = rollPending;
+		m_hash = hash;
+	}
+
+	/**
+	 * Takes a snapshot of a {@link Game}
+	 *
+	 * @param game
+	 *            the {@link Game}
+	 * @return the {@link GameState} of the {@link Game}
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	public static GameState of(Game game) throws BoardNotInitializedException {
+		return of(game, new TileLayer(game));
+	}
+
+	/**
+	 * Takes a snapshot of a {@link Game}, sharing a {@link TileLayer} already
+	 * made for it
+	 *
+	 * @param game
+	 *            the {@link Game}
+	 * @param layer
+	 *            the {@link TileLayer} of the {@link Game}
+	 * @return the {@link GameState} of the {@link Game}
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	public static GameState of(Game game, TileLayer layer) throws BoardNotInitializedException {
+		Board board = game.getBoard();
+		Occupancy occupancy = board.getOccupancy();
+		int vertices = layer.getVertexCount();
+
+		byte[][] buildingPages = pages(vertices);
+		byte[][] ownerPages = pages(vertices);
+		for (int vertex = 0; vertex < vertices; vertex++) {
+			buildingPages[vertex >>> PAGE_BITS][vertex & PAGE_MASK] = occupancy.getBuilding(vertex);
+			ownerPages[vertex >>> PAGE_BITS][vertex & PAGE_MASK] = (byte) occupancy.getVertexOwner(vertex);
+		}
+		byte[][] edgePages = pages(2 * vertices);
+		for (int edge = 0; edge < 2 * vertices; edge++) {
+			edgePages[edge >>> PAGE_BITS][edge & PAGE_MASK] = (byte) occupancy.getEdgeOwner(edge);
+		}
+
+		int[] resources = new int[(layer.getHighestId() + 1) * RESOURCES];
+		int[] victoryPoints = new int[layer.getHighestId() + 1];
+		int turn = 0;
+		long hash = occupancy.getHash();
+		int[] order = layer.getOrder();
+		for (int i = 0; i < order.length; i++) {
+			Player player = board.getPlayer(order[i]);
+			for (int resource = 0; resource < RESOURCES; resource++) {
+				resources[order[i] * RESOURCES + resource] = player.getResources().get(resource);
+			}
+			victoryPoints[order[i]] = occupancy.getVictoryPoints(order[i]);
+			hash ^= ZobristKeys.getPlayerKey(player.getResources().getHash(), order[i]);
+			if (player == game.getActivePlayer()) {
+				turn = i;
+			}
+		}
+
+		boolean rollPending = game.getPhase() == GamePhase.ROLL && turn == 0;
+		hash ^= ZobristKeys.getTurnKey(turn) ^ (rollPending ? ZobristKeys.ROLL_KEY : 0);
+		return new GameState(layer, buildingPages, ownerPages, edgePages, resources, victoryPoints, turn,
+				rollPending, hash);
+	}
+
+	/**
+	 *
+	 * @param size
+	 *            the number of entries
+	 * @return empty pages holding the specified number of entries
+	 */
+	private static byte[][] pages(int size) {
+		byte[][] pages = new byte[(size + PAGE_SIZE - 1) >>> PAGE_BITS][];
+		for (int i = 0; i < pages.length; i++) {
+			pages[i] = new byte[PAGE_SIZE];
+		}
+		return pages;
+	}
+
+	/**
+	 * Copies the page holding an entry and the array of pages, sharing every
+	 * other page
+	 *
+	 * @param pages
+	 *            the pages
+	 * @param index
+	 *            the index of the entry about to change
+	 * @return the new pages
+	 */
+	private static byte[][] copyPage(byte[][] pages, int index) {
+		byte[][] copy = Arrays.copyOf(pages, pages.length);
+		copy[index >>> PAGE_BITS] = Arrays.copyOf(pages[index >>> PAGE_BITS], PAGE_SIZE);
+		return copy;
+	}
+
+	/**
+	 *
+	 * @return the {@link TileLayer} shared by this {@link GameState}
+	 */
+	public TileLayer getTileLayer() {
+		return m_layer;
+	}
+
+	/**
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 * @return the building on the {@link Vertex}, as in {@link Occupancy}
+	 */
+	public byte getBuilding(int vertex) {
+		return m_buildings[vertex >>> PAGE_BITS][vertex & PAGE_MASK];
+	}
+
+	/**
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 * @return the id of the owner of the building on the {@link Vertex}, 0 if
+	 *         there is none
+	 */
+	public int getVertexOwner(int vertex) {
+		return m_vertexOwners[vertex >>> PAGE_BITS][vertex & PAGE_MASK];
+	}
+
+	/**
+	 *
+	 * @param edge
+	 *            the id of the {@link Edge}
+	 * @return the id of the owner of the road on the {@link Edge}, 0 if there
+	 *         is none
+	 */
+	public int getEdgeOwner(int edge) {
+		return m_edges[edge >>> PAGE_BITS][edge & PAGE_MASK];
+	}
+
+	/**
+	 *
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @param resource
+	 *            the resource, as in {@link ResourceBundle}
+	 * @return the amount of the resource the {@link Player} has
+	 */
+	public int getResource(int player, int resource) {
+		return m_resources[player * RESOURCES + resource];
+	}
 
 	/**
-	 * Creates a new {@link GameState}
-	 * @param map
+	 *
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @return a new {@link ResourceBundle} holding the {@link Player}'s
+	 *         resources
 	 */
-	public GameState(Tile[][] map) {
-		super(map);
+	public ResourceBundle getResources(int player) {
+		return new ResourceBundle(Arrays.copyOfRange(m_resources, player * RESOURCES, (player + 1) * RESOURCES));
 	}
-	
+
+	/**
+	 *
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @return the victory points of the {@link Player}
+	 */
+	public int getVictoryPoints(int player) {
+		return m_victoryPoints[player];
+	}
+
+	/**
+	 *
+	 * @return the id of a {@link Player} with enough victory points to win, 0
+	 *         if there is none
+	 */
+	public int getWinner() {
+		for (int player : m_layer.getOrder()) {
+			if (m_victoryPoints[player] >= m_layer.getTargetVictoryPoints()) {
+				return player;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 *
+	 * @return the index of the active {@link Player} in the turn order
+	 */
+	public int getTurn() {
+		return m_turn;
+	}
+
+	/**
+	 *
+	 * @return the id of the active {@link Player}
+	 */
+	public int getActivePlayer() {
+		return m_layer.getOrder()[m_turn];
+	}
+
+	/**
+	 *
+	 * @return true if the dice are waiting to be rolled
+	 */
+	public boolean isRollPending() {
+		return m_rollPending;
+	}
+
+	/**
+	 *
+	 * @return the hash of this {@link GameState}, see {@link ZobristKeys}
+	 */
+	public long getHash() {
+		return m_hash;
+	}
+
+	/**
+	 * Replaces the building on a {@link Vertex}
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 * @param building
+	 *            the building, as in {@link Occupancy}
+	 * @param owner
+	 *            the id of the owner, 0 for an empty {@link Vertex}
+	 * @return the new {@link GameState}
+	 */
+	public GameState withBuilding(int vertex, byte building, int owner) {
+		byte previous = getBuilding(vertex);
+		int previousOwner = getVertexOwner(vertex);
+		byte[][] buildings = copyPage(m_buildings, vertex);
+		buildings[vertex >>> PAGE_BITS][vertex & PAGE_MASK] = building;
+		byte[][] vertexOwners = copyPage(m_vertexOwners, vertex);
+		vertexOwners[vertex >>> PAGE_BITS][vertex & PAGE_MASK] = (byte) owner;
+
+		int[] victoryPoints = Arrays.copyOf(m_victoryPoints, m_victoryPoints.length);
+		victoryPoints[previousOwner] -= Occupancy.getBuildingVictoryPoints(previous);
+		victoryPoints[owner] += Occupancy.getBuildingVictoryPoints(building);
+
+		long hash = m_hash ^ ZobristKeys.getBuildingKey(vertex, previous, previousOwner)
+				^ ZobristKeys.getBuildingKey(vertex, building, owner);
+		return new GameState(m_layer, buildings, vertexOwners, m_edges, m_resources, victoryPoints, m_turn,
+				m_rollPending, hash);
+	}
+
+	/**
+	 * Replaces the road on an {@link Edge}
+	 *
+	 * @param edge
+	 *            the id of the {@link Edge}
+	 * @param owner
+	 *            the id of the owner, 0 to clear the {@link Edge}
+	 * @return the new {@link GameState}
+	 */
+	public GameState withRoad(int edge, int owner) {
+		byte[][] edges = copyPage(m_edges, edge);
+		edges[edge >>> PAGE_BITS][edge & PAGE_MASK] = (byte) owner;
+		long hash = m_hash ^ ZobristKeys.getRoadKey(edge, getEdgeOwner(edge)) ^ ZobristKeys.getRoadKey(edge, owner);
+		return new GameState(m_layer, m_buildings, m_vertexOwners, edges, m_resources, m_victoryPoints, m_turn,
+				m_rollPending, hash);
+	}
+
+	/**
+	 * Replaces the resources of a {@link Player}
+	 *
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @param bundle
+	 *            the new resources
+	 * @return the new {@link GameState}
+	 */
+	public GameState withResources(int player, ResourceBundle bundle) {
+		int[] resources = Arrays.copyOf(m_resources, m_resources.length);
+		long before = 0;
+		for (int resource = 0; resource < RESOURCES; resource++) {
+			before ^= ZobristKeys.getResourceKey(resource, resources[player * RESOURCES + resource]);
+			resources[player * RESOURCES + resource] = bundle.get(resource);
+		}
+		long hash = m_hash ^ ZobristKeys.getPlayerKey(before, player)
+				^ ZobristKeys.getPlayerKey(bundle.getHash(), player);
+		return new GameState(m_layer, m_buildings, m_vertexOwners, m_edges, resources, m_victoryPoints, m_turn,
+				m_rollPending, hash);
+	}
+
+	/**
+	 * Moves the turn on
+	 *
+	 * @param turn
+	 *            the index of the active {@link Player} in the turn order
+	 * @param rollPending
+	 *            true if the dice are waiting to be rolled
+	 * @return the new {@link GameState}
+	 */
+	public GameState withTurn(int turn, boolean rollPending) {
+		long hash = m_hash ^ ZobristKeys.getTurnKey(m_turn) ^ (m_rollPending ? ZobristKeys.ROLL_KEY : 0)
+				^ ZobristKeys.getTurnKey(turn) ^ (rollPending ? ZobristKeys.ROLL_KEY : 0);
+		return new GameState(m_layer, m_buildings, m_vertexOwners, m_edges, m_resources, m_victoryPoints, turn,
+				rollPending, hash);
+	}
+
+	@Override
+	public boolean equals(Object state) {
+		if (!(state instanceof GameState)) {
+			return false;
+		}
+		GameState other = (GameState) state;
+		return m_hash == other.m_hash && m_turn == other.m_turn && m_rollPending == other.m_rollPending
+				&& Arrays.deepEquals(m_buildings, other.m_buildings)
+				&& Arrays.deepEquals(m_vertexOwners, other.m_vertexOwners) && Arrays.deepEquals(m_edges, other.m_edges)
+				&& Arrays.equals(m_resources, other.m_resources);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(m_hash);
+	}
+
+	@Override
+	public String toString() {
+		return "Game State: (Player: (" + getActivePlayer() + "), Roll Pending: (" + m_rollPending + "), Hash: ("
+				+ Long.toHexString(m_hash) + "))";
+	}
+
 }
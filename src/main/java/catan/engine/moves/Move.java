@@ -19,4 +19,26 @@ public interface Move {
 	 */
 	public boolean apply();
 
+	/**
+	 * Applies this move for a search, changing only what the engine needs to
+	 * keep searching. Nothing is drawn and no listener is told, and everything
+	 * changed is pushed onto the specified {@link UndoStack} so
+	 * {@link #undo(UndoStack)} can take it back
+	 * 
+	 * @param undo
+	 *            the {@link UndoStack} to record the changes on
+	 * @return true if successful, false if this move can not be made this way
+	 *         and nothing was changed
+	 */
+	public boolean make(UndoStack undo);
+
+	/**
+	 * Takes back this move, which must be the last one made with
+	 * {@link #make(UndoStack)} on the specified {@link UndoStack}
+	 * 
+	 * @param undo
+	 *            the {@link UndoStack} the move was recorded on
+	 */
+	public void undo(UndoStack undo);
+
 }
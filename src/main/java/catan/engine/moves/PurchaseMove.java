@@ -1,7 +1,10 @@
 package catan.engine.moves;
 
+import catan.engine.board.objects.buildings.construction.ConstructionRequisition;
 import catan.engine.player.Player;
 import catan.engine.resources.Purchase;
+import catan.engine.resources.PurchaseCosts;
+import catan.engine.resources.trading.TradeExchange;
 
 /**
  * Class representing a {@link Purchase} as a {@link Move}
@@ -38,7 +41,36 @@ public class PurchaseMove implements Move {
 	public boolean apply() {
 		return m_player.buy(m_purchase);
 	}
-	
+
+	/**
+	 * Makes this {@link Purchase} if it is a {@link TradeExchange} the
+	 * {@link Player} can afford, a {@link ConstructionRequisition} is made
+	 * with {@link CandidateMove} instead
+	 */
+	@Override
+	public boolean make(UndoStack undo) {
+		if (!(m_purchase instanceof TradeExchange)
+				|| !m_player.getResources().greaterOrEqualTo(m_purchase.getCost())) {
+			return false;
+		}
+		TradeExchange trade = (TradeExchange) m_purchase;
+		undo.begin();
+		m_player.getResources().adjust(trade.getInput(), -PurchaseCosts.TRADEEXCHANGE_COST);
+		undo.push(UndoStack.resource(0, trade.getInput(), -PurchaseCosts.TRADEEXCHANGE_COST));
+		m_player.getResources().adjust(trade.getOutput(), PurchaseCosts.TRADEEXCHANGE_YIELD);
+		undo.push(UndoStack.resource(0, trade.getOutput(), PurchaseCosts.TRADEEXCHANGE_YIELD));
+		return true;
+	}
+
+	@Override
+	public void undo(UndoStack undo) {
+		while (undo.hasRecords()) {
+			long record = undo.pop();
+			m_player.getResources().adjust(UndoStack.getDetail(record), -UndoStack.getValue(record));
+		}
+		undo.end();
+	}
+
 	@Override
 	public String toString() {
 		return "Purchase Move: (" + m_purchase + ")";
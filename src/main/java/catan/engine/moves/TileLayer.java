@@ -0,0 +1,161 @@
+package catan.engine.moves;
+
+import java.util.Arrays;
+
+import catan.engine.Game;
+import catan.engine.board.Board;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.BoardTopology;
+import catan.engine.board.tile.Tile;
+import catan.engine.board.tile.TileNotInitializedException;
+import catan.engine.board.tile.Vertex;
+import catan.engine.player.Player;
+import catan.engine.resources.ResourceBundle;
+
+/**
+ * The part of a {@link Game} that never changes once it has started, the
+ * size of the {@link Board}, the turn order and what every {@link Vertex}
+ * produces on each roll. A single {@link TileLayer} is shared by reference
+ * between every {@link GameState} and copy forked from the same {@link Game}
+ *
+ * <p>
+ * What a {@link Vertex} produces is stored as one int per adjacent
+ * {@link Tile}, the frequency shifted left by 4 and or'd with the resource.
+ * The ints of {@link Vertex} v run from {@link #getVertexPayoutOffsets()}[v]
+ * to {@link #getVertexPayoutOffsets()}[v + 1] in
+ * {@link #getVertexPayouts()}
+ *
+ * @author Jacob
+ *
+ */
+public class TileLayer {
+
+	private final int m_rows;
+	private final int m_columns;
+	private final int[] m_order;
+	private final int m_highestId;
+	private final int m_targetVictoryPoints;
+	private final int[] m_vertexPayoutOffsets;
+	private final int[] m_vertexPayouts;
+
+	/**
+	 * Creates the {@link TileLayer} of a {@link Game}
+	 *
+	 * @param game
+	 *            the {@link Game}
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	public TileLayer(Game game) throws BoardNotInitializedException {
+		Board board = game.getBoard();
+		Player[] players = game.getPlayers();
+
+		m_rows = board.getOccupancy().getRows();
+		m_columns = board.getOccupancy().getColumns();
+		m_targetVictoryPoints = Game.MAX_VICTORY_POINTS;
+
+		m_order = new int[players.length];
+		int highestId = 0;
+		for (int i = 0; i < players.length; i++) {
+			m_order[i] = board.getPlayerId(players[i]);
+			highestId = Math.max(highestId, m_order[i]);
+		}
+		m_highestId = highestId;
+
+		BoardTopology topology = board.getTopology();
+		int[] offsets = topology.getVertexTileOffsets();
+		int[] tiles = topology.getVertexTiles();
+		m_vertexPayoutOffsets = new int[offsets.length];
+		int[] payouts = new int[tiles.length];
+		int size = 0;
+		try {
+			for (int vertex = 0; vertex + 1 < offsets.length; vertex++) {
+				m_vertexPayoutOffsets[vertex] = size;
+				for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+					Tile tile = board.getTile(tiles[i]);
+					int resource = tile.getTileType().getResource();
+					if (resource != ResourceBundle.NULL && tile.getFrequency() >= Tile.FREQUENCY_MIN
+							&& tile.getFrequency() <= Tile.FREQUENCY_MAX) {
+						payouts[size++] = tile.getFrequency() << 4 | resource;
+					}
+				}
+			}
+		} catch (TileNotInitializedException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+		m_vertexPayoutOffsets[offsets.length - 1] = size;
+		m_vertexPayouts = Arrays.copyOf(payouts, size);
+	}
+
+	/**
+	 *
+	 * @return the number of rows of {@link Vertex} (vertices)
+	 */
+	public int getRows() {
+		return m_rows;
+	}
+
+	/**
+	 *
+	 * @return the number of columns of {@link Vertex} (vertices)
+	 */
+	public int getColumns() {
+		return m_columns;
+	}
+
+	/**
+	 *
+	 * @return the number of {@link Vertex} (vertices)
+	 */
+	public int getVertexCount() {
+		return m_rows * m_columns;
+	}
+
+	/**
+	 *
+	 * @return the ids of the {@link Player}s in turn order, not to be modified
+	 */
+	public int[] getOrder() {
+		return m_order;
+	}
+
+	/**
+	 *
+	 * @return the highest id of any {@link Player}
+	 */
+	public int getHighestId() {
+		return m_highestId;
+	}
+
+	/**
+	 *
+	 * @return the victory points needed to win
+	 */
+	public int getTargetVictoryPoints() {
+		return m_targetVictoryPoints;
+	}
+
+	/**
+	 *
+	 * @return where the payouts of each {@link Vertex} start, not to be
+	 *         modified
+	 */
+	public int[] getVertexPayoutOffsets() {
+		return m_vertexPayoutOffsets;
+	}
+
+	/**
+	 *
+	 * @return the payouts of every {@link Vertex}, not to be modified
+	 */
+	public int[] getVertexPayouts() {
+		return m_vertexPayouts;
+	}
+
+	@Override
+	public String toString() {
+		return "Tile Layer: (" + m_rows + ", " + m_columns + ")";
+	}
+
+}
@@ -0,0 +1,239 @@
+package catan.engine.moves;
+
+import java.util.Arrays;
+
+import catan.engine.board.Board;
+import catan.engine.board.Occupancy;
+import catan.engine.board.tile.Edge;
+import catan.engine.board.tile.Vertex;
+import catan.engine.player.Player;
+
+/**
+ * Stack of the changes made to a {@link Board} by {@link Move}s applied with
+ * {@link Move#make(UndoStack)}, so they can be taken back in reverse order
+ * with {@link Move#undo(UndoStack)}. Each change is a single long record and
+ * each {@link Move} pushes its records as one frame. Records and frames are
+ * kept in arrays allocated up front, so making and undoing moves creates no
+ * garbage once the stack is deep enough
+ *
+ * <p>
+ * Every record holds its kind, an 8 bit owner, an 8 bit detail and a 32 bit
+ * value:
+ * <ul>
+ * <li>{@link #RESOURCE}: the {@link Player} id, the resource and the amount
+ * added</li>
+ * <li>{@link #BUILDING}: the previous owner, the previous building and the
+ * {@link Vertex} id</li>
+ * <li>{@link #ROAD}: the previous owner and the {@link Edge} id</li>
+ * </ul>
+ *
+ * @author Jacob
+ *
+ */
+public class UndoStack {
+
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	public static final int RESOURCE = 0;
+	public static final int BUILDING = 1;
+	public static final int ROAD = 2;
+
+	private static final int KIND_SHIFT = 60;
+	private static final int OWNER_SHIFT = 32;
+	private static final int DETAIL_SHIFT = 40;
+
+	private long[] m_records;
+	private int m_size = 0;
+	private int[] m_frames;
+	private int m_depth = 0;
+
+	/**
+	 * Creates a new {@link UndoStack} with the default capacity
+	 */
+	public UndoStack() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@link UndoStack}
+	 *
+	 * @param capacity
+	 *            the number of {@link Move}s the stack holds before growing
+	 */
+	public UndoStack(int capacity) {
+		m_frames = new int[Math.max(1, capacity)];
+		m_records = new long[4 * m_frames.length];
+	}
+
+	/**
+	 * Packs a change to a {@link Player}'s resources into a record
+	 *
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @param resource
+	 *            the resource changed
+	 * @param amount
+	 *            the amount added, negative if removed
+	 * @return the record
+	 */
+	public static long resource(int player, int resource, int amount) {
+		return pack(RESOURCE, player, resource, amount);
+	}
+
+	/**
+	 * Packs what stood on a {@link Vertex} before a change into a record
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex}
+	 * @param building
+	 *            the previous building, as in {@link Occupancy}
+	 * @param owner
+	 *            the id of the previous owner
+	 * @return the record
+	 */
+	public static long building(int vertex, byte building, int owner) {
+		return pack(BUILDING, owner, building, vertex);
+	}
+
+	/**
+	 * Packs the owner of an {@link Edge} before a change into a record
+	 *
+	 * @param edge
+	 *            the id of the {@link Edge}
+	 * @param owner
+	 *            the id of the previous owner
+	 * @return the record
+	 */
+	public static long road(int edge, int owner) {
+		return pack(ROAD, owner, 0, edge);
+	}
+
+	/**
+	 * Packs a record
+	 *
+	 * @param kind
+	 *            the kind of record
+	 * @param owner
+	 *            the owner field
+	 * @param detail
+	 *            the detail field
+	 * @param value
+	 *            the value field
+	 * @return the record
+	 */
+	private static long pack(int kind, int owner, int detail, int value) {
+		return (long) kind << KIND_SHIFT | (long) (detail & 0xFF) << DETAIL_SHIFT
+				| (long) (owner & 0xFF) << OWNER_SHIFT | (value & 0xFFFFFFFFL);
+	}
+
+	/**
+	 *
+	 * @param record
+	 *            a record
+	 * @return the kind of the record, {@link #RESOURCE}, {@link #BUILDING} or
+	 *         {@link #ROAD}
+	 */
+	public static int getKind(long record) {
+		return (int) (record >>> KIND_SHIFT);
+	}
+
+	/**
+	 *
+	 * @param record
+	 *            a record
+	 * @return the {@link Player} id or previous owner of the record
+	 */
+	public static int getOwner(long record) {
+		return (int) (record >>> OWNER_SHIFT) & 0xFF;
+	}
+
+	/**
+	 *
+	 * @param record
+	 *            a record
+	 * @return the resource or previous building of the record
+	 */
+	public static int getDetail(long record) {
+		return (int) (record >>> DETAIL_SHIFT) & 0xFF;
+	}
+
+	/**
+	 *
+	 * @param record
+	 *            a record
+	 * @return the amount, {@link Vertex} id or {@link Edge} id of the record
+	 */
+	public static int getValue(long record) {
+		return (int) record;
+	}
+
+	/**
+	 * Starts the frame of a new {@link Move}
+	 */
+	public void begin() {
+		if (m_depth == m_frames.length) {
+			m_frames = Arrays.copyOf(m_frames, 2 * m_frames.length);
+		}
+		m_frames[m_depth++] = m_size;
+	}
+
+	/**
+	 * Pushes a record onto the frame of the current {@link Move}
+	 *
+	 * @param record
+	 *            the record
+	 */
+	public void push(long record) {
+		if (m_size == m_records.length) {
+			m_records = Arrays.copyOf(m_records, 2 * m_records.length);
+		}
+		m_records[m_size++] = record;
+	}
+
+	/**
+	 *
+	 * @return true if the frame of the current {@link Move} has records left
+	 */
+	public boolean hasRecords() {
+		return m_depth > 0 && m_size > m_frames[m_depth - 1];
+	}
+
+	/**
+	 * Pops the last record of the frame of the current {@link Move}
+	 *
+	 * @return the record
+	 */
+	public long pop() {
+		return m_records[--m_size];
+	}
+
+	/**
+	 * Ends the frame of the current {@link Move}, once every record has been
+	 * popped
+	 */
+	public void end() {
+		m_size = m_frames[--m_depth];
+	}
+
+	/**
+	 *
+	 * @return the number of {@link Move}s that can be undone
+	 */
+	public int getDepth() {
+		return m_depth;
+	}
+
+	/**
+	 *
+	 * @return true if there is no {@link Move} to undo
+	 */
+	public boolean isEmpty() {
+		return m_depth == 0;
+	}
+
+	@Override
+	public String toString() {
+		return "Undo Stack: (Moves: (" + m_depth + "), Records: (" + m_size + "))";
+	}
+
+}
@@ -1,12 +1,10 @@
 package catan.engine.player;
 
-import catan.Catan;
+import catan.engine.Game;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
 import catan.engine.board.objects.InvalidLocationException;
-import catan.engine.board.objects.buildings.City;
-import catan.engine.board.objects.buildings.Village;
-import catan.engine.moves.Move;
+import catan.engine.moves.CandidateMove;
 import catan.engine.moves.PurchaseMove;
 import catan.engine.resources.Purchase;
 import catan.engine.resources.ResourceBundle;
@@ -23,6 +21,7 @@ public class Player {
 
 	private PlayerColor m_color;
 	private ResourceBundle m_resources = new ResourceBundle();
+	private PlayerStrategy m_strategy = RandomStrategy.INSTANCE;
 
 	/**
 	 * Creates a player with the specified color
@@ -51,6 +50,24 @@ public class Player {
 		return m_resources;
 	}
 
+	/**
+	 * 
+	 * @return the {@link PlayerStrategy} this {@link Player} picks moves with
+	 */
+	public PlayerStrategy getStrategy() {
+		return m_strategy;
+	}
+
+	/**
+	 * Sets the {@link PlayerStrategy} this {@link Player} picks moves with
+	 * 
+	 * @param strategy
+	 *            the {@link PlayerStrategy} to assign
+	 */
+	public void setStrategy(PlayerStrategy strategy) {
+		m_strategy = strategy;
+	}
+
 	/**
 	 * 
 	 * @param board
@@ -81,37 +98,31 @@ public class Player {
 	 * @return the number of victory points
 	 */
 	public int getVictoryPoints(Board board) {
-		int sum = 0;
-
-		sum += board.getAllObjectsMatching((object) -> object instanceof City && object.getOwner() == this).length
-				* City.VICTORY_POINTS;
-		sum += board.getAllObjectsMatching((object) -> object instanceof Village && object.getOwner() == this).length
-				* Village.VICTORY_POINTS;
-
-		return sum;
+		return board.getOccupancy().getVictoryPoints(board.getPlayerId(this));
 	}
 
 	/**
-	 * This {@link Player} takes their turn in the provided {@link Catan} game
+	 * This {@link Player} takes their turn in the provided {@link Game}
 	 * 
-	 * @param catan
-	 *            the specified {@link Catan} game
+	 * @param game
+	 *            the specified {@link Game}
 	 * @throws InvalidLocationException
 	 *             if any invalid locations are present on the {@link Board}
 	 * @throws BoardNotInitializedException
 	 *             if the {@link Board} is not initialized
 	 */
-	public void takeTurn(Catan catan) throws BoardNotInitializedException, InvalidLocationException {
-		// Ran out of time for proper move selection
-		Move[] moves = catan.getBoard().getMovesForPlayer(this);
+	public void takeTurn(Game game) throws BoardNotInitializedException, InvalidLocationException {
+		int[] moves = game.getBoard().getMoveCodes(this);
 		if (moves.length > 0) {
-			Move move = moves[(int) (Math.random() * moves.length)];
+			int code = m_strategy.chooseMove(game, this, moves);
+			if (code == PlayerStrategy.PASS) {
+				return;
+			}
+			CandidateMove move = new CandidateMove(code, game.getBoard());
 
-			if (move instanceof PurchaseMove
-					&& !getResources().greaterOrEqualTo(((PurchaseMove) move).getPurchase().getCost())) {
+			if (!getResources().greaterOrEqualTo(move.getCost())) {
 				// can't afford, needs to trade
-				for (TradeExchange trade : TradeExchange.getTradeStats(getResources(),
-						((PurchaseMove) move).getPurchase().getCost()).m_trades) {
+				for (TradeExchange trade : TradeExchange.getTradeStats(getResources(), move.getCost()).m_trades) {
 					new PurchaseMove(trade, this).apply();
 				}
 			}
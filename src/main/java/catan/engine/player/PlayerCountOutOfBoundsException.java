@@ -1,6 +1,6 @@
 package catan.engine.player;
 
-import catan.Catan;
+import catan.engine.Game;
 
 /**
  * {@link Exception} thrown when the player count exceeds the maximum specified
@@ -15,7 +15,7 @@ public class PlayerCountOutOfBoundsException extends Exception {
 	 * Creates a new {@link PlayerCountOutOfBoundsException}
 	 */
 	public PlayerCountOutOfBoundsException() {
-		super("Player Count Is Less Than " + Catan.MIN_PLAYERS + " Or Greater Than " + Catan.MAX_PLAYERS);
+		super("Player Count Is Less Than " + Game.MIN_PLAYERS + " Or Greater Than " + Game.MAX_PLAYERS);
 	}
 
 	/**
@@ -23,8 +23,8 @@ public class PlayerCountOutOfBoundsException extends Exception {
 	 * @param count the player count
 	 */
 	public PlayerCountOutOfBoundsException(int count) {
-		super("Player Count Is " + count + " Must Be Greater Than Or Equal To " + Catan.MIN_PLAYERS
-				+ " And Lesser Or Equal To " + Catan.MAX_PLAYERS);
+		super("Player Count Is " + count + " Must Be Greater Than Or Equal To " + Game.MIN_PLAYERS
+				+ " And Lesser Or Equal To " + Game.MAX_PLAYERS);
 	}
 
 }
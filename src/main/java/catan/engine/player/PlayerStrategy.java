@@ -0,0 +1,38 @@
+package catan.engine.player;
+
+import catan.engine.Game;
+import catan.engine.board.Board;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.moves.CandidateMove;
+
+/**
+ * Interface representing how a {@link Player} picks the move to make on their
+ * turn, from the moves {@link Board#getMoveCodes(Player)} finds for them
+ *
+ * @author Jacob
+ *
+ */
+public interface PlayerStrategy {
+
+	/**
+	 * Returned to end the turn without building
+	 */
+	public static final int PASS = -1;
+
+	/**
+	 * Picks a move
+	 *
+	 * @param game
+	 *            the {@link Game} being played
+	 * @param player
+	 *            the {@link Player} taking their turn
+	 * @param moves
+	 *            the moves available, encoded as by
+	 *            {@link CandidateMove#encode(int, int, int)}, never empty
+	 * @return one of the moves, or {@link #PASS}
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	public int chooseMove(Game game, Player player, int[] moves) throws BoardNotInitializedException;
+
+}
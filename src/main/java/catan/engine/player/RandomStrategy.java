@@ -0,0 +1,30 @@
+package catan.engine.player;
+
+import catan.engine.Game;
+
+/**
+ * {@link PlayerStrategy} picking uniformly at random from every available
+ * move, drawing from the {@link Game}'s source of randomness so the
+ * {@link Game} can be replayed from its seed
+ *
+ * @author Jacob
+ *
+ */
+public class RandomStrategy implements PlayerStrategy {
+
+	/**
+	 * Shared instance, {@link RandomStrategy} holds no state
+	 */
+	public static final RandomStrategy INSTANCE = new RandomStrategy();
+
+	@Override
+	public int chooseMove(Game game, Player player, int[] moves) {
+		return moves[game.getRandom().nextInt(moves.length)];
+	}
+
+	@Override
+	public String toString() {
+		return "Random Strategy";
+	}
+
+}
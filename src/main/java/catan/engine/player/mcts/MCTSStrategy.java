@@ -0,0 +1,529 @@
+package catan.engine.player.mcts;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import catan.engine.Dice;
+import catan.engine.Game;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.objects.buildings.City;
+import catan.engine.board.objects.buildings.Road;
+import catan.engine.board.objects.buildings.Village;
+import catan.engine.moves.CandidateMove;
+import catan.engine.player.Player;
+import catan.engine.player.PlayerStrategy;
+
+/**
+ * {@link PlayerStrategy} picking moves with Monte Carlo tree search. Each
+ * iteration copies the {@link SearchState} of the {@link Game}, walks down the
+ * tree choosing moves by their upper confidence bound and sampling
+ * {@link Dice} rolls at chance nodes, adds one new node, then plays the game
+ * out with fast random moves and credits every {@link Player} along the way
+ * with their result. The search stops when the iteration or time budget runs
+ * out, whichever comes first, and the move tried most is made.
+ *
+ * The search can use several cores in two ways, which combine. Root
+ * parallelism grows independent trees and adds up their root visits at the
+ * end, tree parallelism runs several threads on one shared tree, kept apart
+ * by the virtual loss of {@link SearchNode}
+ *
+ * @author Jacob
+ *
+ */
+public class MCTSStrategy implements PlayerStrategy {
+
+	public static final int DEFAULT_ITERATIONS = 20000;
+	public static final long DEFAULT_TIME_BUDGET = 250;
+	public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+	public static final int DEFAULT_ROLLOUT_TURNS = 200;
+
+	public static final int POOL_SIZE = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Most threads {@link #setThreads(int)} puts on one shared tree, past
+	 * which they mostly wait on each other's virtual losses
+	 */
+	public static final int MAX_TREE_THREADS = 8;
+
+	/**
+	 * Most visits a new {@link SearchNode} takes over from the
+	 * {@link TranspositionTable}, so a state seen often elsewhere is still
+	 * explored from this path
+	 */
+	public static final int MAX_TRANSPOSED_VISITS = 16;
+
+	private static final ExecutorService SEARCH_POOL = Executors.newFixedThreadPool(POOL_SIZE, (runnable) -> {
+		Thread thread = new Thread(runnable, "Search Worker");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Fraction of a win credited for victory points in a rollout that ends
+	 * without a winner
+	 */
+	private static final double UNFINISHED_WEIGHT = 0.5;
+
+	private int m_iterations = DEFAULT_ITERATIONS;
+	private long m_timeBudget = DEFAULT_TIME_BUDGET;
+	private double m_exploration = DEFAULT_EXPLORATION;
+	private int m_rolloutTurns = DEFAULT_ROLLOUT_TURNS;
+	private int m_rootTrees = 1;
+	private int m_treeThreads = 1;
+	private int m_extraThreads = 0;
+	private TranspositionTable m_table = null;
+
+	private int m_lastIterations = 0;
+	private long m_lastNodes = 0;
+	private long m_lastTime = 0;
+	private long m_totalNodes = 0;
+	private long m_totalTime = 0;
+
+	/**
+	 * Sets the most iterations run per move
+	 *
+	 * @param iterations
+	 *            the iteration budget, 0 for no limit
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setIterationBudget(int iterations) {
+		m_iterations = iterations;
+		return this;
+	}
+
+	/**
+	 * Sets the longest time spent searching per move
+	 *
+	 * @param millis
+	 *            the time budget in milliseconds, 0 for no limit
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setTimeBudget(long millis) {
+		m_timeBudget = millis;
+		return this;
+	}
+
+	/**
+	 * Sets how strongly the search favours moves it has tried less
+	 *
+	 * @param exploration
+	 *            the exploration constant of the upper confidence bound
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setExploration(double exploration) {
+		m_exploration = exploration;
+		return this;
+	}
+
+	/**
+	 * Sets the most turns a rollout is played for before it is scored on
+	 * victory points
+	 *
+	 * @param turns
+	 *            the number of turns
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setRolloutTurns(int turns) {
+		m_rolloutTurns = turns;
+		return this;
+	}
+
+	/**
+	 * Sets the number of independent trees searched at once
+	 *
+	 * @param trees
+	 *            the number of trees, at least 1
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setRootTrees(int trees) {
+		m_rootTrees = Math.max(1, trees);
+		m_extraThreads = 0;
+		return this;
+	}
+
+	/**
+	 * Sets the number of threads searching each tree
+	 *
+	 * @param threads
+	 *            the number of threads, at least 1
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setTreeThreads(int threads) {
+		m_treeThreads = Math.max(1, threads);
+		m_extraThreads = 0;
+		return this;
+	}
+
+	/**
+	 * Spreads the specified number of threads over as few trees as possible,
+	 * with no more than {@link #MAX_TREE_THREADS} on each. Threads that do not
+	 * split evenly go one each to the first trees, so every thread is used
+	 *
+	 * @param threads
+	 *            the total number of threads, at least 1
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setThreads(int threads) {
+		threads = Math.max(1, threads);
+		m_rootTrees = (threads + MAX_TREE_THREADS - 1) / MAX_TREE_THREADS;
+		m_treeThreads = threads / m_rootTrees;
+		m_extraThreads = threads % m_rootTrees;
+		return this;
+	}
+
+	/**
+	 * Sets the {@link TranspositionTable} shared by every thread and every
+	 * search, so statistics carry over between states reached by different
+	 * orders of moves
+	 *
+	 * @param table
+	 *            the {@link TranspositionTable}, null to search without one
+	 * @return this {@link MCTSStrategy}
+	 */
+	public MCTSStrategy setTranspositionTable(TranspositionTable table) {
+		m_table = table;
+		return this;
+	}
+
+	/**
+	 *
+	 * @return the {@link TranspositionTable} used, null if there is none
+	 */
+	public TranspositionTable getTranspositionTable() {
+		return m_table;
+	}
+
+	/**
+	 *
+	 * @return the number of independent trees searched at once
+	 */
+	public int getRootTrees() {
+		return m_rootTrees;
+	}
+
+	/**
+	 *
+	 * @return the number of threads searching each tree, the first trees
+	 *         having one more when {@link #setThreads(int)} could not split
+	 *         the threads evenly
+	 */
+	public int getTreeThreads() {
+		return m_treeThreads;
+	}
+
+	/**
+	 *
+	 * @return the total number of threads searching, over every tree
+	 */
+	public int getThreads() {
+		return m_rootTrees * m_treeThreads + m_extraThreads;
+	}
+
+	/**
+	 *
+	 * @param worker
+	 *            the index of a thread searching, from 0
+	 * @return the index of the tree the thread searches
+	 */
+	private int getTree(int worker) {
+		int larger = m_extraThreads * (m_treeThreads + 1);
+		if (worker < larger) {
+			return worker / (m_treeThreads + 1);
+		}
+		return m_extraThreads + (worker - larger) / m_treeThreads;
+	}
+
+	/**
+	 *
+	 * @return the number of iterations run for the last move, over every
+	 *         thread
+	 */
+	public int getLastIterations() {
+		return m_lastIterations;
+	}
+
+	/**
+	 *
+	 * @return the number of states visited, in the tree and in rollouts, for
+	 *         the last move
+	 */
+	public long getLastNodes() {
+		return m_lastNodes;
+	}
+
+	/**
+	 *
+	 * @return the time spent searching for the last move in nanoseconds
+	 */
+	public long getLastTime() {
+		return m_lastTime;
+	}
+
+	/**
+	 *
+	 * @return the states visited per second while searching for the last move
+	 */
+	public double getLastNodesPerSecond() {
+		return m_lastTime == 0 ? 0 : m_lastNodes * 1e9 / m_lastTime;
+	}
+
+	/**
+	 *
+	 * @return the number of states visited over every move searched so far
+	 */
+	public long getTotalNodes() {
+		return m_totalNodes;
+	}
+
+	/**
+	 *
+	 * @return the time spent searching over every move so far in nanoseconds
+	 */
+	public long getTotalTime() {
+		return m_totalTime;
+	}
+
+	/**
+	 *
+	 * @return the states visited per second over every move searched so far
+	 */
+	public double getNodesPerSecond() {
+		return m_totalTime == 0 ? 0 : m_totalNodes * 1e9 / m_totalTime;
+	}
+
+	@Override
+	public int chooseMove(Game game, Player player, int[] moves) throws BoardNotInitializedException {
+		int move = search(new SearchState(game), game.getRandom().split());
+		if (move == PASS) {
+			return PASS;
+		}
+		for (int available : moves) {
+			if (available == move) {
+				return move;
+			}
+		}
+		// the search and the board disagree on which moves can be made
+		throw new IllegalStateException("Search chose a move the board does not allow: (Type: ("
+				+ CandidateMove.getType(move) + "), Location: (" + CandidateMove.getLocation(move) + "))");
+	}
+
+	/**
+	 * Searches for the best move from the specified {@link SearchState}, on
+	 * {@link #getRootTrees()} trees at once with {@link #getThreads()} threads
+	 * spread over them. The calling thread is one of them
+	 *
+	 * @param root
+	 *            the {@link SearchState} to search from, not modified
+	 * @param random
+	 *            the source of randomness for rolls and rollouts
+	 * @return the move tried most by this search over every tree, or
+	 *         {@link PlayerStrategy#PASS}
+	 */
+	public int search(SearchState root, SplittableRandom random) {
+		long start = System.nanoTime();
+		long deadline = start + m_timeBudget * 1000000;
+		int workers = getThreads();
+		AtomicInteger started = new AtomicInteger(0);
+
+		SearchNode[] trees = new SearchNode[m_rootTrees];
+		for (int i = 0; i < trees.length; i++) {
+			trees[i] = new SearchNode(null, PASS, 0, root, new int[root.getMaxMoves()], random.split());
+		}
+		SplittableRandom[] randoms = new SplittableRandom[workers];
+		for (int i = 0; i < workers; i++) {
+			randoms[i] = random.split();
+		}
+
+		int[] iterations = new int[workers];
+		long[] nodes = new long[workers];
+		ArrayList<Future<?>> futures = new ArrayList<Future<?>>();
+		for (int i = 1; i < workers; i++) {
+			int worker = i;
+			futures.add(SEARCH_POOL.submit(() -> work(root, trees[getTree(worker)], randoms[worker],
+					started, deadline, worker, iterations, nodes)));
+		}
+		work(root, trees[0], randoms[0], started, deadline, 0, iterations, nodes);
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException | ExecutionException e) {
+				e.printStackTrace();
+				System.exit(0);
+			}
+		}
+
+		m_lastIterations = 0;
+		m_lastNodes = 0;
+		for (int i = 0; i < workers; i++) {
+			m_lastIterations += iterations[i];
+			m_lastNodes += nodes[i];
+		}
+		m_lastTime = System.nanoTime() - start;
+		m_totalNodes += m_lastNodes;
+		m_totalTime += m_lastTime;
+
+		// merge the root statistics of every tree
+		HashMap<Integer, Integer> visits = new HashMap<Integer, Integer>();
+		int best = PASS;
+		int bestVisits = -1;
+		for (SearchNode tree : trees) {
+			for (SearchNode child : tree.getChildren()) {
+				int merged = visits.merge(child.getMove(), child.getSearchedVisits(), Integer::sum);
+				if (merged > bestVisits) {
+					best = child.getMove();
+					bestVisits = merged;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Runs iterations on a tree until the budget is spent
+	 *
+	 * @param root
+	 *            the {@link SearchState} the tree is searched from
+	 * @param tree
+	 *            the root {@link SearchNode} of the tree
+	 * @param random
+	 *            the source of randomness of this thread
+	 * @param started
+	 *            the number of iterations started by every thread
+	 * @param deadline
+	 *            the {@link System#nanoTime()} to stop at
+	 * @param worker
+	 *            the index of this thread
+	 * @param iterationCounts
+	 *            array to write the number of iterations run to, at the index
+	 *            of this thread
+	 * @param nodeCounts
+	 *            array to write the number of states visited to, at the index
+	 *            of this thread
+	 */
+	private void work(SearchState root, SearchNode tree, SplittableRandom random, AtomicInteger started,
+			long deadline, int worker, int[] iterationCounts, long[] nodeCounts) {
+		int[] moves = new int[root.getMaxMoves()];
+		double[] rewards = new double[root.getHighestId() + 1];
+		int iterations = 0;
+		long nodes = 0;
+		while ((m_timeBudget <= 0 || System.nanoTime() < deadline)
+				&& (m_iterations <= 0 || started.getAndIncrement() < m_iterations)) {
+			SearchState state = root.copy();
+			SearchNode node = tree;
+			node.visit();
+
+			// walk down the tree until a new node is added or the game ends
+			while (!state.isOver()) {
+				nodes++;
+				if (node.isChance()) {
+					int frequency = Dice.doubleRoll(random);
+					state.roll(frequency);
+					node = node.getRollChild(frequency, state, moves, random);
+					continue;
+				}
+				int slot = node.takeUntried();
+				if (slot >= 0) {
+					int player = state.getActivePlayer();
+					int move = node.getUntried(slot);
+					state.playTurn(move);
+					SearchNode child = new SearchNode(node, move, player, state, moves, random);
+					if (m_table != null) {
+						long hash = state.getHash();
+						child.setTransposition(hash, m_table.get(hash), MAX_TRANSPOSED_VISITS);
+					}
+					node = node.addChild(slot, child);
+					break;
+				}
+				SearchNode child = node.selectChild(m_exploration);
+				if (child == null) {
+					// every move is taken but other threads are still adding them
+					break;
+				}
+				node = child;
+				state.playTurn(node.getMove());
+			}
+
+			nodes += rollout(state, random, moves);
+			score(state, rewards);
+			for (; node != null; node = node.getParent()) {
+				node.update(rewards);
+				if (m_table != null && node.getHash() != 0) {
+					m_table.add(node.getHash(), rewards[node.getPlayer()]);
+				}
+			}
+			iterations++;
+		}
+		iterationCounts[worker] = iterations;
+		nodeCounts[worker] = nodes;
+	}
+
+	/**
+	 * Plays a {@link SearchState} forward, every {@link Player} building a
+	 * random {@link Village} or {@link City} if they can, and a random
+	 * {@link Road} otherwise
+	 *
+	 * @param state
+	 *            the {@link SearchState} to play, modified
+	 * @param random
+	 *            the source of randomness
+	 * @param moves
+	 *            scratch array at least {@link SearchState#getMaxMoves()} long
+	 * @return the number of turns played
+	 */
+	private int rollout(SearchState state, SplittableRandom random, int[] moves) {
+		int turns = 0;
+		while (!state.isOver() && turns < m_rolloutTurns) {
+			if (state.isRollPending()) {
+				state.roll(Dice.doubleRoll(random));
+			}
+			int count = state.getMoves(moves);
+			// villages and cities come before roads
+			int buildings = 0;
+			while (buildings < count && CandidateMove.getType(moves[buildings]) != CandidateMove.ROAD) {
+				buildings++;
+			}
+			if (count == 0) {
+				state.playTurn(PASS);
+			} else {
+				state.playTurn(moves[random.nextInt(buildings > 0 ? buildings : count)]);
+			}
+			turns++;
+		}
+		return turns;
+	}
+
+	/**
+	 * Scores a finished rollout for every {@link Player}, 1 for a win, 0 for a
+	 * loss, and a share of their victory points if nobody has won
+	 *
+	 * @param state
+	 *            the {@link SearchState} at the end of the rollout
+	 * @param rewards
+	 *            array to write the reward of every {@link Player} to, indexed
+	 *            by id
+	 */
+	private static void score(SearchState state, double[] rewards) {
+		for (int player : state.getOrder()) {
+			if (state.isOver()) {
+				rewards[player] = state.getWinner() == player ? 1 : 0;
+			} else {
+				rewards[player] = UNFINISHED_WEIGHT * state.getVictoryPoints(player)
+						/ state.getTargetVictoryPoints();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "MCTS Strategy: (Threads: (" + m_rootTrees + "x" + m_treeThreads
+				+ (m_extraThreads > 0 ? "+" + m_extraThreads : "") + "), Iterations: ("
+				+ m_lastIterations + "), Nodes Per Second: (" + (long) getLastNodesPerSecond() + "))";
+	}
+
+}
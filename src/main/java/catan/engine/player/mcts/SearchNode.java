@@ -0,0 +1,348 @@
+package catan.engine.player.mcts;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import catan.engine.Dice;
+import catan.engine.board.tile.Tile;
+import catan.engine.player.Player;
+import catan.engine.player.PlayerStrategy;
+
+/**
+ * A single node of the tree built by an {@link MCTSStrategy}. A decision node
+ * holds one child for each move tried so far by the {@link Player} to move,
+ * a chance node holds one child for each {@link Dice} roll seen so far.
+ *
+ * Every field read while searching is updated with atomic operations, so many
+ * threads can search the same tree without locking. A visit is counted when a
+ * thread enters a {@link SearchNode} and its reward only when the simulation
+ * finishes, so until then the visit is a virtual loss steering other threads
+ * down other paths
+ *
+ * @author Jacob
+ *
+ */
+public class SearchNode {
+
+	private SearchNode m_parent;
+	private int m_move;
+	private int m_player;
+	private boolean m_chance;
+	private long m_hash = 0;
+	private int m_transposedVisits = 0;
+
+	private int[] m_untried;
+	private AtomicInteger m_untriedCount = new AtomicInteger(0);
+	private AtomicReferenceArray<SearchNode> m_children;
+
+	private AtomicInteger m_visits = new AtomicInteger(0);
+	private AtomicLong m_reward = new AtomicLong(Double.doubleToRawLongBits(0));
+
+	/**
+	 * Creates a new {@link SearchNode}
+	 *
+	 * @param parent
+	 *            the parent {@link SearchNode}, null for the root
+	 * @param move
+	 *            the move, or roll for the child of a chance node, leading to
+	 *            this {@link SearchNode}
+	 * @param player
+	 *            the id of the {@link Player} that made the move, 0 for a
+	 *            roll
+	 * @param state
+	 *            the {@link SearchState} reached, used to find the moves to
+	 *            try from this {@link SearchNode}
+	 * @param moves
+	 *            scratch array at least {@link SearchState#getMaxMoves()} long
+	 * @param random
+	 *            the source of randomness to order the untried moves with
+	 */
+	public SearchNode(SearchNode parent, int move, int player, SearchState state, int[] moves,
+			SplittableRandom random) {
+		m_parent = parent;
+		m_move = move;
+		m_player = player;
+		m_chance = state.isRollPending();
+
+		if (m_chance) {
+			m_children = new AtomicReferenceArray<SearchNode>(Tile.FREQUENCY_MAX + 1);
+		} else if (!state.isOver()) {
+			int count = state.getMoves(moves);
+			m_untried = new int[count + 1];
+			System.arraycopy(moves, 0, m_untried, 0, count);
+			m_untried[count] = PlayerStrategy.PASS;
+
+			// shuffled once so taking from the end is a random pick
+			for (int i = count; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				int swap = m_untried[i];
+				m_untried[i] = m_untried[j];
+				m_untried[j] = swap;
+			}
+
+			m_untriedCount.set(count + 1);
+			m_children = new AtomicReferenceArray<SearchNode>(count + 1);
+		} else {
+			m_children = new AtomicReferenceArray<SearchNode>(0);
+		}
+	}
+
+	/**
+	 *
+	 * @return the parent {@link SearchNode}, null for the root
+	 */
+	public SearchNode getParent() {
+		return m_parent;
+	}
+
+	/**
+	 *
+	 * @return the move leading to this {@link SearchNode}
+	 */
+	public int getMove() {
+		return m_move;
+	}
+
+	/**
+	 *
+	 * @return the id of the {@link Player} that made the move leading to this
+	 *         {@link SearchNode}, 0 for a roll
+	 */
+	public int getPlayer() {
+		return m_player;
+	}
+
+	/**
+	 *
+	 * @return true if the dice are rolled at this {@link SearchNode}
+	 */
+	public boolean isChance() {
+		return m_chance;
+	}
+
+	/**
+	 *
+	 * @return the hash of the {@link SearchState} reached, 0 if it is not
+	 *         kept in a {@link TranspositionTable}
+	 */
+	public long getHash() {
+		return m_hash;
+	}
+
+	/**
+	 * Links this {@link SearchNode} to the entry of its {@link SearchState} in
+	 * a {@link TranspositionTable}, starting it from the statistics already
+	 * recorded there. Must be called before the {@link SearchNode} is added to
+	 * the tree
+	 *
+	 * @param hash
+	 *            the hash of the {@link SearchState} reached
+	 * @param data
+	 *            the entry of the {@link SearchState}, 0 if it has none
+	 * @param maxVisits
+	 *            the most visits taken over from the entry
+	 */
+	public void setTransposition(long hash, long data, int maxVisits) {
+		m_hash = hash;
+		int visits = TranspositionTable.getVisits(data);
+		if (visits > 0) {
+			int taken = Math.min(visits, maxVisits);
+			m_transposedVisits = taken;
+			m_visits.set(taken);
+			m_reward.set(Double.doubleToRawLongBits(TranspositionTable.getReward(data) * taken / visits));
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of times this {@link SearchNode} has been visited,
+	 *         including simulations still running
+	 */
+	public int getVisits() {
+		return m_visits.get();
+	}
+
+	/**
+	 *
+	 * @return the number of times this {@link SearchNode} has been visited by
+	 *         this search, leaving out the visits taken over from a
+	 *         {@link TranspositionTable}
+	 */
+	public int getSearchedVisits() {
+		return m_visits.get() - m_transposedVisits;
+	}
+
+	/**
+	 *
+	 * @return the total reward of the {@link Player} that made the move
+	 *         leading to this {@link SearchNode}
+	 */
+	public double getReward() {
+		return Double.longBitsToDouble(m_reward.get());
+	}
+
+	/**
+	 *
+	 * @return the children of this {@link SearchNode} added so far
+	 */
+	public ArrayList<SearchNode> getChildren() {
+		ArrayList<SearchNode> children = new ArrayList<SearchNode>();
+		for (int i = 0; i < m_children.length(); i++) {
+			SearchNode child = m_children.get(i);
+			if (child != null) {
+				children.add(child);
+			}
+		}
+		return children;
+	}
+
+	/**
+	 *
+	 * @return true if every move from this decision node has been taken
+	 */
+	public boolean isFullyExpanded() {
+		return m_untriedCount.get() <= 0;
+	}
+
+	/**
+	 * Takes an untried move, no two callers getting the same one
+	 *
+	 * @return the slot of the move, to pass to {@link #getUntried(int)} and
+	 *         {@link #addChild(int, SearchNode)}, or -1 if every move has
+	 *         been taken
+	 */
+	public int takeUntried() {
+		if (m_untriedCount.get() <= 0) {
+			return -1;
+		}
+		int slot = m_untriedCount.decrementAndGet();
+		return slot < 0 ? -1 : slot;
+	}
+
+	/**
+	 *
+	 * @param slot
+	 *            the slot returned by {@link #takeUntried()}
+	 * @return the move in the slot
+	 */
+	public int getUntried(int slot) {
+		return m_untried[slot];
+	}
+
+	/**
+	 * Adds a child to this decision node and visits it
+	 *
+	 * @param slot
+	 *            the slot returned by {@link #takeUntried()}
+	 * @param child
+	 *            the {@link SearchNode} to add
+	 * @return the child
+	 */
+	public SearchNode addChild(int slot, SearchNode child) {
+		child.visit();
+		m_children.set(slot, child);
+		return child;
+	}
+
+	/**
+	 * Picks the child of this decision node with the highest upper confidence
+	 * bound and visits it
+	 *
+	 * @param exploration
+	 *            the exploration constant
+	 * @return the child, null if no child has been added yet
+	 */
+	public SearchNode selectChild(double exploration) {
+		double logVisits = Math.log(m_visits.get());
+		SearchNode best = null;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < m_children.length(); i++) {
+			SearchNode child = m_children.get(i);
+			if (child == null) {
+				continue;
+			}
+			int visits = child.m_visits.get();
+			double score = child.getReward() / visits + exploration * Math.sqrt(logVisits / visits);
+			if (score > bestScore) {
+				best = child;
+				bestScore = score;
+			}
+		}
+		if (best != null) {
+			best.visit();
+		}
+		return best;
+	}
+
+	/**
+	 * Gets the child of this chance node for a roll and visits it, creating it
+	 * the first time the roll is seen
+	 *
+	 * @param frequency
+	 *            the number rolled
+	 * @param state
+	 *            the {@link SearchState} after the roll
+	 * @param moves
+	 *            scratch array at least {@link SearchState#getMaxMoves()} long
+	 * @param random
+	 *            the source of randomness for a new child
+	 * @return the child
+	 */
+	public SearchNode getRollChild(int frequency, SearchState state, int[] moves, SplittableRandom random) {
+		SearchNode child = m_children.get(frequency);
+		if (child == null) {
+			m_children.compareAndSet(frequency, null, new SearchNode(this, frequency, 0, state, moves, random));
+			child = m_children.get(frequency);
+		}
+		child.visit();
+		return child;
+	}
+
+	/**
+	 * Counts a visit to this {@link SearchNode}, before its result is known
+	 */
+	public void visit() {
+		m_visits.incrementAndGet();
+	}
+
+	/**
+	 * Records the result of a simulation that visited this {@link SearchNode}
+	 *
+	 * @param rewards
+	 *            the reward of every {@link Player}, indexed by id
+	 */
+	public void update(double[] rewards) {
+		double reward = rewards[m_player];
+		long current;
+		do {
+			current = m_reward.get();
+		} while (!m_reward.compareAndSet(current,
+				Double.doubleToRawLongBits(Double.longBitsToDouble(current) + reward)));
+	}
+
+	/**
+	 *
+	 * @return the child of this decision node visited most by this search,
+	 *         null if it has none
+	 */
+	public SearchNode getMostVisitedChild() {
+		SearchNode best = null;
+		for (int i = 0; i < m_children.length(); i++) {
+			SearchNode child = m_children.get(i);
+			if (child != null && (best == null || child.getSearchedVisits() > best.getSearchedVisits())) {
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	@Override
+	public String toString() {
+		return "Search Node: (Move: (" + m_move + "), Visits: (" + getVisits() + "), Reward: (" + getReward()
+				+ "))";
+	}
+
+}
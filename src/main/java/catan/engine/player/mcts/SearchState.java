@@ -0,0 +1,508 @@
+package catan.engine.player.mcts;
+
+import java.util.Arrays;
+
+import catan.engine.Game;
+import catan.engine.board.Bitboard;
+import catan.engine.board.Board;
+import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.Occupancy;
+import catan.engine.board.ProductionIndex;
+import catan.engine.board.ZobristKeys;
+import catan.engine.board.objects.buildings.City;
+import catan.engine.board.objects.buildings.Village;
+import catan.engine.board.tile.Vertex;
+import catan.engine.moves.CandidateMove;
+import catan.engine.moves.GameState;
+import catan.engine.moves.TileLayer;
+import catan.engine.player.Player;
+import catan.engine.player.PlayerStrategy;
+import catan.engine.resources.PackedResources;
+import catan.engine.resources.PurchaseCosts;
+import catan.engine.resources.ResourceBundle;
+import catan.engine.resources.trading.TradeTable;
+
+/**
+ * Lightweight copy of everything that decides the outcome of a {@link Game},
+ * the {@link Occupancy}, {@link ProductionIndex}, each {@link Player}'s
+ * resources and the turn, with no {@link Board} objects. A
+ * {@link SearchState} can be copied and played forward thousands of times a
+ * turn, following the same rules as the {@link Game}: one roll per round,
+ * one build per turn, trading with the bank when needed
+ *
+ * <p>
+ * {@link Player}s are referred to by the id their {@link Board} gave them
+ *
+ * @author Jacob
+ *
+ */
+public class SearchState {
+
+	private static final int RESOURCES = ResourceBundle.RESOURCE_NUMBER;
+
+	private static final int[][] COSTS = new int[][] { PurchaseCosts.VILLAGE_COST.getRawBundle(),
+			PurchaseCosts.CITY_COST.getRawBundle(), PurchaseCosts.ROAD_COST.getRawBundle() };
+
+	private static final TradeTable[] TRADES = new TradeTable[] { TradeTable.VILLAGE, TradeTable.CITY,
+			TradeTable.ROAD };
+
+	// shared between copies, never modified
+	private final int[] m_order;
+	private final int[] m_vertexPayoutOffsets;
+	private final int[] m_vertexPayouts;
+	private final int m_rows;
+	private final int m_columns;
+	private final int m_targetVictoryPoints;
+
+	private Occupancy m_occupancy;
+	private ProductionIndex m_production;
+	private int[] m_resources;
+	private int m_turn;
+	private boolean m_rollPending;
+	private int m_winner = 0;
+
+	// scratch space for move generation, allocated on first use
+	private long[] m_locations;
+	private long[] m_vertical;
+
+	/**
+	 * Creates a new {@link SearchState} from the current turn of a
+	 * {@link Game}, after the dice have been rolled
+	 *
+	 * @param game
+	 *            the {@link Game} to copy
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} is not initialized
+	 */
+	public SearchState(Game game) throws BoardNotInitializedException {
+		this(new TileLayer(game), game.getBoard().getOccupancy().copy(),
+				game.getBoard().getProductionIndex().copy());
+		Board board = game.getBoard();
+		for (int i = 0; i < m_order.length; i++) {
+			if (board.getPlayer(m_order[i]) == game.getActivePlayer()) {
+				m_turn = i;
+			}
+		}
+		for (int player : m_order) {
+			System.arraycopy(board.getPlayer(player).getResources().getRawBundle(), 0, m_resources,
+					player * RESOURCES, RESOURCES);
+			if (m_winner == 0 && m_occupancy.getVictoryPoints(player) >= m_targetVictoryPoints) {
+				m_winner = player;
+			}
+		}
+	}
+
+	/**
+	 * Creates a new {@link SearchState} from a {@link GameState}
+	 *
+	 * @param state
+	 *            the {@link GameState} to copy
+	 */
+	public SearchState(GameState state) {
+		this(state.getTileLayer(), new Occupancy(state.getTileLayer().getRows(), state.getTileLayer().getColumns()),
+				new ProductionIndex());
+		for (int vertex = 0; vertex < m_rows * m_columns; vertex++) {
+			byte building = state.getBuilding(vertex);
+			if (building != Occupancy.EMPTY) {
+				int owner = state.getVertexOwner(vertex);
+				m_occupancy.setBuilding(vertex / m_columns, vertex % m_columns, building, owner);
+				addProduction(vertex, owner, building == Occupancy.CITY ? City.PRODUCTIVITY : Village.PRODUCTIVITY);
+			}
+		}
+		for (int edge = 0; edge < 2 * m_rows * m_columns; edge++) {
+			if (state.getEdgeOwner(edge) != 0) {
+				m_occupancy.setRoad(edge, state.getEdgeOwner(edge));
+			}
+		}
+		for (int player : m_order) {
+			for (int i = 0; i < RESOURCES; i++) {
+				m_resources[player * RESOURCES + i] = state.getResource(player, i);
+			}
+		}
+		m_turn = state.getTurn();
+		m_rollPending = state.isRollPending();
+		m_winner = state.getWinner();
+	}
+
+	/**
+	 * Creates a new {@link SearchState} with no resources, on the first turn
+	 *
+	 * @param layer
+	 *            the {@link TileLayer} of the {@link Game}
+	 * @param occupancy
+	 *            the {@link Occupancy}, not copied
+	 * @param production
+	 *            the {@link ProductionIndex} matching the {@link Occupancy},
+	 *            not copied
+	 */
+	private SearchState(TileLayer layer, Occupancy occupancy, ProductionIndex production) {
+		m_order = layer.getOrder();
+		m_vertexPayoutOffsets = layer.getVertexPayoutOffsets();
+		m_vertexPayouts = layer.getVertexPayouts();
+		m_rows = layer.getRows();
+		m_columns = layer.getColumns();
+		m_targetVictoryPoints = layer.getTargetVictoryPoints();
+		m_occupancy = occupancy;
+		m_production = production;
+		m_resources = new int[(layer.getHighestId() + 1) * RESOURCES];
+	}
+
+	/**
+	 * Creates a copy of the specified {@link SearchState}
+	 *
+	 * @param state
+	 *            the {@link SearchState} to copy
+	 */
+	public SearchState(SearchState state) {
+		m_order = state.m_order;
+		m_vertexPayoutOffsets = state.m_vertexPayoutOffsets;
+		m_vertexPayouts = state.m_vertexPayouts;
+		m_rows = state.m_rows;
+		m_columns = state.m_columns;
+		m_targetVictoryPoints = state.m_targetVictoryPoints;
+
+		m_occupancy = state.m_occupancy.copy();
+		m_production = state.m_production.copy();
+		m_resources = Arrays.copyOf(state.m_resources, state.m_resources.length);
+		m_turn = state.m_turn;
+		m_rollPending = state.m_rollPending;
+		m_winner = state.m_winner;
+	}
+
+	/**
+	 *
+	 * @return a copy of this {@link SearchState}
+	 */
+	public SearchState copy() {
+		return new SearchState(this);
+	}
+
+	/**
+	 *
+	 * @return the ids of every {@link Player} in turn order, must not be
+	 *         modified
+	 */
+	public int[] getOrder() {
+		return m_order;
+	}
+
+	/**
+	 *
+	 * @return the id of the {@link Player} whose turn it is
+	 */
+	public int getActivePlayer() {
+		return m_order[m_turn];
+	}
+
+	/**
+	 *
+	 * @return the highest {@link Player} id, the length of an array indexed by
+	 *         id less one
+	 */
+	public int getHighestId() {
+		return m_resources.length / RESOURCES - 1;
+	}
+
+	/**
+	 *
+	 * @return true if the dice must be rolled before the active
+	 *         {@link Player} builds
+	 */
+	public boolean isRollPending() {
+		return m_rollPending;
+	}
+
+	/**
+	 *
+	 * @return true if a {@link Player} has won
+	 */
+	public boolean isOver() {
+		return m_winner != 0;
+	}
+
+	/**
+	 *
+	 * @return the id of the {@link Player} that won, 0 if none has
+	 */
+	public int getWinner() {
+		return m_winner;
+	}
+
+	/**
+	 *
+	 * @param player
+	 *            the id of a {@link Player}
+	 * @return the victory points of the {@link Player}
+	 */
+	public int getVictoryPoints(int player) {
+		return m_occupancy.getVictoryPoints(player);
+	}
+
+	/**
+	 *
+	 * @return the victory points needed to win
+	 */
+	public int getTargetVictoryPoints() {
+		return m_targetVictoryPoints;
+	}
+
+	/**
+	 *
+	 * @return the most moves {@link #getMoves(int[])} can find
+	 */
+	public int getMaxMoves() {
+		// villages and cities on each vertex, two edges per vertex
+		return 4 * m_rows * m_columns;
+	}
+
+	/**
+	 * Rolls the dice, paying out every building that produces on the roll
+	 *
+	 * @param frequency
+	 *            the number rolled
+	 */
+	public void roll(int frequency) {
+		int count = m_production.getPayoutCount(frequency);
+		for (int i = 0; i < count; i++) {
+			int payout = m_production.getPayout(frequency, i);
+			m_resources[ProductionIndex.getOwner(payout) * RESOURCES
+					+ ProductionIndex.getResource(payout)] += ProductionIndex.getAmount(payout);
+		}
+		m_rollPending = false;
+	}
+
+	/**
+	 * Finds every move the active {@link Player} can make, the same moves
+	 * {@link Board#getMoveCodes(Player)} would find
+	 *
+	 * @param moves
+	 *            array to write the encoded moves to, at least
+	 *            {@link #getMaxMoves()} long
+	 * @return the number of moves found
+	 */
+	public int getMoves(int[] moves) {
+		int player = getActivePlayer();
+		int size = 0;
+
+		int words = m_occupancy.getWords();
+		if (m_locations == null) {
+			m_locations = new long[words];
+			m_vertical = new long[words];
+		}
+
+		if (canAfford(player, CandidateMove.VILLAGE)) {
+			m_occupancy.getVillageLocations(player, m_locations);
+			size = addMoves(moves, size, m_locations, CandidateMove.VILLAGE, player, 0);
+		}
+
+		if (canAfford(player, CandidateMove.CITY)) {
+			m_occupancy.getCityLocations(player, m_locations);
+			size = addMoves(moves, size, m_locations, CandidateMove.CITY, player, 0);
+		}
+
+		if (canAfford(player, CandidateMove.ROAD)) {
+			m_occupancy.getRoadLocations(player, m_locations, m_vertical);
+			size = addMoves(moves, size, m_locations, CandidateMove.ROAD, player, 0);
+			// vertical edges are numbered after every horizontal edge
+			size = addMoves(moves, size, m_vertical, CandidateMove.ROAD, player, m_rows * m_columns);
+		}
+
+		return size;
+	}
+
+	/**
+	 * Encodes a move for every location in a {@link Bitboard} set
+	 *
+	 * @param moves
+	 *            array to write the encoded moves to
+	 * @param size
+	 *            the number of moves already written
+	 * @param locations
+	 *            the {@link Bitboard} set of locations
+	 * @param type
+	 *            the type of move, as in {@link CandidateMove}
+	 * @param player
+	 *            the id of the {@link Player} moving
+	 * @param offset
+	 *            added to each bit to give the location of the move
+	 * @return the number of moves written, including those already written
+	 */
+	private int addMoves(int[] moves, int size, long[] locations, int type, int player, int offset) {
+		int words = m_occupancy.getWords();
+		for (int bit = Bitboard.nextSetBit(locations, 0, words, 0); bit != -1; bit = Bitboard
+				.nextSetBit(locations, 0, words, bit + 1)) {
+			moves[size++] = CandidateMove.encode(type, player, offset + bit);
+		}
+		return size;
+	}
+
+	/**
+	 * Determines whether a {@link Player} can pay for a type of move, trading
+	 * with the bank if needed
+	 *
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @param type
+	 *            the type of move, as in {@link CandidateMove}
+	 * @return true if the {@link Player} has enough resources, or enough to
+	 *         trade for the ones missing
+	 */
+	public boolean canAfford(int player, int type) {
+		int offset = player * RESOURCES;
+		long hand = 0;
+		for (int i = 0; i < RESOURCES; i++) {
+			hand = PackedResources.with(hand, i, m_resources[offset + i]);
+		}
+		return TRADES[type].isAffordable(hand);
+	}
+
+	/**
+	 * Plays the active {@link Player}'s turn, making a move and passing the
+	 * turn on. The move must be one found by {@link #getMoves(int[])}
+	 *
+	 * @param move
+	 *            the encoded move, or {@link PlayerStrategy#PASS}
+	 */
+	public void playTurn(int move) {
+		int player = getActivePlayer();
+		if (move != PlayerStrategy.PASS) {
+			pay(player, CandidateMove.getType(move));
+			build(move);
+		}
+
+		if (m_occupancy.getVictoryPoints(player) >= m_targetVictoryPoints) {
+			m_winner = player;
+		}
+
+		m_turn++;
+		if (m_turn == m_order.length) {
+			m_turn = 0;
+			m_rollPending = true;
+		}
+	}
+
+	/**
+	 * Charges a {@link Player} for a type of move, trading surplus resources
+	 * with the bank for any that are missing. Resources are traded away as
+	 * planned by {@link TradeTable#getTradePlan(long, long)}, the same as in
+	 * a real {@link Game}
+	 *
+	 * @param player
+	 *            the id of the {@link Player}
+	 * @param type
+	 *            the type of move, as in {@link CandidateMove}
+	 */
+	private void pay(int player, int type) {
+		int[] cost = COSTS[type];
+		int offset = player * RESOURCES;
+		long hand = 0;
+		for (int i = 0; i < RESOURCES; i++) {
+			hand = PackedResources.with(hand, i, m_resources[offset + i]);
+		}
+		long trades = TradeTable.getTradePlan(hand, TRADES[type].getCost());
+		for (int i = 0; i < RESOURCES; i++) {
+			int deficit = Math.max(0, cost[i] - m_resources[offset + i]);
+			m_resources[offset + i] += deficit * PurchaseCosts.TRADEEXCHANGE_YIELD
+					- PackedResources.get(trades, i) * PurchaseCosts.TRADEEXCHANGE_COST - cost[i];
+		}
+	}
+
+	/**
+	 * Places the building of a move on the {@link Occupancy}, updating the
+	 * {@link ProductionIndex} for a {@link Village} or {@link City}
+	 *
+	 * @param move
+	 *            the encoded move
+	 */
+	private void build(int move) {
+		int player = CandidateMove.getPlayer(move);
+		int location = CandidateMove.getLocation(move);
+		switch (CandidateMove.getType(move)) {
+		case CandidateMove.VILLAGE:
+			m_occupancy.setBuilding(location / m_columns, location % m_columns, Occupancy.VILLAGE, player);
+			addProduction(location, player, Village.PRODUCTIVITY);
+			break;
+		case CandidateMove.CITY:
+			m_occupancy.setBuilding(location / m_columns, location % m_columns, Occupancy.CITY, player);
+			m_production.remove(location);
+			addProduction(location, player, City.PRODUCTIVITY);
+			break;
+		default:
+			int vertices = m_rows * m_columns;
+			if (location < vertices) {
+				m_occupancy.setRoad(location / m_columns, location % m_columns, location / m_columns,
+						location % m_columns + 1, player);
+			} else {
+				location -= vertices;
+				m_occupancy.setRoad(location / m_columns, location % m_columns, location / m_columns + 1,
+						location % m_columns, player);
+			}
+		}
+	}
+
+	/**
+	 * Adds the payouts of a building to the {@link ProductionIndex}
+	 *
+	 * @param vertex
+	 *            the id of the {@link Vertex} the building is on
+	 * @param player
+	 *            the id of the owner
+	 * @param amount
+	 *            the amount produced per resource
+	 */
+	private void addProduction(int vertex, int player, int amount) {
+		for (int i = m_vertexPayoutOffsets[vertex]; i < m_vertexPayoutOffsets[vertex + 1]; i++) {
+			int payout = m_vertexPayouts[i];
+			m_production.add(payout >>> 4, ProductionIndex.pack(vertex, player, payout & 0xF, amount));
+		}
+	}
+
+	/**
+	 * Hashes this {@link SearchState} the same way {@link Game#getHash()}
+	 * hashes the {@link Game} it was copied from, computed on request so the
+	 * resources paid out on every roll of a rollout are not rehashed
+	 *
+	 * @return the hash of this {@link SearchState}
+	 */
+	public long getHash() {
+		long hash = m_occupancy.getHash() ^ ZobristKeys.getTurnKey(m_turn);
+		for (int player : m_order) {
+			long resources = 0;
+			for (int i = 0; i < RESOURCES; i++) {
+				resources ^= ZobristKeys.getResourceKey(i, m_resources[player * RESOURCES + i]);
+			}
+			hash ^= ZobristKeys.getPlayerKey(resources, player);
+		}
+		return m_rollPending ? hash ^ ZobristKeys.ROLL_KEY : hash;
+	}
+
+	@Override
+	public boolean equals(Object state) {
+		if (!(state instanceof SearchState)) {
+			return false;
+		}
+		SearchState other = (SearchState) state;
+		if (getHash() != other.getHash() || m_turn != other.m_turn || m_rollPending != other.m_rollPending
+				|| m_winner != other.m_winner || !Arrays.equals(m_resources, other.m_resources)) {
+			return false;
+		}
+		for (int player : m_order) {
+			if (getVictoryPoints(player) != other.getVictoryPoints(player)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(getHash());
+	}
+
+	@Override
+	public String toString() {
+		return "Search State: (Player: (" + getActivePlayer() + "), Roll Pending: (" + m_rollPending + "), Winner: ("
+				+ m_winner + "))";
+	}
+
+}
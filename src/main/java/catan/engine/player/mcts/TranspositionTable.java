@@ -0,0 +1,141 @@
+package catan.engine.player.mcts;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import catan.engine.board.ZobristKeys;
+
+/**
+ * Fixed size table from the hash of a {@link SearchState} to the visits and
+ * reward the search has recorded for it, so a state reached again by a
+ * different order of moves starts from what is already known about it.
+ *
+ * <p>
+ * Many threads read and add to the table without locking. Each slot is a
+ * single long holding the top bits of the hash as a tag, the visits and the
+ * total reward, so a slot is always read whole. Every finished simulation
+ * adds its one visit and reward to the slot with a compare and set, so
+ * entries only ever grow by what has actually been simulated, whichever
+ * thread or search it came from. An entry of a different state in the same
+ * slot is replaced
+ *
+ * @author Jacob
+ *
+ */
+public class TranspositionTable {
+
+	public static final int DEFAULT_BITS = 16;
+
+	private static final int TAG_SHIFT = 48;
+	private static final long TAG_MASK = -1L << TAG_SHIFT;
+	private static final int VISIT_SHIFT = 28;
+	private static final int MAX_VISITS = (1 << (TAG_SHIFT - VISIT_SHIFT)) - 1;
+	private static final long REWARD_MASK = (1L << VISIT_SHIFT) - 1;
+
+	/**
+	 * Rewards are stored as fixed point numbers with this many fraction bits
+	 */
+	private static final int REWARD_BITS = 8;
+
+	private AtomicLongArray m_entries;
+	private int m_mask;
+
+	/**
+	 * Creates a new {@link TranspositionTable} with 2 to the power of
+	 * {@link #DEFAULT_BITS} slots
+	 */
+	public TranspositionTable() {
+		this(DEFAULT_BITS);
+	}
+
+	/**
+	 * Creates a new {@link TranspositionTable}
+	 *
+	 * @param bits
+	 *            the table has 2 to the power of this many slots
+	 */
+	public TranspositionTable(int bits) {
+		m_mask = (1 << bits) - 1;
+		m_entries = new AtomicLongArray(1 << bits);
+	}
+
+	/**
+	 *
+	 * @param data
+	 *            the data of an entry
+	 * @return the number of visits
+	 */
+	public static int getVisits(long data) {
+		return (int) (data >>> VISIT_SHIFT);
+	}
+
+	/**
+	 *
+	 * @param data
+	 *            the data of an entry
+	 * @return the total reward
+	 */
+	public static double getReward(long data) {
+		return (double) (data & REWARD_MASK) / (1 << REWARD_BITS);
+	}
+
+	/**
+	 * Looks up the entry of a state
+	 *
+	 * @param hash
+	 *            the hash of the state, see {@link ZobristKeys}
+	 * @return the data of the entry, 0 if the state has none
+	 */
+	public long get(long hash) {
+		long entry = m_entries.get((int) hash & m_mask);
+		return (entry & TAG_MASK) == (hash & TAG_MASK) ? entry & ~TAG_MASK : 0;
+	}
+
+	/**
+	 * Adds the result of one simulation through a state to its entry,
+	 * replacing the entry of any other state in its slot
+	 *
+	 * @param hash
+	 *            the hash of the state, see {@link ZobristKeys}
+	 * @param reward
+	 *            the reward of the simulation, at least 0
+	 */
+	public void add(long hash, double reward) {
+		int slot = (int) hash & m_mask;
+		long tag = hash & TAG_MASK;
+		long fixed = Math.max(0, Math.round(reward * (1 << REWARD_BITS)));
+		long current;
+		long next;
+		do {
+			current = m_entries.get(slot);
+			long data = (current & TAG_MASK) == tag ? current & ~TAG_MASK : 0;
+			int visits = getVisits(data);
+			if (visits == MAX_VISITS) {
+				return;
+			}
+			next = tag | (long) (visits + 1) << VISIT_SHIFT | Math.min(REWARD_MASK, (data & REWARD_MASK) + fixed);
+		} while (!m_entries.compareAndSet(slot, current, next));
+	}
+
+	/**
+	 * Empties every slot
+	 */
+	public void clear() {
+		for (int i = 0; i < m_entries.length(); i++) {
+			m_entries.set(i, 0);
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of slots
+	 */
+	public int getCapacity() {
+		return m_mask + 1;
+	}
+
+	@Override
+	public String toString() {
+		return "Transposition Table: (Slots: (" + getCapacity() + "))";
+	}
+
+}
@@ -0,0 +1,184 @@
+package catan.engine.resources;
+
+/**
+ * Operations on amounts of every resource packed into a single long, so
+ * whole {@link ResourceBundle}s can be added, subtracted and compared with a
+ * handful of arithmetic operations instead of one per resource
+ *
+ * <p>
+ * Each resource takes a 12 bit lane, starting from {@link ResourceBundle#WOOD}
+ * in the lowest bits. The top bit of every lane is a guard bit that is always
+ * 0 in a packed value, leaving 11 bits for amounts between 0 and
+ * {@link #MAX_AMOUNT}. Subtracting a value from one with its guard bits set
+ * leaves a guard bit set in exactly the lanes that did not go below 0, so
+ * lanes are compared without a borrow ever reaching the next lane
+ *
+ * @author Jacob
+ *
+ */
+public class PackedResources {
+
+	public static final int LANE_BITS = 12;
+	public static final int MAX_AMOUNT = (1 << (LANE_BITS - 1)) - 1;
+
+	private static final long LANE_MASK = (1L << LANE_BITS) - 1;
+
+	/**
+	 * The guard bit of every lane
+	 */
+	private static final long GUARDS = guards();
+
+	/**
+	 *
+	 * @return a long with the guard bit of every lane set
+	 */
+	private static long guards() {
+		long guards = 0;
+		for (int resource = 0; resource < ResourceBundle.RESOURCE_NUMBER; resource++) {
+			guards |= (long) (MAX_AMOUNT + 1) << (resource * LANE_BITS);
+		}
+		return guards;
+	}
+
+	/**
+	 * Packs amounts of every resource
+	 *
+	 * @param amounts
+	 *            the amounts, in the order of {@link ResourceBundle}, each
+	 *            clamped to between 0 and {@link #MAX_AMOUNT}
+	 * @return the packed value
+	 */
+	public static long pack(int... amounts) {
+		long packed = 0;
+		for (int resource = 0; resource < amounts.length && resource < ResourceBundle.RESOURCE_NUMBER; resource++) {
+			packed = with(packed, resource, amounts[resource]);
+		}
+		return packed;
+	}
+
+	/**
+	 *
+	 * @param packed
+	 *            the packed value
+	 * @param resource
+	 *            the int resource
+	 * @return the amount of the resource
+	 */
+	public static int get(long packed, int resource) {
+		return (int) (packed >>> (resource * LANE_BITS) & LANE_MASK);
+	}
+
+	/**
+	 *
+	 * @param packed
+	 *            the packed value
+	 * @param resource
+	 *            the int resource
+	 * @param amount
+	 *            the new amount, clamped to between 0 and {@link #MAX_AMOUNT}
+	 * @return the packed value with the amount of the resource replaced
+	 */
+	public static long with(long packed, int resource, int amount) {
+		int shift = resource * LANE_BITS;
+		long lane = Math.max(0, Math.min(MAX_AMOUNT, amount));
+		return packed & ~(LANE_MASK << shift) | lane << shift;
+	}
+
+	/**
+	 *
+	 * @param first
+	 *            a packed value
+	 * @param second
+	 *            a packed value
+	 * @return the sum of every resource, or {@link #MAX_AMOUNT} where the sum
+	 *         is greater
+	 */
+	public static long add(long first, long second) {
+		long sum = first + second;
+		long guards = sum & GUARDS;
+		// a lane that went over carried into its guard bit, fill the lane instead
+		return (sum | guards - (guards >>> (LANE_BITS - 1))) & ~GUARDS;
+	}
+
+	/**
+	 *
+	 * @param first
+	 *            a packed value
+	 * @param second
+	 *            a packed value
+	 * @return the first value less the second for every resource, or 0 where
+	 *         the second is greater
+	 */
+	public static long subtract(long first, long second) {
+		return deficit(second, first);
+	}
+
+	/**
+	 *
+	 * @param source
+	 *            the packed value paying
+	 * @param cost
+	 *            the packed cost
+	 * @return true if the source has at least the cost of every resource
+	 */
+	public static boolean canAfford(long source, long cost) {
+		return ((source | GUARDS) - cost & GUARDS) == GUARDS;
+	}
+
+	/**
+	 *
+	 * @param source
+	 *            the packed value paying
+	 * @param cost
+	 *            the packed cost
+	 * @return how much of every resource the source is short of the cost, 0
+	 *         where it has enough
+	 */
+	public static long deficit(long source, long cost) {
+		long difference = (cost | GUARDS) - source;
+		long guards = difference & GUARDS;
+		// spreads each remaining guard bit over the 11 bits below it
+		return difference & (guards - (guards >>> (LANE_BITS - 1)));
+	}
+
+	/**
+	 *
+	 * @param source
+	 *            the packed value paying
+	 * @param cost
+	 *            the packed cost
+	 * @return how much of every resource the source has left over the cost, 0
+	 *         where it has too little
+	 */
+	public static long surplus(long source, long cost) {
+		return deficit(cost, source);
+	}
+
+	/**
+	 *
+	 * @param packed
+	 *            a packed value
+	 * @return the total amount of every resource
+	 */
+	public static int total(long packed) {
+		int total = 0;
+		for (int resource = 0; resource < ResourceBundle.RESOURCE_NUMBER; resource++) {
+			total += get(packed, resource);
+		}
+		return total;
+	}
+
+	/**
+	 *
+	 * @param packed
+	 *            a packed value
+	 * @return the packed value as a {@link String}
+	 */
+	public static String toString(long packed) {
+		return "PackedResources: (Wood: (" + get(packed, ResourceBundle.WOOD) + "), Clay: ("
+				+ get(packed, ResourceBundle.CLAY) + "), Stone: (" + get(packed, ResourceBundle.STONE)
+				+ "), Grain: (" + get(packed, ResourceBundle.GRAIN) + "), Sheep: ("
+				+ get(packed, ResourceBundle.SHEEP) + "))";
+	}
+
+}
@@ -1,9 +1,14 @@
 package catan.engine.resources;
 
 import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import catan.engine.board.ZobristKeys;
 
 /**
- * Class representing a collection of resources
+ * Class representing a collection of resources. The amounts are kept packed
+ * into a single long, see {@link PackedResources}, so they are between 0 and
+ * {@link PackedResources#MAX_AMOUNT}
  * 
  * @author Jacob
  *
@@ -19,11 +24,12 @@ public class ResourceBundle {
 
 	public static final int RESOURCE_NUMBER = 5;
 
-	private int m_wood = 0;
-	private int m_clay = 0;
-	private int m_stone = 0;
-	private int m_grain = 0;
-	private int m_sheep = 0;
+	/**
+	 * The amount of every resource, see {@link PackedResources}
+	 */
+	private long m_packed = 0;
+
+	private long m_hash = 0;
 
 	private Runnable m_largeScaleUpdateListener = null;
 
@@ -72,63 +78,99 @@ public class ResourceBundle {
 	}
 
 	public int getWood() {
-		return m_wood;
+		return PackedResources.get(m_packed, WOOD);
 	}
 
 	public void setWood(int wood) {
-		m_wood = wood;
+		setPacked(PackedResources.with(m_packed, WOOD, wood));
 	}
 
 	public void addWood(int wood) {
-		m_wood += wood;
+		setWood(getWood() + wood);
 	}
 
 	public int getClay() {
-		return m_clay;
+		return PackedResources.get(m_packed, CLAY);
 	}
 
 	public void setClay(int clay) {
-		m_clay = clay;
+		setPacked(PackedResources.with(m_packed, CLAY, clay));
 	}
 
 	public void addClay(int clay) {
-		m_clay += clay;
+		setClay(getClay() + clay);
 	}
 
 	public int getStone() {
-		return m_stone;
+		return PackedResources.get(m_packed, STONE);
 	}
 
 	public void setStone(int stone) {
-		m_stone = stone;
+		setPacked(PackedResources.with(m_packed, STONE, stone));
 	}
 
 	public void addStone(int stone) {
-		m_stone += stone;
+		setStone(getStone() + stone);
 	}
 
 	public int getGrain() {
-		return m_grain;
+		return PackedResources.get(m_packed, GRAIN);
 	}
 
 	public void setGrain(int grain) {
-		m_grain = grain;
+		setPacked(PackedResources.with(m_packed, GRAIN, grain));
 	}
 
 	public void addGrain(int grain) {
-		m_grain += grain;
+		setGrain(getGrain() + grain);
 	}
 
 	public int getSheep() {
-		return m_sheep;
+		return PackedResources.get(m_packed, SHEEP);
 	}
 
 	public void setSheep(int sheep) {
-		m_sheep = sheep;
+		setPacked(PackedResources.with(m_packed, SHEEP, sheep));
 	}
 
 	public void addSheep(int sheep) {
-		m_sheep += sheep;
+		setSheep(getSheep() + sheep);
+	}
+
+	/**
+	 * 
+	 * @return the amount of every resource packed into a long, see
+	 *         {@link PackedResources}
+	 */
+	public long getPacked() {
+		return m_packed;
+	}
+
+	/**
+	 * Replaces the amount of every resource, keeping the hash of this
+	 * {@link ResourceBundle} up to date, without running the change listener
+	 * 
+	 * @param packed
+	 *            the amount of every resource, see {@link PackedResources}
+	 */
+	public void setPacked(long packed) {
+		for (int resource = 0; resource < RESOURCE_NUMBER; resource++) {
+			int before = PackedResources.get(m_packed, resource);
+			int after = PackedResources.get(packed, resource);
+			if (before != after) {
+				m_hash ^= ZobristKeys.getResourceKey(resource, before) ^ ZobristKeys.getResourceKey(resource, after);
+			}
+		}
+		m_packed = packed;
+	}
+
+	/**
+	 * 
+	 * @return the hash of the amount of every resource, built from
+	 *         {@link ZobristKeys} and equal for equal {@link ResourceBundle}s
+	 */
+	public long getHash() {
+		return m_hash;
 	}
 
 	/**
@@ -140,15 +182,90 @@ public class ResourceBundle {
 	 * @return the calling {@link ResourceBundle}
 	 */
 	public ResourceBundle addRandom(int number) {
+		return addRandom(number, new SplittableRandom());
+	}
+
+	/**
+	 * Adds the specified number of random resources to this
+	 * {@link ResourceBundle}
+	 * 
+	 * @param number
+	 *            the number of resources to add
+	 * @param random
+	 *            the source of randomness to draw resources from
+	 * @return the calling {@link ResourceBundle}
+	 */
+	public ResourceBundle addRandom(int number, SplittableRandom random) {
 		for (int i = 0; i < number; i++) {
-			int j = (int) (Math.random() * RESOURCE_NUMBER);
-			int[] resources = new int[RESOURCE_NUMBER];
-			resources[j] = 1;
-			add(new ResourceBundle(resources));
+			add(random.nextInt(RESOURCE_NUMBER), 1);
 		}
 		return this;
 	}
 
+	/**
+	 * Adds the specified amount of a single resource to this
+	 * {@link ResourceBundle}
+	 * 
+	 * @param resource
+	 *            the int resource to add
+	 * @param amount
+	 *            the amount to add
+	 * @return the calling {@link ResourceBundle}
+	 */
+	public ResourceBundle add(int resource, int amount) {
+		switch (resource) {
+		case WOOD:
+			addWood(amount);
+			break;
+		case CLAY:
+			addClay(amount);
+			break;
+		case STONE:
+			addStone(amount);
+			break;
+		case GRAIN:
+			addGrain(amount);
+			break;
+		case SHEEP:
+			addSheep(amount);
+			break;
+		default:
+			return this;
+		}
+		if (m_largeScaleUpdateListener != null) {
+			m_largeScaleUpdateListener.run();
+		}
+		return this;
+	}
+
+	/**
+	 * 
+	 * @param resource
+	 *            the int resource to get
+	 * @return the amount of the resource, 0 for an unknown resource
+	 */
+	public int get(int resource) {
+		if (resource < 0 || resource >= RESOURCE_NUMBER) {
+			return 0;
+		}
+		return PackedResources.get(m_packed, resource);
+	}
+
+	/**
+	 * Adds the specified amount of a resource without running the change
+	 * listener, for changes that are taken back before anyone looks
+	 * 
+	 * @param resource
+	 *            the int resource to add
+	 * @param amount
+	 *            the amount to add
+	 */
+	public void adjust(int resource, int amount) {
+		if (resource >= 0 && resource < RESOURCE_NUMBER) {
+			setPacked(PackedResources.with(m_packed, resource, get(resource) + amount));
+		}
+	}
+
 	/**
 	 * Adds the specified {@link ResourceBundle} to this {@link ResourceBundle}
 	 * 
@@ -158,11 +275,7 @@ public class ResourceBundle {
 	 * @return the calling {@link ResourceBundle}
 	 */
 	public ResourceBundle add(ResourceBundle bundle) {
-		addWood(bundle.getWood());
-		addClay(bundle.getClay());
-		addStone(bundle.getStone());
-		addGrain(bundle.getGrain());
-		addSheep(bundle.getSheep());
+		setPacked(PackedResources.add(m_packed, bundle.m_packed));
 		if (m_largeScaleUpdateListener != null) {
 			m_largeScaleUpdateListener.run();
 		}
@@ -171,7 +284,8 @@ public class ResourceBundle {
 
 	/**
 	 * Subtracts the specified {@link ResourceBundle} from this
-	 * {@link ResourceBundle}
+	 * {@link ResourceBundle}, stopping at 0 for any resource there is not
+	 * enough of
 	 * 
 	 * @param bundle
 	 *            the {@link ResourceBundle} to add to this
@@ -179,11 +293,7 @@ public class ResourceBundle {
 	 * @return the calling {@link ResourceBundle}
 	 */
 	public ResourceBundle subtract(ResourceBundle bundle) {
-		addWood(-bundle.getWood());
-		addClay(-bundle.getClay());
-		addStone(-bundle.getStone());
-		addGrain(-bundle.getGrain());
-		addSheep(-bundle.getSheep());
+		setPacked(PackedResources.subtract(m_packed, bundle.m_packed));
 		if (m_largeScaleUpdateListener != null) {
 			m_largeScaleUpdateListener.run();
 		}
@@ -198,8 +308,7 @@ public class ResourceBundle {
 	 *         the specified {@link ResourceBundle} for all resources
 	 */
 	public boolean greaterOrEqualTo(ResourceBundle bundle) {
-		return getWood() >= bundle.getWood() && getClay() >= bundle.getClay() && getGrain() >= bundle.getGrain()
-				&& getStone() >= bundle.getStone() && getSheep() >= bundle.getSheep();
+		return PackedResources.canAfford(m_packed, bundle.m_packed);
 	}
 
 	/**
@@ -247,16 +356,20 @@ public class ResourceBundle {
 
 	@Override
 	public boolean equals(Object bundle) {
-		return bundle instanceof ResourceBundle && ((ResourceBundle) bundle).getWood() == getWood()
-				&& ((ResourceBundle) bundle).getClay() == getClay()
-				&& ((ResourceBundle) bundle).getStone() == getStone()
-				&& ((ResourceBundle) bundle).getGrain() == getGrain()
-				&& ((ResourceBundle) bundle).getSheep() == getSheep();
+		return bundle instanceof ResourceBundle && ((ResourceBundle) bundle).m_packed == m_packed;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(m_hash);
 	}
 
 	@Override
 	public ResourceBundle clone() {
-		return new ResourceBundle(getWood(), getClay(), getStone(), getGrain(), getSheep());
+		ResourceBundle clone = new ResourceBundle();
+		clone.m_packed = m_packed;
+		clone.m_hash = m_hash;
+		return clone;
 	}
 
 	@Override
@@ -3,12 +3,6 @@ package catan.engine.resources;
 import java.util.Arrays;
 
 import catan.engine.board.Board;
-import catan.engine.board.BoardNotInitializedException;
-import catan.engine.board.objects.BoardObjectNotInitializedException;
-import catan.engine.board.objects.Productive;
-import catan.engine.board.objects.VertexObject;
-import catan.engine.board.tile.TileNotInitializedException;
-import catan.engine.board.tile.VertexNotInitializedException;
 import catan.engine.player.Player;
 
 /**
@@ -31,17 +25,7 @@ public class ResourceMetric {
 	 *            the {@link Player} to create this {@link ResourceMetric} for
 	 */
 	public ResourceMetric(Board board, Player player) {
-		board.forAllObjects((object) -> {
-			if (object instanceof Productive && ((VertexObject) object).getOwner() == player) {
-				try {
-					add(((Productive) object).getMetric());
-				} catch (TileNotInitializedException | BoardNotInitializedException | VertexNotInitializedException
-						| BoardObjectNotInitializedException e) {
-					e.printStackTrace();
-					System.exit(0);
-				}
-			}
-		});
+		m_metric = board.getOccupancy().getMetric(board.getPlayerId(player));
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package catan.engine.resources.trading;
 
 import catan.engine.player.Player;
+import catan.engine.resources.PackedResources;
 import catan.engine.resources.Purchase;
 import catan.engine.resources.PurchaseCosts;
 import catan.engine.resources.ResourceBundle;
@@ -31,97 +32,59 @@ public class TradeExchange implements Purchase {
 	}
 
 	/**
+	 * Finds the fewest {@link TradeExchange}s that let a {@link ResourceBundle}
+	 * pay a cost, see {@link TradeTable}. Resources are traded away as planned
+	 * by {@link TradeTable#getTradePlan(long, long)}, and each trade brings in
+	 * the first resource still missing
 	 * 
 	 * @param source
 	 *            the {@link ResourceBundle} paying the cost
 	 * @param cost
 	 *            the cost {@link ResourceBundle}
-	 * @return true if source bundle can afford cost bundle once trade is
-	 *         factored in
+	 * @return the {@link TradeInfo} holding whether the source bundle can
+	 *         afford the cost bundle once trades are factored in, and the
+	 *         trades
 	 */
 	public static TradeInfo getTradeStats(ResourceBundle source, ResourceBundle cost) {
-		if (source.greaterOrEqualTo(cost)) {
-			TradeInfo info = new TradeInfo();
-			info.m_tradeAffordable = true;
+		TradeInfo info = new TradeInfo();
+		int totalMissing = TradeTable.of(cost).getTrades(source.getPacked());
+		info.m_tradeAffordable = totalMissing != TradeTable.NOT_AFFORDABLE;
+		if (totalMissing <= 0) {
 			return info;
 		}
 
-		int[] tradeable = new int[] {
-				PurchaseCosts.TRADEEXCHANGE_YIELD * (source.getWood() / PurchaseCosts.TRADEEXCHANGE_COST),
-				PurchaseCosts.TRADEEXCHANGE_YIELD * (source.getClay() / PurchaseCosts.TRADEEXCHANGE_COST),
-				PurchaseCosts.TRADEEXCHANGE_YIELD * (source.getStone() / PurchaseCosts.TRADEEXCHANGE_COST),
-				PurchaseCosts.TRADEEXCHANGE_YIELD * (source.getGrain() / PurchaseCosts.TRADEEXCHANGE_COST),
-				PurchaseCosts.TRADEEXCHANGE_YIELD * (source.getSheep() / PurchaseCosts.TRADEEXCHANGE_COST) };
+		long missing = PackedResources.deficit(source.getPacked(), cost.getPacked());
+		long trades = TradeTable.getTradePlan(source.getPacked(), cost.getPacked());
 
-		int[][] costs = new int[][] { { ResourceBundle.WOOD, cost.getWood() }, { ResourceBundle.CLAY, cost.getClay() },
-				{ ResourceBundle.STONE, cost.getStone() }, { ResourceBundle.GRAIN, cost.getGrain() },
-				{ ResourceBundle.SHEEP, cost.getSheep() } };
-
-		// sort costs from least to greatest with insertion sort
-		for (int i = 1; i < costs.length; i++) {
-			int[] temp = costs[i];
-
-			int j = i;
-			while (j > 0 && costs[j - 1][1] > temp[1]) {
-				costs[j] = costs[j - 1];
-				j--;
-			}
-			costs[j] = temp;
-		}
-
-		int[] missing = new int[] { (cost.getWood() > source.getWood() ? cost.getWood() - source.getWood() : 0),
-				(cost.getClay() > source.getClay() ? cost.getClay() - source.getClay() : 0),
-				(cost.getStone() > source.getStone() ? cost.getStone() - source.getStone() : 0),
-				(cost.getGrain() > source.getGrain() ? cost.getGrain() - source.getGrain() : 0),
-				(cost.getSheep() > source.getSheep() ? cost.getSheep() - source.getSheep() : 0) };
-
-		int totalMissing = 0;
-
-		for (int i : missing) {
-			totalMissing += i;
-		}
-
-		int[] trades = new int[costs.length];
-
-		for (int i = 0; i < costs.length; i++) {
-			int resource = costs[i][0];
-			if (missing[resource] > 0) {
-				continue;
-			}
-			while (totalMissing > 0) {
-				if (cost.getRawBundle()[resource] > source.getRawBundle()[resource]
-						- (trades[resource] + 1) * PurchaseCosts.TRADEEXCHANGE_COST) {
-					// trading more will make you unable to afford resource
-					break;
+		int missingIndex = 0;
+		for (int resource = 0; resource < ResourceBundle.RESOURCE_NUMBER; resource++) {
+			for (int i = 0; i < PackedResources.get(trades, resource); i++) {
+				while (PackedResources.get(missing, missingIndex) == 0) {
+					missingIndex++;
 				}
-				trades[resource]++;
-				totalMissing--;
+				info.m_trades.add(new TradeExchange(resource, missingIndex));
+				missing = PackedResources.with(missing, missingIndex,
+						PackedResources.get(missing, missingIndex) - PurchaseCosts.TRADEEXCHANGE_YIELD);
 			}
 		}
-		
-		if (totalMissing > 0) {
-			TradeInfo info = new TradeInfo();
-			info.m_tradeAffordable = false;
-			return info;
-		} else {
-			TradeInfo info = new TradeInfo();
-			info.m_tradeAffordable = true;
 
-			int missingIndex = 0;
-			for (int resource = 0; resource < trades.length; resource++) {
-				for (int i = 0; i < trades[resource]; i++) {
-					if (missing[missingIndex] > 0) {
-						info.m_trades.add(new TradeExchange(resource, missingIndex));
-						missing[missingIndex]--;
-					} else {
-						missingIndex++;
-						i--;
-					}
-				}
-			}
+		return info;
+	}
 
-			return info;
-		}
+	/**
+	 * 
+	 * @return the resource given to the bank
+	 */
+	public int getInput() {
+		return m_input;
+	}
+
+	/**
+	 * 
+	 * @return the resource taken from the bank
+	 */
+	public int getOutput() {
+		return m_output;
 	}
 
 	/**
@@ -0,0 +1,246 @@
+package catan.engine.resources.trading;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import catan.engine.resources.PackedResources;
+import catan.engine.resources.PurchaseCosts;
+import catan.engine.resources.ResourceBundle;
+
+/**
+ * Table of the fewest {@link TradeExchange}s needed to pay a cost from every
+ * hand holding at most a cap of each resource, so whether a hand can pay is a
+ * single lookup. Hands holding more than the cap of any resource are solved
+ * directly instead
+ *
+ * <p>
+ * A {@link TradeExchange} turns {@link PurchaseCosts#TRADEEXCHANGE_COST} of a
+ * resource the hand has spare into {@link PurchaseCosts#TRADEEXCHANGE_YIELD}
+ * of one it is missing, so trading a resource that is itself needed or
+ * trading twice in a row never helps. The fewest trades are the trades needed
+ * to cover each missing resource, and the cost can be paid if the spare
+ * resources cover that many trades
+ *
+ * @author Jacob
+ *
+ */
+public class TradeTable {
+
+	public static final int DEFAULT_HAND_CAP = 7;
+
+	public static final int NOT_AFFORDABLE = -1;
+
+	private static final ConcurrentHashMap<Long, TradeTable> TABLES = new ConcurrentHashMap<Long, TradeTable>();
+
+	public static final TradeTable VILLAGE = of(PurchaseCosts.VILLAGE_COST);
+	public static final TradeTable CITY = of(PurchaseCosts.CITY_COST);
+	public static final TradeTable ROAD = of(PurchaseCosts.ROAD_COST);
+
+	private long m_cost;
+	private int m_handCap;
+	private long m_capHand;
+	private byte[] m_trades;
+
+	/**
+	 * Creates a new {@link TradeTable} with a hand cap of
+	 * {@link #DEFAULT_HAND_CAP}
+	 *
+	 * @param cost
+	 *            the cost to pay
+	 */
+	public TradeTable(ResourceBundle cost) {
+		this(cost, DEFAULT_HAND_CAP);
+	}
+
+	/**
+	 * Creates a new {@link TradeTable}, filling every entry up front
+	 *
+	 * @param cost
+	 *            the cost to pay
+	 * @param handCap
+	 *            the most of any one resource a hand in the table holds, the
+	 *            table has handCap + 1 to the power of
+	 *            {@link ResourceBundle#RESOURCE_NUMBER} entries
+	 */
+	public TradeTable(ResourceBundle cost, int handCap) {
+		m_cost = cost.getPacked();
+		m_handCap = Math.max(0, Math.min(PackedResources.MAX_AMOUNT, handCap));
+
+		int[] caps = new int[ResourceBundle.RESOURCE_NUMBER];
+		int size = 1;
+		for (int resource = 0; resource < caps.length; resource++) {
+			caps[resource] = m_handCap;
+			size *= m_handCap + 1;
+		}
+		m_capHand = PackedResources.pack(caps);
+
+		m_trades = new byte[size];
+		int[] hand = new int[ResourceBundle.RESOURCE_NUMBER];
+		for (int index = 0; index < size; index++) {
+			int rest = index;
+			for (int resource = 0; resource < hand.length; resource++) {
+				hand[resource] = rest % (m_handCap + 1);
+				rest /= m_handCap + 1;
+			}
+			m_trades[index] = (byte) getTrades(PackedResources.pack(hand), m_cost);
+		}
+	}
+
+	/**
+	 * Gets the shared {@link TradeTable} of a cost, creating it with a hand
+	 * cap of {@link #DEFAULT_HAND_CAP} the first time the cost is asked for
+	 *
+	 * @param cost
+	 *            the cost to pay
+	 * @return the {@link TradeTable}
+	 */
+	public static TradeTable of(ResourceBundle cost) {
+		return TABLES.computeIfAbsent(cost.getPacked(), packed -> new TradeTable(cost));
+	}
+
+	/**
+	 * Finds the fewest {@link TradeExchange}s needed to pay a cost, without a
+	 * table
+	 *
+	 * @param hand
+	 *            the packed resources paying, see {@link PackedResources}
+	 * @param cost
+	 *            the packed cost
+	 * @return the number of {@link TradeExchange}s, {@link #NOT_AFFORDABLE} if
+	 *         no number of them is enough
+	 */
+	public static int getTrades(long hand, long cost) {
+		if (PackedResources.canAfford(hand, cost)) {
+			return 0;
+		}
+		long surplus = PackedResources.surplus(hand, cost);
+		int needed = getNeeded(hand, cost);
+		int available = 0;
+		for (int resource = 0; resource < ResourceBundle.RESOURCE_NUMBER; resource++) {
+			available += PackedResources.get(surplus, resource) / PurchaseCosts.TRADEEXCHANGE_COST;
+		}
+		return needed <= available ? needed : NOT_AFFORDABLE;
+	}
+
+	/**
+	 * Plans which resources to trade away to pay a cost, so every caller that
+	 * trades with the bank trades the same ones. Resources are traded away
+	 * cheapest in the cost first, then in resource order, each as many times
+	 * as its surplus allows until enough {@link TradeExchange}s are planned
+	 *
+	 * @param hand
+	 *            the packed resources paying, see {@link PackedResources}
+	 * @param cost
+	 *            the packed cost
+	 * @return the packed number of {@link TradeExchange}s giving away each
+	 *         resource, as many as the hand allows if it cannot afford the
+	 *         cost
+	 */
+	public static long getTradePlan(long hand, long cost) {
+		int needed = getNeeded(hand, cost);
+		if (needed == 0) {
+			return 0;
+		}
+
+		long deficit = PackedResources.deficit(hand, cost);
+		long surplus = PackedResources.surplus(hand, cost);
+		int highest = 0;
+		for (int resource = 0; resource < ResourceBundle.RESOURCE_NUMBER; resource++) {
+			highest = Math.max(highest, PackedResources.get(cost, resource));
+		}
+
+		long plan = 0;
+		for (int amount = 0; amount <= highest && needed > 0; amount++) {
+			for (int resource = 0; resource < ResourceBundle.RESOURCE_NUMBER && needed > 0; resource++) {
+				if (PackedResources.get(cost, resource) == amount && PackedResources.get(deficit, resource) == 0) {
+					int trades = Math.min(needed,
+							PackedResources.get(surplus, resource) / PurchaseCosts.TRADEEXCHANGE_COST);
+					plan = PackedResources.with(plan, resource, trades);
+					needed -= trades;
+				}
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 *
+	 * @param hand
+	 *            the packed resources paying, see {@link PackedResources}
+	 * @param cost
+	 *            the packed cost
+	 * @return the number of {@link TradeExchange}s needed to cover every
+	 *         resource the hand is missing
+	 */
+	private static int getNeeded(long hand, long cost) {
+		long deficit = PackedResources.deficit(hand, cost);
+		int needed = 0;
+		for (int resource = 0; resource < ResourceBundle.RESOURCE_NUMBER; resource++) {
+			needed += (PackedResources.get(deficit, resource) + PurchaseCosts.TRADEEXCHANGE_YIELD - 1)
+					/ PurchaseCosts.TRADEEXCHANGE_YIELD;
+		}
+		return needed;
+	}
+
+	/**
+	 *
+	 * @param hand
+	 *            the packed resources paying, see {@link PackedResources}
+	 * @return the fewest {@link TradeExchange}s needed to pay the cost of this
+	 *         {@link TradeTable}, {@link #NOT_AFFORDABLE} if no number of them
+	 *         is enough
+	 */
+	public int getTrades(long hand) {
+		if (!PackedResources.canAfford(m_capHand, hand)) {
+			return getTrades(hand, m_cost);
+		}
+		int index = 0;
+		for (int resource = ResourceBundle.RESOURCE_NUMBER - 1; resource >= 0; resource--) {
+			index = index * (m_handCap + 1) + PackedResources.get(hand, resource);
+		}
+		return m_trades[index];
+	}
+
+	/**
+	 *
+	 * @param hand
+	 *            the packed resources paying, see {@link PackedResources}
+	 * @return true if the hand can pay the cost of this {@link TradeTable},
+	 *         trading with the bank if needed
+	 */
+	public boolean isAffordable(long hand) {
+		return getTrades(hand) != NOT_AFFORDABLE;
+	}
+
+	/**
+	 *
+	 * @param bundle
+	 *            the {@link ResourceBundle} paying
+	 * @return true if the {@link ResourceBundle} can pay the cost of this
+	 *         {@link TradeTable}, trading with the bank if needed
+	 */
+	public boolean isAffordable(ResourceBundle bundle) {
+		return isAffordable(bundle.getPacked());
+	}
+
+	/**
+	 *
+	 * @return the packed cost paid, see {@link PackedResources}
+	 */
+	public long getCost() {
+		return m_cost;
+	}
+
+	/**
+	 *
+	 * @return the most of any one resource a hand in the table holds
+	 */
+	public int getHandCap() {
+		return m_handCap;
+	}
+
+	@Override
+	public String toString() {
+		return "Trade Table: (Cost: (" + PackedResources.toString(m_cost) + "), Hand Cap: (" + m_handCap + "))";
+	}
+
+}
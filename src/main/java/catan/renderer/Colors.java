@@ -23,6 +23,8 @@ public class Colors {
 
 	public static final Color BOARD_PRE_SELECTED_COLOR = Color.ORANGE;
 
+	public static final Color BOARD_HIGHLIGHTED_COLOR = Color.YELLOW;
+
 	public static final Color OCEAN_COLOR = new Color(0, 204, 255);
 
 	public static final Color COAST_COLOR = new Color(255, 255, 153);
@@ -2,6 +2,7 @@ package catan.renderer.panel;
 
 import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
+import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
@@ -13,17 +14,26 @@ import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import catan.Catan;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
+import catan.engine.board.ObjectSnapshot;
 import catan.engine.board.SelectedBoardObjectListener;
 import catan.engine.board.SelectedPositionListener;
 import catan.engine.board.objects.BoardObject;
@@ -45,23 +55,43 @@ public class BoardPanel extends JPanel {
 	public static final int PANEL_HORIZONTAL = 800;
 	public static final int PANEL_VERTICAL = 600;
 
-	private static final double VERTEX_INDICATOR_RELATIVE_SIZE = 0.4;
+	public static final int DEFAULT_FRAME_RATE_CAP = 60;
 
-	private boolean m_useDuration = false;
-	private long m_messageDuration = 0;
-	private long m_messageStartTime = 0;
-	private String m_message = "";
-	private boolean m_showMessage = false;
-	private boolean m_mouseLock = false;
-	private boolean m_preSelectionIndicator = false;
-	private boolean m_selectVertex = false;
-	private boolean m_selectObjects = false;
-	private int[] m_selected;
-	private BoardObject m_selectedObject;
-	private SelectedPositionListener m_selectedTileListener;
-	private SelectedPositionListener m_selectedVertexListener;
-	private SelectedBoardObjectListener m_selectedObjectListener;
-	private Runnable m_deselectListener;
+	private static final double VERTEX_INDICATOR_RELATIVE_SIZE = 0.4;
+	private static final long INPUT_KEEP_ALIVE = 10000;
+	private static final int INPUT_QUEUE_SIZE = 2;
+	private static final Font FRAME_STATS_FONT = new Font("Arial", Font.PLAIN, 12);
+	private static final Font MESSAGE_FONT = new Font("Arial", Font.PLAIN, 40);
+	private static final BasicStroke OUTLINE_STROKE = new BasicStroke(5f);
+	private static final AlphaComposite OPAQUE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f);
+	private static final AlphaComposite TRANSLUCENT = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.75f);
+
+	private Timer m_messageTimer;
+	private volatile String m_message = "";
+	private volatile boolean m_showMessage = false;
+	private volatile boolean m_preSelectionIndicator = false;
+	private volatile boolean m_selectVertex = false;
+	private volatile boolean m_selectObjects = false;
+	private volatile int[] m_selected;
+	private volatile BoardObject m_selectedObject;
+	private volatile BoardObject m_highlightedObject;
+	private int[] m_hovered;
+	private BoardObject m_hoveredObject;
+	private AtomicReference<Point> m_pendingClick = new AtomicReference<Point>();
+	private ThreadPoolExecutor m_inputExecutor;
+	private ObjectHitIndex m_hitIndex = new ObjectHitIndex();
+	private AtomicBoolean m_dirty = new AtomicBoolean(false);
+	private Timer m_renderTimer;
+	private BufferedImage m_background;
+	private int m_backgroundVersion;
+	private boolean m_showFrameStats = false;
+	private long m_frameCount = 0;
+	private long m_lastFrameTime = 0;
+	private long m_totalFrameTime = 0;
+	private volatile SelectedPositionListener m_selectedTileListener;
+	private volatile SelectedPositionListener m_selectedVertexListener;
+	private volatile SelectedBoardObjectListener m_selectedObjectListener;
+	private volatile Runnable m_deselectListener;
 	private AbstractAction m_deselect = new AbstractAction() {
 		@Override
 		public void actionPerformed(ActionEvent e) {
@@ -71,6 +101,12 @@ public class BoardPanel extends JPanel {
 			}
 		}
 	};
+	private AbstractAction m_toggleFrameStats = new AbstractAction() {
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			setShowFrameStats(!m_showFrameStats);
+		}
+	};
 
 	private Board m_board;
 
@@ -90,63 +126,66 @@ public class BoardPanel extends JPanel {
 		getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "deselect");
 		getActionMap().put("deselect", m_deselect);
 
+		// Frame stats keybinding
+		getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "frameStats");
+		getActionMap().put("frameStats", m_toggleFrameStats);
+
+		// only repaint when something has changed, at most once per frame
+		m_renderTimer = new Timer(1000 / DEFAULT_FRAME_RATE_CAP, (event) -> {
+			m_dirty.set(false);
+			repaint();
+		});
+		m_renderTimer.setRepeats(false);
+		m_renderTimer.setCoalesce(true);
+
+		// a single input thread handles clicks in order, stopping when idle
+		m_inputExecutor = new ThreadPoolExecutor(1, 1, INPUT_KEEP_ALIVE, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(INPUT_QUEUE_SIZE), (runnable) -> {
+					Thread thread = new Thread(runnable, "Board Panel Input");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.DiscardPolicy());
+		m_inputExecutor.allowCoreThreadTimeOut(true);
+
 		// mouse listener
 		addMouseListener(new MouseAdapter() {
 			@Override
 			public void mousePressed(MouseEvent event) {
-				if (!m_mouseLock) {
-					m_mouseLock = true;
-					new Thread(() -> {
-
-						m_selected = null;
-						m_selectedObject = null;
-
-						// check selected objects
-						if (m_selectObjects) {
-							for (BoardObject object : m_board.getObjects()) {
-								try {
-									int[] firstCorner = object.getImagePosition(m_board.getDimensions(),
-											new int[] { getWidth(), getHeight() });
-									int[] dimensions = object.getImageDimensions(m_board.getDimensions(),
-											new int[] { getWidth(), getHeight() });
-									if (event.getX() > firstCorner[0] && event.getX() < firstCorner[0] + dimensions[0]
-											&& event.getY() > firstCorner[1]
-											&& event.getY() < firstCorner[1] + dimensions[1]) {
-										m_selectedObject = object;
-										if (m_selectedObjectListener != null) {
-											m_selectedObjectListener.onSelect(m_selectedObject);
-										}
-										m_mouseLock = false;
-										return;
-									}
-								} catch (BoardObjectNotInitializedException | BoardNotInitializedException e) {
-									e.printStackTrace();
-									System.exit(0);
-								}
-							}
-						}
+				// only the latest click waiting to be handled is kept
+				if (m_pendingClick.getAndSet(event.getPoint()) == null) {
+					m_inputExecutor.execute(() -> select(m_pendingClick.getAndSet(null)));
+				}
+			}
 
-						// check selected tiles or vertices
-
-						try {
-							if (m_selectVertex) {
-								m_selected = pixelToVertex(event.getX(), event.getY());
-								if (m_selectedVertexListener != null) {
-									m_selectedVertexListener.onSelect(m_selected[0], m_selected[1]);
-								}
-							} else {
-								m_selected = pixelToPos(event.getX(), event.getY());
-								if (m_selectedTileListener != null) {
-									m_selectedTileListener.onSelect(m_selected[0], m_selected[1]);
-								}
-							}
-						} catch (BoardNotInitializedException | TileNotInitializedException e) {
-							e.printStackTrace();
-							System.exit(0);
-						}
+			@Override
+			public void mouseExited(MouseEvent event) {
+				m_hovered = null;
+				m_hoveredObject = null;
+				if (m_preSelectionIndicator) {
+					requestRender();
+				}
+			}
+		});
 
-						m_mouseLock = false;
-					}).start();
+		// hover listener, only repaints when the hovered position changes
+		addMouseMotionListener(new MouseMotionAdapter() {
+			@Override
+			public void mouseMoved(MouseEvent event) {
+				if (!m_preSelectionIndicator) {
+					return;
+				}
+				try {
+					BoardObject hoveredObject = m_selectObjects ? getObjectAt(event.getX(), event.getY()) : null;
+					int[] hovered = m_selectVertex ? pixelToVertex(event.getX(), event.getY())
+							: pixelToPos(event.getX(), event.getY());
+					if (hoveredObject != m_hoveredObject || !Arrays.equals(hovered, m_hovered)) {
+						m_hoveredObject = hoveredObject;
+						m_hovered = hovered;
+						requestRender();
+					}
+				} catch (BoardNotInitializedException e) {
+					e.printStackTrace();
+					System.exit(0);
 				}
 			}
 		});
@@ -159,11 +198,75 @@ public class BoardPanel extends JPanel {
 				e.printStackTrace();
 				System.exit(0);
 			}
+			m_hitIndex.add(object, m_board.getObjectSnapshot().getVersion());
+			requestRender();
+		});
+		m_board.setObjectRemovedListener((object) -> {
+			m_hitIndex.remove(object, m_board.getObjectSnapshot().getVersion());
+			requestRender();
 		});
+		m_board.setLayoutChangedListener(() -> requestRender());
+	}
+
+	/**
+	 * Marks this {@link BoardPanel} as needing to be drawn again. Requests are
+	 * coalesced, so any number of requests made within a single frame only
+	 * cause one repaint. Safe to call from any thread
+	 */
+	public void requestRender() {
+		if (m_dirty.compareAndSet(false, true)) {
+			m_renderTimer.restart();
+		}
+	}
+
+	/**
+	 * Sets the most frames this {@link BoardPanel} will draw per second
+	 * 
+	 * @param frameRate
+	 *            the frame rate cap, or 0 for no cap
+	 */
+	public void setFrameRateCap(int frameRate) {
+		m_renderTimer.setInitialDelay(frameRate <= 0 ? 0 : 1000 / frameRate);
+	}
+
+	/**
+	 * Set whether the frame time counter should be shown on the board
+	 * 
+	 * @param show
+	 *            true for visible
+	 */
+	public void setShowFrameStats(boolean show) {
+		m_showFrameStats = show;
+		requestRender();
+	}
+
+	/**
+	 * 
+	 * @return the number of frames this {@link BoardPanel} has drawn
+	 */
+	public long getFrameCount() {
+		return m_frameCount;
+	}
+
+	/**
+	 * 
+	 * @return the time taken to draw the last frame in nanoseconds
+	 */
+	public long getLastFrameTime() {
+		return m_lastFrameTime;
+	}
+
+	/**
+	 * 
+	 * @return the mean time taken to draw a frame in nanoseconds
+	 */
+	public long getMeanFrameTime() {
+		return m_frameCount == 0 ? 0 : m_totalFrameTime / m_frameCount;
 	}
 
 	@Override
 	protected void paintComponent(Graphics g) {
+		long frameStart = System.nanoTime();
 		super.paintComponent(g);
 
 		Graphics2D g2D = (Graphics2D) g.create();
@@ -176,93 +279,63 @@ public class BoardPanel extends JPanel {
 				resize();
 			}
 
-			// paint tiles
-			for (int row = 0; row < m_board.getDimensions()[0]; row++) {
-				for (int col = 0; col < m_board.getDimensions()[1]; col++) {
-					try {
-						g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
-						g2D.drawImage(m_board.getTileAt(row, col).getImage(), colToInt(col), rowToInt(row), null);
-					} catch (TileNotInitializedException e) {
-					}
-				}
-			}
-
-			// paint grid
-			g2D.setColor(Colors.BOARD_GRID_COLOR);
-			g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.75f));
-			g2D.setStroke(new BasicStroke(5f));
-
-			// horizontal lines
-			for (int i = 0; i <= m_board.getDimensions()[0]; i++) {
-				int height = (int) (((float) i / (float) m_board.getDimensions()[0]) * getHeight());
-				g2D.drawLine(0, height, getWidth(), height);
-			}
-
-			// vertical lines
-			for (int i = 0; i <= m_board.getDimensions()[1]; i++) {
-				int width = (int) (((float) i / (float) m_board.getDimensions()[1]) * getWidth());
-				g2D.drawLine(width, 0, width, getHeight());
-			}
+			// paint tiles and grid
+			g2D.drawImage(getBackgroundLayer(), 0, 0, null);
 
 			// paint objects
-			for (BoardObject object : m_board.getObjects()) {
+			for (BoardObject object : m_board.getObjectSnapshot()) {
 				try {
 					int[] position = object.getImagePosition(m_board.getDimensions(),
 							new int[] { getWidth(), getHeight() });
-					g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+					g2D.setComposite(OPAQUE);
 					g2D.drawImage(object.getImage(), position[0], position[1], null);
 				} catch (BoardObjectNotInitializedException e) {
 				}
 			}
 
 			// paint selected tile, vertex, or object
-			if (m_selected != null) {
+			// read once, these can be changed by the input thread while painting
+			int[] selected = m_selected;
+			BoardObject selectedObject = m_selectedObject;
+			BoardObject highlightedObject = m_highlightedObject;
+
+			if (selected != null) {
 				g2D.setColor(Colors.BOARD_SELECTED_COLOR);
-				g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.75f));
-				g2D.setStroke(new BasicStroke(5f));
+				g2D.setComposite(TRANSLUCENT);
+				g2D.setStroke(OUTLINE_STROKE);
 
 				int[] tileDimensions = Tile.getTilePixelDimensions(m_board.getDimensions(),
 						new int[] { getWidth(), getHeight() });
 				if (m_selectVertex) {
 					g2D.drawRect(
-							(int) ((((double) m_selected[1] / (double) m_board.getDimensions()[1])
+							(int) ((((double) selected[1] / (double) m_board.getDimensions()[1])
 									* (double) getWidth())
 									- (VERTEX_INDICATOR_RELATIVE_SIZE * ((double) (tileDimensions[0]) / 2d))),
-							(int) ((((double) m_selected[0] / (double) m_board.getDimensions()[0])
+							(int) ((((double) selected[0] / (double) m_board.getDimensions()[0])
 									* (double) getHeight())
 									- (VERTEX_INDICATOR_RELATIVE_SIZE * ((double) (tileDimensions[1])) / 2d)),
 							(int) (VERTEX_INDICATOR_RELATIVE_SIZE * ((double) (tileDimensions[0]))),
 							(int) (VERTEX_INDICATOR_RELATIVE_SIZE * ((double) (tileDimensions[1]))));
 				} else {
-					g2D.drawRect((int) (((float) m_selected[1] / (float) m_board.getDimensions()[1]) * getWidth()),
-							(int) (((float) m_selected[0] / (float) m_board.getDimensions()[0]) * getHeight()),
+					g2D.drawRect((int) (((float) selected[1] / (float) m_board.getDimensions()[1]) * getWidth()),
+							(int) (((float) selected[0] / (float) m_board.getDimensions()[0]) * getHeight()),
 							tileDimensions[0], tileDimensions[1]);
 				}
 			}
 
-			if (m_selectedObject != null) {
-				try {
-					g2D.setColor(Colors.BOARD_SELECTED_COLOR);
-					g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.75f));
-					g2D.setStroke(new BasicStroke(5f));
-
-					int[] objectPosition = m_selectedObject.getImagePosition(m_board.getDimensions(),
-							new int[] { getWidth(), getHeight() });
-					int[] objectDimensions = m_selectedObject.getImageDimensions(m_board.getDimensions(),
-							new int[] { getWidth(), getHeight() });
+			if (highlightedObject != null) {
+				outlineObject(g2D, highlightedObject, Colors.BOARD_HIGHLIGHTED_COLOR);
+			}
 
-					g2D.drawRect(objectPosition[0], objectPosition[1], objectDimensions[0], objectDimensions[1]);
-				} catch (BoardObjectNotInitializedException e) {
-					e.printStackTrace();
-					System.exit(0);
-				}
+			if (selectedObject != null) {
+				outlineObject(g2D, selectedObject, Colors.BOARD_SELECTED_COLOR);
 			}
 
 			// paint preselection indicator
 			if (m_preSelectionIndicator) {
 				g2D.setColor(Colors.BOARD_PRE_SELECTED_COLOR);
-				g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.75f));
-				g2D.setStroke(new BasicStroke(5f));
+				g2D.setComposite(TRANSLUCENT);
+				g2D.setStroke(OUTLINE_STROKE);
 				int[] tileDimensions = Tile.getTilePixelDimensions(m_board.getDimensions(),
 						new int[] { getWidth(), getHeight() });
 				Point p = MouseInfo.getPointerInfo().getLocation();
@@ -270,21 +343,7 @@ public class BoardPanel extends JPanel {
 				BoardObject preSelectedObject = null;
 				if (m_selectObjects) {
 					// get if mouse is hovering over an object
-					for (BoardObject object : m_board.getObjects()) {
-						try {
-							int[] firstCorner = object.getImagePosition(m_board.getDimensions(),
-									new int[] { getWidth(), getHeight() });
-							int[] dimensions = object.getImageDimensions(m_board.getDimensions(),
-									new int[] { getWidth(), getHeight() });
-							if (p.getX() > firstCorner[0] && p.getX() < firstCorner[0] + dimensions[0]
-									&& p.getY() > firstCorner[1] && p.getY() < firstCorner[1] + dimensions[1]) {
-								preSelectedObject = object;
-							}
-						} catch (BoardObjectNotInitializedException | BoardNotInitializedException e) {
-							e.printStackTrace();
-							System.exit(0);
-						}
-					}
+					preSelectedObject = getObjectAt((int) p.getX(), (int) p.getY());
 				}
 				if (preSelectedObject != null) {
 					// object mode
@@ -336,9 +395,9 @@ public class BoardPanel extends JPanel {
 			if (m_showMessage) {
 				// if message
 				g2D.setColor(Colors.BOARD_MESSAGE_BACKGROUND);
-				g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.75f));
-				g2D.setStroke(new BasicStroke(5f));
-				g2D.setFont(new Font("Arial", Font.PLAIN, 40));
+				g2D.setComposite(TRANSLUCENT);
+				g2D.setStroke(OUTLINE_STROKE);
+				g2D.setFont(MESSAGE_FONT);
 
 				int textWidth = g2D.getFontMetrics().stringWidth(m_message);
 				int textHeight = g2D.getFontMetrics().getHeight();
@@ -350,18 +409,21 @@ public class BoardPanel extends JPanel {
 				g2D.fillRect(0, startHeight, getWidth(), height);
 
 				g2D.setColor(Colors.BOARD_MESSAGE);
-				g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
+				g2D.setComposite(OPAQUE);
 
 				int textStartHeight = (getHeight() / 2) + (textHeight / 2);
 				int textStartWidth = (getWidth() / 2) - (textWidth / 2);
 
 				g2D.drawString(m_message, textStartWidth, textStartHeight);
+			}
 
-				if (m_useDuration) {
-					if (System.currentTimeMillis() > m_messageStartTime + m_messageDuration) {
-						hideMessage();
-					}
-				}
+			// paint frame stats
+			if (m_showFrameStats) {
+				g2D.setColor(Colors.BOARD_MESSAGE);
+				g2D.setComposite(OPAQUE);
+				g2D.setFont(FRAME_STATS_FONT);
+				g2D.drawString("Frames: " + m_frameCount + ", Last: " + (m_lastFrameTime / 1000) + " us, Mean: "
+						+ (getMeanFrameTime() / 1000) + " us", 5, g2D.getFontMetrics().getAscent() + 5);
 			}
 
 		} catch (BoardNotInitializedException e) {
@@ -369,7 +431,42 @@ public class BoardPanel extends JPanel {
 			System.exit(0);
 		}
 
-		repaint();
+		g2D.dispose();
+
+		m_lastFrameTime = System.nanoTime() - frameStart;
+		m_totalFrameTime += m_lastFrameTime;
+		m_frameCount++;
+	}
+
+	/**
+	 * Draws an outline around a {@link BoardObject}
+	 * 
+	 * @param g2D
+	 *            the {@link Graphics2D} to draw with
+	 * @param object
+	 *            the {@link BoardObject} to outline
+	 * @param color
+	 *            the {@link Color} of the outline
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} has not been initialized
+	 */
+	private void outlineObject(Graphics2D g2D, BoardObject object, Color color)
+			throws BoardNotInitializedException {
+		try {
+			g2D.setColor(color);
+			g2D.setComposite(TRANSLUCENT);
+			g2D.setStroke(OUTLINE_STROKE);
+
+			int[] objectPosition = object.getImagePosition(m_board.getDimensions(),
+					new int[] { getWidth(), getHeight() });
+			int[] objectDimensions = object.getImageDimensions(m_board.getDimensions(),
+					new int[] { getWidth(), getHeight() });
+
+			g2D.drawRect(objectPosition[0], objectPosition[1], objectDimensions[0], objectDimensions[1]);
+		} catch (BoardObjectNotInitializedException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
 	}
 
 	@Override
@@ -381,11 +478,13 @@ public class BoardPanel extends JPanel {
 	 * Hides the currently shown message
 	 */
 	public void hideMessage() {
+		if (m_messageTimer != null) {
+			m_messageTimer.stop();
+			m_messageTimer = null;
+		}
 		m_showMessage = false;
 		m_message = "";
-		m_messageStartTime = 0;
-		m_messageDuration = 0;
-		m_useDuration = false;
+		requestRender();
 	}
 
 	/**
@@ -395,8 +494,13 @@ public class BoardPanel extends JPanel {
 	 *            the message to show
 	 */
 	public void showMessage(String message) {
+		if (m_messageTimer != null) {
+			m_messageTimer.stop();
+			m_messageTimer = null;
+		}
 		m_message = message;
 		m_showMessage = true;
+		requestRender();
 	}
 
 	/**
@@ -409,9 +513,9 @@ public class BoardPanel extends JPanel {
 	 */
 	public void showMessage(String message, long time) {
 		showMessage(message);
-		m_useDuration = true;
-		m_messageDuration = time;
-		m_messageStartTime = System.currentTimeMillis();
+		m_messageTimer = new Timer((int) time, (event) -> hideMessage());
+		m_messageTimer.setRepeats(false);
+		m_messageTimer.start();
 	}
 
 	/**
@@ -437,6 +541,144 @@ public class BoardPanel extends JPanel {
 		setOnVertexSelectedListener(null);
 	}
 
+	/**
+	 * Selects whatever is at the clicked point and notifies the matching
+	 * listener, run on the input thread of this {@link BoardPanel}
+	 * 
+	 * @param click
+	 *            the clicked point
+	 */
+	private void select(Point click) {
+		m_selected = null;
+		m_selectedObject = null;
+
+		// check selected objects
+		if (m_selectObjects) {
+			try {
+				BoardObject object = getObjectAt(click.x, click.y);
+				if (object != null) {
+					m_selectedObject = object;
+					if (m_selectedObjectListener != null) {
+						m_selectedObjectListener.onSelect(m_selectedObject);
+					}
+					requestRender();
+					return;
+				}
+			} catch (BoardObjectNotInitializedException | BoardNotInitializedException e) {
+				e.printStackTrace();
+				System.exit(0);
+			}
+		}
+
+		// check selected tiles or vertices
+
+		try {
+			if (m_selectVertex) {
+				int[] selected = pixelToVertex(click.x, click.y);
+				m_selected = selected;
+				if (m_selectedVertexListener != null) {
+					m_selectedVertexListener.onSelect(selected[0], selected[1]);
+				}
+			} else {
+				int[] selected = pixelToPos(click.x, click.y);
+				m_selected = selected;
+				if (m_selectedTileListener != null) {
+					m_selectedTileListener.onSelect(selected[0], selected[1]);
+				}
+			}
+		} catch (BoardNotInitializedException | TileNotInitializedException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		requestRender();
+	}
+
+	/**
+	 * Gets the {@link BoardObject} drawn at a point, indexing every
+	 * {@link BoardObject} again first if the size of this {@link BoardPanel}
+	 * or the {@link Board} has changed
+	 * 
+	 * @param hor
+	 *            the horizontal pixel
+	 * @param vert
+	 *            the vertical pixel
+	 * @return the {@link BoardObject} on top at the point, or null if there
+	 *         is none
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} has not been initialized
+	 */
+	private BoardObject getObjectAt(int hor, int vert) throws BoardNotInitializedException {
+		int[] panelDimensions = new int[] { getWidth(), getHeight() };
+		ObjectSnapshot objects = m_board.getObjectSnapshot();
+		if (!m_hitIndex.isIndexedFor(m_board.getDimensions(), panelDimensions, objects)) {
+			m_hitIndex.rebuild(m_board.getDimensions(), panelDimensions, objects);
+		}
+		return m_hitIndex.getObjectAt(hor, vert);
+	}
+
+	/**
+	 * Gets the cached image of the {@link Tile}s, their frequencies and the
+	 * grid, drawing it again only if the size of this {@link BoardPanel} or
+	 * the layout of the {@link Board} has changed since it was last drawn
+	 * 
+	 * @return the background image
+	 * @throws BoardNotInitializedException
+	 *             if the {@link Board} has not been initialized
+	 */
+	private BufferedImage getBackgroundLayer() throws BoardNotInitializedException {
+		if (m_background != null && m_background.getWidth() == getWidth() && m_background.getHeight() == getHeight()
+				&& m_backgroundVersion == m_board.getLayoutVersion()) {
+			return m_background;
+		}
+
+		// read the version first, so a change made while drawing is redrawn
+		m_backgroundVersion = m_board.getLayoutVersion();
+		if (m_background == null || m_background.getWidth() != getWidth()
+				|| m_background.getHeight() != getHeight()) {
+			m_background = getGraphicsConfiguration() == null
+					? new BufferedImage(Math.max(1, getWidth()), Math.max(1, getHeight()), BufferedImage.TYPE_INT_RGB)
+					: getGraphicsConfiguration().createCompatibleImage(Math.max(1, getWidth()),
+							Math.max(1, getHeight()));
+		}
+
+		Graphics2D g2D = m_background.createGraphics();
+		g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2D.setColor(getBackground());
+		g2D.fillRect(0, 0, m_background.getWidth(), m_background.getHeight());
+
+		// paint tiles
+		for (int row = 0; row < m_board.getDimensions()[0]; row++) {
+			for (int col = 0; col < m_board.getDimensions()[1]; col++) {
+				try {
+					g2D.setComposite(OPAQUE);
+					g2D.drawImage(m_board.getTileAt(row, col).getImage(), colToInt(col), rowToInt(row), null);
+				} catch (TileNotInitializedException e) {
+				}
+			}
+		}
+
+		// paint grid
+		g2D.setColor(Colors.BOARD_GRID_COLOR);
+		g2D.setComposite(TRANSLUCENT);
+		g2D.setStroke(OUTLINE_STROKE);
+
+		// horizontal lines
+		for (int i = 0; i <= m_board.getDimensions()[0]; i++) {
+			int height = (int) (((float) i / (float) m_board.getDimensions()[0]) * getHeight());
+			g2D.drawLine(0, height, getWidth(), height);
+		}
+
+		// vertical lines
+		for (int i = 0; i <= m_board.getDimensions()[1]; i++) {
+			int width = (int) (((float) i / (float) m_board.getDimensions()[1]) * getWidth());
+			g2D.drawLine(width, 0, width, getHeight());
+		}
+
+		g2D.dispose();
+		return m_background;
+	}
+
 	/**
 	 * Resizes all drawn {@link BufferedImage}s
 	 * 
@@ -447,7 +689,7 @@ public class BoardPanel extends JPanel {
 		for (TileType type : TileType.values()) {
 			type.getImage(Tile.getTilePixelDimensions(m_board.getDimensions(), new int[] { getWidth(), getHeight() }));
 		}
-		for (BoardObject object : m_board.getObjects()) {
+		for (BoardObject object : m_board.getObjectSnapshot()) {
 			try {
 				object.getImage(m_board.getDimensions(), new int[] { getWidth(), getHeight() });
 			} catch (BoardObjectNotInitializedException e) {
@@ -508,6 +750,7 @@ public class BoardPanel extends JPanel {
 	 */
 	public void setSelectVertex(boolean select) {
 		m_selectVertex = select;
+		requestRender();
 	}
 
 	/**
@@ -518,6 +761,7 @@ public class BoardPanel extends JPanel {
 	 */
 	public void setPreSelection(boolean select) {
 		m_preSelectionIndicator = select;
+		requestRender();
 	}
 
 	/**
@@ -528,6 +772,19 @@ public class BoardPanel extends JPanel {
 	 */
 	public void setSelectObject(boolean select) {
 		m_selectObjects = select;
+		requestRender();
+	}
+
+	/**
+	 * Highlights an object, separately from the selected object and without
+	 * affecting what can be selected
+	 * 
+	 * @param object
+	 *            the {@link BoardObject} to highlight, or null for none
+	 */
+	public void setHighlightedObject(BoardObject object) {
+		m_highlightedObject = object;
+		requestRender();
 	}
 
 	/**
@@ -538,6 +795,7 @@ public class BoardPanel extends JPanel {
 	 */
 	public void setSelectedObject(BoardObject object) {
 		m_selectedObject = object;
+		requestRender();
 	}
 
 	/**
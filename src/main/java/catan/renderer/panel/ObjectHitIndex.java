@@ -0,0 +1,213 @@
+package catan.renderer.panel;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+import catan.engine.board.Board;
+import catan.engine.board.ObjectSnapshot;
+import catan.engine.board.objects.BoardObject;
+import catan.engine.board.objects.BoardObjectNotInitializedException;
+import catan.engine.board.tile.Tile;
+
+/**
+ * Screen space index of the bounding boxes of the {@link BoardObject}s drawn
+ * on a {@link BoardPanel}. The panel is split into one cell per {@link Tile},
+ * and each {@link BoardObject} is stored in every cell its bounding box
+ * overlaps, so finding the {@link BoardObject} under a point only checks the
+ * few {@link BoardObject}s in a single cell
+ *
+ * @author Jacob
+ *
+ */
+public class ObjectHitIndex {
+
+	private int[] m_mapDimensions = new int[] { 0, 0 };
+	private int[] m_panelDimensions = new int[] { 0, 0 };
+	private ArrayList<BoardObject>[] m_cells = createCells(0);
+	private IdentityHashMap<BoardObject, int[]> m_bounds = new IdentityHashMap<BoardObject, int[]>();
+	private int m_order = 0;
+	private long m_version = -1;
+
+	/**
+	 * Determines whether this {@link ObjectHitIndex} is up to date for the
+	 * specified dimensions and {@link ObjectSnapshot}
+	 *
+	 * @param mapDimensions
+	 *            the dimensions of the {@link Board} in tiles {row, col}
+	 * @param panelDimensions
+	 *            the dimensions of the {@link BoardPanel} in pixels {x, y}
+	 * @param objects
+	 *            the current {@link ObjectSnapshot} of the {@link Board}
+	 * @return true if the dimensions match and no {@link BoardObject} has
+	 *         been added or removed since this was last updated
+	 */
+	public synchronized boolean isIndexedFor(int[] mapDimensions, int[] panelDimensions, ObjectSnapshot objects) {
+		return m_version == objects.getVersion() && m_mapDimensions[0] == mapDimensions[0]
+				&& m_mapDimensions[1] == mapDimensions[1] && m_panelDimensions[0] == panelDimensions[0]
+				&& m_panelDimensions[1] == panelDimensions[1];
+	}
+
+	/**
+	 * Clears this {@link ObjectHitIndex} and indexes the specified
+	 * {@link BoardObject}s for new dimensions
+	 *
+	 * @param mapDimensions
+	 *            the dimensions of the {@link Board} in tiles {row, col}
+	 * @param panelDimensions
+	 *            the dimensions of the {@link BoardPanel} in pixels {x, y}
+	 * @param objects
+	 *            the {@link ObjectSnapshot} to index
+	 */
+	public synchronized void rebuild(int[] mapDimensions, int[] panelDimensions, ObjectSnapshot objects) {
+		m_mapDimensions = new int[] { mapDimensions[0], mapDimensions[1] };
+		m_panelDimensions = new int[] { panelDimensions[0], panelDimensions[1] };
+		m_cells = createCells(mapDimensions[0] * mapDimensions[1]);
+		m_bounds.clear();
+		m_order = 0;
+		m_version = objects.getVersion();
+		for (BoardObject object : objects) {
+			add(object, objects.getVersion());
+		}
+	}
+
+	/**
+	 * Adds a {@link BoardObject} to this {@link ObjectHitIndex}, after every
+	 * {@link BoardObject} already added
+	 *
+	 * @param object
+	 *            the {@link BoardObject} to add
+	 * @param version
+	 *            the version of the {@link ObjectSnapshot} the
+	 *            {@link BoardObject} was added in
+	 */
+	public synchronized void add(BoardObject object, long version) {
+		m_version = Math.max(m_version, version);
+		if (m_bounds.containsKey(object) || m_cells.length == 0) {
+			return;
+		}
+
+		int[] position;
+		int[] dimensions;
+		try {
+			position = object.getImagePosition(m_mapDimensions, m_panelDimensions);
+			dimensions = object.getImageDimensions(m_mapDimensions, m_panelDimensions);
+		} catch (BoardObjectNotInitializedException e) {
+			e.printStackTrace();
+			System.exit(0);
+			return;
+		}
+
+		// {left, top, right, bottom, order}
+		int[] bounds = new int[] { position[0], position[1], position[0] + dimensions[0],
+				position[1] + dimensions[1], m_order++ };
+		m_bounds.put(object, bounds);
+
+		for (int row = toRow(bounds[1]); row <= toRow(bounds[3]); row++) {
+			for (int col = toColumn(bounds[0]); col <= toColumn(bounds[2]); col++) {
+				m_cells[row * m_mapDimensions[1] + col].add(object);
+			}
+		}
+	}
+
+	/**
+	 * Removes a {@link BoardObject} from this {@link ObjectHitIndex}
+	 *
+	 * @param object
+	 *            the {@link BoardObject} to remove
+	 * @param version
+	 *            the version of the {@link ObjectSnapshot} the
+	 *            {@link BoardObject} was removed in
+	 */
+	public synchronized void remove(BoardObject object, long version) {
+		m_version = Math.max(m_version, version);
+		int[] bounds = m_bounds.remove(object);
+		if (bounds == null) {
+			return;
+		}
+
+		for (int row = toRow(bounds[1]); row <= toRow(bounds[3]); row++) {
+			for (int col = toColumn(bounds[0]); col <= toColumn(bounds[2]); col++) {
+				ArrayList<BoardObject> cell = m_cells[row * m_mapDimensions[1] + col];
+				for (int i = 0; i < cell.size(); i++) {
+					if (cell.get(i) == object) {
+						cell.remove(i);
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the {@link BoardObject} whose bounding box contains a point, if
+	 * several do the one added first is returned, the first match in the
+	 * order of {@link Board#getObjects()} as clicking has always picked
+	 *
+	 * @param x
+	 *            the horizontal pixel
+	 * @param y
+	 *            the vertical pixel
+	 * @return the {@link BoardObject}, or null if there is none at the point
+	 */
+	public synchronized BoardObject getObjectAt(int x, int y) {
+		if (m_cells.length == 0 || x < 0 || y < 0 || x >= m_panelDimensions[0] || y >= m_panelDimensions[1]) {
+			return null;
+		}
+
+		BoardObject found = null;
+		int foundOrder = Integer.MAX_VALUE;
+		for (BoardObject object : m_cells[toRow(y) * m_mapDimensions[1] + toColumn(x)]) {
+			int[] bounds = m_bounds.get(object);
+			if (x > bounds[0] && x < bounds[2] && y > bounds[1] && y < bounds[3] && bounds[4] < foundOrder) {
+				found = object;
+				foundOrder = bounds[4];
+			}
+		}
+		return found;
+	}
+
+	/**
+	 *
+	 * @param y
+	 *            the vertical pixel
+	 * @return the row of the cell containing the pixel, clamped to the
+	 *         {@link Board}
+	 */
+	private int toRow(int y) {
+		int row = (int) ((long) y * m_mapDimensions[0] / Math.max(1, m_panelDimensions[1]));
+		return Math.max(0, Math.min(m_mapDimensions[0] - 1, row));
+	}
+
+	/**
+	 *
+	 * @param x
+	 *            the horizontal pixel
+	 * @return the column of the cell containing the pixel, clamped to the
+	 *         {@link Board}
+	 */
+	private int toColumn(int x) {
+		int col = (int) ((long) x * m_mapDimensions[1] / Math.max(1, m_panelDimensions[0]));
+		return Math.max(0, Math.min(m_mapDimensions[1] - 1, col));
+	}
+
+	/**
+	 *
+	 * @param size
+	 *            the number of cells
+	 * @return an array of empty cells
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static ArrayList<BoardObject>[] createCells(int size) {
+		ArrayList<BoardObject>[] cells = new ArrayList[size];
+		for (int i = 0; i < size; i++) {
+			cells[i] = new ArrayList<BoardObject>();
+		}
+		return cells;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "Object Hit Index: (Objects: (" + m_bounds.size() + "))";
+	}
+
+}
@@ -0,0 +1,257 @@
+package catan.renderer.panel;
+
+import java.awt.event.ActionEvent;
+import java.lang.reflect.InvocationTargetException;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import catan.engine.Game;
+import catan.engine.board.objects.BoardObject;
+
+/**
+ * Plays back the rolls and payouts of a {@link Game} on a {@link BoardPanel}
+ * without holding up the {@link Game}. Events are queued from the game thread
+ * and shown one after another on the event dispatch thread, at a speed that
+ * can be changed at any time, or skipped entirely. Only the message and the
+ * highlighted object of the {@link BoardPanel} are changed, never what the
+ * user has selected or can select
+ *
+ * @author Jacob
+ *
+ */
+public class PayoutAnimator {
+
+	public static final int SPEED_NORMAL = 1;
+	public static final int SPEED_FAST = 4;
+	public static final int SPEED_SKIP = 0;
+
+	public static final String[] SPEED_NAMES = new String[] { "1x", "4x", "Skip" };
+
+	private BoardPanel m_panel;
+	private int m_stepTime;
+	private volatile int m_speed = SPEED_NORMAL;
+	private ConcurrentLinkedQueue<Step> m_steps = new ConcurrentLinkedQueue<Step>();
+	private boolean m_playing = false;
+	private Timer m_timer;
+
+	/**
+	 * A single queued change to the {@link BoardPanel}, shown for a set time
+	 *
+	 * @author Jacob
+	 *
+	 */
+	private static class Step {
+
+		private Runnable m_action;
+		private int m_duration;
+
+		/**
+		 * Creates a new {@link Step}
+		 *
+		 * @param action
+		 *            the change to make to the {@link BoardPanel}
+		 * @param duration
+		 *            the time to show the change for at normal speed in
+		 *            milliseconds
+		 */
+		private Step(Runnable action, int duration) {
+			m_action = action;
+			m_duration = duration;
+		}
+
+	}
+
+	/**
+	 * Creates a new {@link PayoutAnimator}, binding the keys 1, 4 and S on the
+	 * {@link BoardPanel}'s window to normal speed, fast speed and skip
+	 *
+	 * @param panel
+	 *            the {@link BoardPanel} to animate on
+	 * @param stepTime
+	 *            the time each payout is shown for at normal speed in
+	 *            milliseconds
+	 */
+	public PayoutAnimator(BoardPanel panel, int stepTime) {
+		m_panel = panel;
+		m_stepTime = stepTime;
+
+		m_timer = new Timer(stepTime, (event) -> playNext());
+		m_timer.setRepeats(false);
+
+		bindSpeed(KeyEvent.VK_1, "speedNormal", SPEED_NORMAL);
+		bindSpeed(KeyEvent.VK_4, "speedFast", SPEED_FAST);
+		bindSpeed(KeyEvent.VK_S, "speedSkip", SPEED_SKIP);
+	}
+
+	/**
+	 * Binds a key on the {@link BoardPanel}'s window to a speed
+	 *
+	 * @param key
+	 *            the key code
+	 * @param name
+	 *            the name of the action
+	 * @param speed
+	 *            the speed to set
+	 */
+	private void bindSpeed(int key, String name, int speed) {
+		m_panel.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(key, 0), name);
+		m_panel.getActionMap().put(name, new AbstractAction() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				setSpeed(speed);
+			}
+		});
+	}
+
+	/**
+	 * Queues a roll, showing its message
+	 *
+	 * @param frequency
+	 *            the number rolled
+	 */
+	public void roll(int frequency) {
+		enqueue(new Step(() -> m_panel.showMessage("Rolled " + frequency + ", Getting Resources"), 0));
+	}
+
+	/**
+	 * Queues a payout, highlighting the producing {@link BoardObject}
+	 *
+	 * @param object
+	 *            the {@link BoardObject} producing resources
+	 */
+	public void produce(BoardObject object) {
+		enqueue(new Step(() -> m_panel.setHighlightedObject(object), m_stepTime));
+	}
+
+	/**
+	 * Queues the end of a roll's payouts, hiding its message and highlight
+	 */
+	public void productionFinished() {
+		enqueue(new Step(() -> {
+			m_panel.hideMessage();
+			m_panel.setHighlightedObject(null);
+		}, 0));
+	}
+
+	/**
+	 * Shows every queued step straight away, whatever the speed, and returns
+	 * once they have all been shown. Call before handing the
+	 * {@link BoardPanel} to the user so no step lands on top of their input
+	 */
+	public void flush() {
+		Runnable drain = () -> {
+			m_timer.stop();
+			Step step;
+			while ((step = m_steps.poll()) != null) {
+				step.m_action.run();
+			}
+			m_playing = false;
+		};
+		if (SwingUtilities.isEventDispatchThread()) {
+			drain.run();
+			return;
+		}
+		try {
+			SwingUtilities.invokeAndWait(drain);
+		} catch (InvocationTargetException | InterruptedException e) {
+			e.printStackTrace();
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * Sets the playback speed, takes effect from the next queued step
+	 *
+	 * @param speed
+	 *            {@link #SPEED_NORMAL}, {@link #SPEED_FAST} or
+	 *            {@link #SPEED_SKIP}
+	 */
+	public void setSpeed(int speed) {
+		m_speed = speed;
+		if (speed == SPEED_SKIP) {
+			// show everything still queued straight away
+			SwingUtilities.invokeLater(() -> {
+				m_timer.stop();
+				playNext();
+			});
+		}
+	}
+
+	/**
+	 *
+	 * @return the playback speed
+	 */
+	public int getSpeed() {
+		return m_speed;
+	}
+
+	/**
+	 *
+	 * @param speed
+	 *            a playback speed
+	 * @return the name of the speed, one of {@link #SPEED_NAMES}
+	 */
+	public static String getSpeedName(int speed) {
+		return speed == SPEED_SKIP ? SPEED_NAMES[2] : speed == SPEED_FAST ? SPEED_NAMES[1] : SPEED_NAMES[0];
+	}
+
+	/**
+	 *
+	 * @param name
+	 *            the name of a speed, one of {@link #SPEED_NAMES}
+	 * @return the playback speed
+	 */
+	public static int getSpeedFromName(String name) {
+		return name.equals(SPEED_NAMES[2]) ? SPEED_SKIP : name.equals(SPEED_NAMES[1]) ? SPEED_FAST : SPEED_NORMAL;
+	}
+
+	/**
+	 *
+	 * @return the number of steps waiting to be shown
+	 */
+	public int getQueuedSteps() {
+		return m_steps.size();
+	}
+
+	/**
+	 * Adds a step to the queue, starting playback if nothing is playing. Safe
+	 * to call from any thread
+	 *
+	 * @param step
+	 *            the {@link Step} to add
+	 */
+	private void enqueue(Step step) {
+		m_steps.add(step);
+		SwingUtilities.invokeLater(() -> {
+			if (!m_playing) {
+				playNext();
+			}
+		});
+	}
+
+	/**
+	 * Shows queued steps until one has to be held on screen, then waits for
+	 * the timer to show the rest. Only run on the event dispatch thread
+	 */
+	private void playNext() {
+		Step step;
+		while ((step = m_steps.poll()) != null) {
+			step.m_action.run();
+			int speed = m_speed;
+			if (step.m_duration > 0 && speed != SPEED_SKIP) {
+				m_playing = true;
+				m_timer.setInitialDelay(step.m_duration / speed);
+				m_timer.restart();
+				return;
+			}
+		}
+		m_playing = false;
+	}
+
+}
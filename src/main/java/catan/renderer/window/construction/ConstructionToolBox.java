@@ -14,10 +14,12 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JSplitPane;
 import javax.swing.JTextField;
 import javax.swing.JToggleButton;
 import javax.swing.KeyStroke;
+import javax.swing.SpinnerListModel;
 
 import catan.Catan;
 import catan.engine.board.BoardNotInitializedException;
@@ -33,8 +35,11 @@ import catan.engine.board.objects.buildings.construction.UpgradeVillage;
 import catan.engine.board.tile.Edge;
 import catan.engine.board.tile.Vertex;
 import catan.engine.board.tile.VertexNotInitializedException;
+import catan.engine.commands.BuildCommand;
+import catan.engine.commands.EndTurnCommand;
 import catan.engine.moves.PurchaseMove;
 import catan.renderer.panel.BoardPanel;
+import catan.renderer.panel.PayoutAnimator;
 import catan.renderer.window.resources.ResourceMetricWindow;
 import catan.renderer.window.resources.TradeWindow;
 
@@ -242,10 +247,8 @@ public class ConstructionToolBox extends JFrame {
 									Edge location = new Edge(new int[] { row, col }, m_selectHistory.getPosition(),
 											catan.getBoard());
 									if (Road.isValidLocation(location, catan.getPlayer())) {
-										if (new PurchaseMove(new ConstructRoad(new Road(catan.getPlayer(), location)),
-												catan.getPlayer()).apply()) {
-											catan.syncNextTurn();
-										}
+										catan.submit(new BuildCommand(catan.getPlayer(), new PurchaseMove(
+												new ConstructRoad(new Road(catan.getPlayer(), location)), catan.getPlayer())));
 									}
 									m_catan.getBoardPanel().deselect();
 									m_selectGroup.clearSelection();
@@ -285,10 +288,8 @@ public class ConstructionToolBox extends JFrame {
 							try {
 								Vertex location = catan.getBoard().getVertex(row, col);
 								if (Village.isValidLocation(location, catan.getPlayer())) {
-									if (new PurchaseMove(new ConstructVillage(new Village(catan.getPlayer(), location)),
-											catan.getPlayer()).apply()) {
-										catan.syncNextTurn();
-									}
+									catan.submit(new BuildCommand(catan.getPlayer(), new PurchaseMove(
+											new ConstructVillage(new Village(catan.getPlayer(), location)), catan.getPlayer())));
 								}
 								m_catan.getBoardPanel().deselect();
 								m_selectGroup.clearSelection();
@@ -326,10 +327,8 @@ public class ConstructionToolBox extends JFrame {
 							if (object instanceof VertexObject) {
 								Vertex location = ((VertexObject) object).getPosition();
 								if (City.isValidLocation(location, catan.getPlayer())) {
-									if (new PurchaseMove(new UpgradeVillage((Village) object), catan.getPlayer())
-											.apply()) {
-										catan.syncNextTurn();
-									}
+									catan.submit(new BuildCommand(catan.getPlayer(),
+											new PurchaseMove(new UpgradeVillage((Village) object), catan.getPlayer())));
 								}
 							}
 							m_catan.getBoardPanel().deselect();
@@ -350,6 +349,29 @@ public class ConstructionToolBox extends JFrame {
 
 		m_panel.add(Box.createVerticalStrut(20));
 
+		PayoutAnimator animator = m_catan.getPayoutAnimator();
+		JSpinner speed = new JSpinner(new SpinnerListModel(PayoutAnimator.SPEED_NAMES));
+		speed.setValue(PayoutAnimator.getSpeedName(animator.getSpeed()));
+		speed.addChangeListener(
+				(event) -> animator.setSpeed(PayoutAnimator.getSpeedFromName((String) speed.getValue())));
+
+		m_panel.add(new JSplitPane() {
+			{
+				setEnabled(false);
+				setAlignmentY(Component.CENTER_ALIGNMENT);
+				setAlignmentX(Component.CENTER_ALIGNMENT);
+				setTopComponent(new JLabel("Animation Speed:") {
+					{
+						setAlignmentX(Component.CENTER_ALIGNMENT);
+						setAlignmentY(Component.CENTER_ALIGNMENT);
+					}
+				});
+				setBottomComponent(speed);
+			}
+		});
+
+		m_panel.add(Box.createVerticalStrut(20));
+
 		m_panel.add(new JButton("End Turn") {
 			{
 				setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -357,7 +379,7 @@ public class ConstructionToolBox extends JFrame {
 				addActionListener((performedAction) -> {
 					m_catan.getBoardPanel().deselect();
 					m_selectGroup.clearSelection();
-					catan.syncNextTurn();
+					catan.submit(new EndTurnCommand(catan.getPlayer()));
 				});
 			}
 		});
@@ -30,6 +30,7 @@ import catan.engine.board.objects.buildings.construction.UpgradeVillage;
 import catan.engine.board.tile.Edge;
 import catan.engine.board.tile.Vertex;
 import catan.engine.board.tile.VertexNotInitializedException;
+import catan.engine.commands.SetUpCommand;
 import catan.engine.moves.PurchaseMove;
 import catan.renderer.panel.BoardPanel;
 import catan.renderer.window.resources.ResourceMetricWindow;
@@ -186,18 +187,13 @@ public class InitialConstructionToolBox extends JFrame {
 											catan.getBoard());
 									if (Math.abs(edge.getDelta()[0]) + Math.abs(edge.getDelta()[1]) == 1) {
 										// if single length
-										catan.getBoard().addObject(new Road(catan.getPlayer(), edge, true));
-										catan.getBoard().addObject(new Village(catan.getPlayer(), m_selectHistory));
+										catan.submit(new SetUpCommand(catan.getPlayer(),
+												new Road(catan.getPlayer(), edge, true),
+												new Village(catan.getPlayer(), m_selectHistory)));
 										m_catan.getBoardPanel().deselect();
 										m_selectGroup.clearSelection();
 									}
 								}
-
-								if (catan.getBoard().getAllObjectsMatching((object) -> object instanceof Village
-										&& object.getOwner() == catan.getPlayer()).length >= 2) {
-									// 2 villages built
-									catan.notifyGame();
-								}
 							} catch (BoardNotInitializedException | InvalidLocationException
 									| VertexNotInitializedException e) {
 								e.printStackTrace();
@@ -24,9 +24,6 @@ import catan.Catan;
 import catan.engine.board.Board;
 import catan.engine.board.BoardNotInitializedException;
 import catan.engine.board.IO;
-import catan.engine.board.objects.InvalidLocationException;
-import catan.engine.board.tile.TileNotInitializedException;
-import catan.engine.board.tile.VertexNotInitializedException;
 import catan.engine.player.PlayerCountOutOfBoundsException;
 import catan.engine.player.PlayerIndexOutOfBoundsException;
 
@@ -179,17 +176,9 @@ public class GameSetupMenu {
 				}
 				m_frame.dispose();
 				m_menu.setVisible(false);
-				new Thread(() -> {
-					try {
-						Catan.startCatan((int) playerCount.getValue(), board, m_menu);
-					} catch (PlayerCountOutOfBoundsException | PlayerIndexOutOfBoundsException
-							| BoardNotInitializedException | TileNotInitializedException | VertexNotInitializedException
-							| InvalidLocationException e) {
-						e.printStackTrace();
-						System.exit(0);
-					}
-				}).start();
-			} catch (IOException e) {
+				Catan.startCatan((int) playerCount.getValue(), board, m_menu);
+			} catch (IOException | PlayerCountOutOfBoundsException | PlayerIndexOutOfBoundsException
+					| BoardNotInitializedException e) {
 				e.printStackTrace();
 				System.exit(0);
 			}
@@ -17,9 +17,6 @@ import javax.crypto.spec.PBEKeySpec;
 
 import catan.Catan;
 import catan.engine.board.BoardNotInitializedException;
-import catan.engine.board.objects.InvalidLocationException;
-import catan.engine.board.tile.TileNotInitializedException;
-import catan.engine.board.tile.VertexNotInitializedException;
 import catan.engine.player.PlayerCountOutOfBoundsException;
 import catan.engine.player.PlayerIndexOutOfBoundsException;
 import javax.swing.JTextField;
@@ -79,16 +76,13 @@ public class MainMenu {
 
 		quickGame.addActionListener((performedAction) -> {
 			m_frame.setVisible(false);
-			new Thread(() -> {
-				try {
-					Catan.startCatan(this);
-				} catch (PlayerCountOutOfBoundsException | PlayerIndexOutOfBoundsException
-						| BoardNotInitializedException | TileNotInitializedException | VertexNotInitializedException
-						| InvalidLocationException e) {
-					e.printStackTrace();
-					System.exit(0);
-				}
-			}).start();
+			try {
+				Catan.startCatan(this);
+			} catch (PlayerCountOutOfBoundsException | PlayerIndexOutOfBoundsException
+					| BoardNotInitializedException e) {
+				e.printStackTrace();
+				System.exit(0);
+			}
 		});
 
 		m_frame.getContentPane().add(quickGame);